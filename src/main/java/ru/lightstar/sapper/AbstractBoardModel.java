@@ -0,0 +1,88 @@
+package ru.lightstar.sapper;
+
+/**
+ * Base implementation of <code>BoardModel</code> with bulk and region queries done cell by cell.
+ * Override them if storage can answer faster.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public abstract class AbstractBoardModel implements BoardModel {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSuggests() {
+        for (int y = 0; y < this.getHeight(); y++) {
+            for (int x = 0; x < this.getWidth(); x++) {
+                if (this.getSuggest(x, y) != Suggest.NONE) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBombCount() {
+        long count = 0;
+        for (int y = 0; y < this.getHeight(); y++) {
+            count += this.countBombs(0, y, this.getWidth(), 1);
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countBombs(final int x, final int y, final int width, final int height) {
+        int count = 0;
+        for (int cellY = y; cellY < y + height; cellY++) {
+            for (int cellX = x; cellX < x + width; cellX++) {
+                if (this.getBomb(cellX, cellY) != Bomb.NONE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countSuggests(final int x, final int y, final int width, final int height, final Suggest suggest) {
+        int count = 0;
+        for (int cellY = y; cellY < y + height; cellY++) {
+            for (int cellX = x; cellX < x + width; cellX++) {
+                if (this.getSuggest(cellX, cellY) == suggest) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Zero regions aren't computed by default.
+     */
+    @Override
+    public ZeroRegions getZeroRegions() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Not safe by default.
+     */
+    @Override
+    public boolean isConcurrentSuggestSafe() {
+        return false;
+    }
+}
@@ -26,6 +26,16 @@ public class BaseController implements Controller {
      */
     private final Logic logic;
 
+    /**
+     * Current board model, or null if game isn't initialized yet.
+     */
+    private BoardModel model;
+
+    /**
+     * Deferred generation mode flag.
+     */
+    private boolean deferredGeneration;
+
     /**
      * Constructs <code>BaseController</code> object.
      *
@@ -44,9 +54,12 @@ public class BaseController implements Controller {
      */
     @Override
     public void init(final int width, final int height, final int bombCount) throws GenerateException, LogicException {
-        final Cell[][] cells = this.generator.generate(width, height, bombCount);
-        this.logic.setBoard(cells);
-        this.board.setBoard(cells);
+        if (this.deferredGeneration && this.generator instanceof SafeStartBoardGenerator) {
+            this.checkDeferredParams(width, height, bombCount);
+            this.setBoard(new HiddenBoardModel(width, height, bombCount, (SafeStartBoardGenerator) this.generator));
+        } else {
+            this.setBoard(this.generator.generate(width, height, bombCount));
+        }
         this.board.drawBoard();
     }
 
@@ -66,6 +79,27 @@ public class BaseController implements Controller {
         }
     }
 
+    /**
+     * Set deferred generation mode. In this mode <code>init</code> shows closed board immediately
+     * and bombs are placed only when first cell is opened, keeping it and its nearest cells free of bombs.
+     * Bomb suggests made before that are replayed on generated board.
+     * It works only with <code>SafeStartBoardGenerator</code>, other generators always generate board on init.
+     *
+     * @param deferredGeneration true to turn deferred generation on.
+     */
+    public void setDeferredGeneration(final boolean deferredGeneration) {
+        this.deferredGeneration = deferredGeneration;
+    }
+
+    /**
+     * Check if deferred generation mode is on.
+     *
+     * @return true if deferred generation is on.
+     */
+    public boolean isDeferredGeneration() {
+        return this.deferredGeneration;
+    }
+
     /**
      * Get game board.
      *
@@ -75,6 +109,15 @@ public class BaseController implements Controller {
         return this.board;
     }
 
+    /**
+     * Get current board model.
+     *
+     * @return board model, or null if game isn't initialized yet.
+     */
+    public BoardModel getModel() {
+        return this.model;
+    }
+
     /**
      * Get game logic.
      *
@@ -83,4 +126,39 @@ public class BaseController implements Controller {
     public Logic getLogic() {
         return this.logic;
     }
+
+    /**
+     * Set board model to logic and board.
+     *
+     * @param model board model.
+     * @throws LogicException thrown if board is invalid.
+     */
+    private void setBoard(final BoardModel model) throws LogicException {
+        this.logic.setBoard(model);
+        this.model = model;
+        this.board.setBoard(model);
+    }
+
+    /**
+     * Check parameters of board generated later, so it can't fail on first opened cell.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @throws GenerateException thrown if parameters are invalid.
+     */
+    private void checkDeferredParams(final int width, final int height, final int bombCount)
+            throws GenerateException {
+        if (width <= 0 || height <= 0 || bombCount <= 0) {
+            throw new GenerateException("Width, height and bombCount must be greater than zero");
+        }
+
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new GenerateException("Too big board");
+        }
+
+        if (bombCount > width * height) {
+            throw new GenerateException("Too big bomb count");
+        }
+    }
 }
@@ -2,6 +2,9 @@ package ru.lightstar.sapper;
 
 import ru.lightstar.sapper.exception.LogicException;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 /**
  * Base Sapper game logic.
  *
@@ -11,9 +14,14 @@ import ru.lightstar.sapper.exception.LogicException;
 public class BaseLogic implements Logic {
 
     /**
-     * Board cells.
+     * Initial size of stack used to auto-open empty regions.
+     */
+    private static final int INITIAL_STACK_SIZE = 64;
+
+    /**
+     * Board model.
      */
-    private Cell[][] cells;
+    private BoardModel model;
 
     /**
      * Board width.
@@ -28,17 +36,17 @@ public class BaseLogic implements Logic {
     /**
      * Total bombs count on board.
      */
-    private int bombCount;
+    private long bombCount;
 
     /**
      * Count of bombs suggested by user.
      */
-    protected int suggestedBombCount;
+    protected long suggestedBombCount;
 
     /**
      * Count of user's correct suggests.
      */
-    protected int correctSuggestCount;
+    protected long correctSuggestCount;
 
     /**
      * Game 'lose' flag.
@@ -50,37 +58,78 @@ public class BaseLogic implements Logic {
      */
     protected boolean isWin;
 
+    /**
+     * Listeners notified about cells changed by every suggest.
+     */
+    private final List<LogicListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Cells changed by current suggest. Reused between suggests.
+     */
+    private final ChangeSet changes = new ChangeSet();
+
+    /**
+     * Flag showing that changed cells are collected for listeners and snapshots.
+     */
+    private boolean recording;
+
+    /**
+     * Flag showing that snapshots are published.
+     */
+    private boolean isSnapshotPublished;
+
+    /**
+     * Latest published snapshot, or null if snapshots aren't published or board isn't set.
+     */
+    private volatile BoardSnapshot snapshot;
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void setBoard(final Cell[][] cells) throws LogicException {
-        this.checkBoard(cells);
+    public void setBoard(final BoardModel model) throws LogicException {
+        this.checkBoard(model);
 
-        this.cells = cells;
-        this.height = cells.length;
-        this.width = cells[0].length;
+        this.model = model;
+        this.width = model.getWidth();
+        this.height = model.getHeight();
+        this.bombCount = model.getBombCount();
         this.correctSuggestCount = 0;
         this.suggestedBombCount = 0;
         this.isLose = false;
         this.isWin = false;
 
-        this.bombCount = 0;
-        for (int y = 0; y < this.height; y++) {
-            for (int x = 0; x < this.width; x++) {
-                if (cells[y][x].getBomb() != Bomb.NONE) {
-                    this.bombCount++;
-                }
-            }
+        final boolean hasSuggests = model.hasSuggests();
+        if (hasSuggests) {
+            this.countBoardSuggests();
         }
+
+        if (this.isSnapshotPublished) {
+            this.snapshot = hasSuggests ?
+                    BoardSnapshot.take(model, this.getNextSnapshotVersion(), this.getStatus(),
+                            this.bombCount, this.suggestedBombCount) :
+                    BoardSnapshot.hidden(model, this.getNextSnapshotVersion(), this.getStatus(),
+                            this.bombCount, this.suggestedBombCount);
+        }
+    }
+
+    /**
+     * Set game board given as array of cells.
+     * This operation resets the game.
+     *
+     * @param cells board cells.
+     * @throws LogicException thrown if something is wrong with cells.
+     */
+    public void setBoard(final Cell[][] cells) throws LogicException {
+        this.checkCells(cells);
+        this.setBoard(new CellBoardModel(cells));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int getBombCount() {
+    public long getBombCount() {
         return this.bombCount;
     }
 
@@ -88,7 +137,7 @@ public class BaseLogic implements Logic {
      * {@inheritDoc}
      */
     @Override
-    public int getSuggestedBombCount() {
+    public long getSuggestedBombCount() {
         return this.suggestedBombCount;
     }
 
@@ -124,23 +173,196 @@ public class BaseLogic implements Logic {
         return this.isWin;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addListener(final LogicListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeListener(final LogicListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Set if snapshots are published. They are not published by default. Snapshot of new board doesn't read board
+     * at all, but turning publishing on in the middle of the game takes snapshot of the whole board,
+     * so it is better to set it before the game is started.
+     *
+     * @param isSnapshotPublished true to publish snapshots.
+     */
+    public void setSnapshotPublished(final boolean isSnapshotPublished) {
+        this.isSnapshotPublished = isSnapshotPublished;
+        if (!isSnapshotPublished) {
+            this.snapshot = null;
+        } else if (this.model != null) {
+            this.snapshot = BoardSnapshot.take(this.model, this.getNextSnapshotVersion(), this.getStatus(),
+                    this.bombCount, this.suggestedBombCount);
+        }
+    }
+
+    /**
+     * Check if snapshots are published.
+     *
+     * @return true if snapshots are published.
+     */
+    public boolean isSnapshotPublished() {
+        return this.isSnapshotPublished;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void suggest(final int x, final int y, final Suggest suggest) throws LogicException {
-        this.checkSuggest(x, y);
+        final SuggestResult result = this.trySuggest(x, y, suggest);
+        if (!result.isOk()) {
+            throw new LogicException(result.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SuggestResult trySuggest(final int x, final int y, final Suggest suggest) {
+        final SuggestResult result = this.checkSuggest(x, y);
+        if (!result.isOk()) {
+            return result;
+        }
+
+        this.recording = this.isSnapshotPublished || !this.listeners.isEmpty();
+        if (this.recording) {
+            this.changes.reset(this.width, this.getStatus());
+            this.changes.add(x, y);
+        }
+
+        final boolean isHidden = this.model instanceof HiddenBoardModel &&
+                !((HiddenBoardModel) this.model).isGenerated();
+        final Suggest oldSuggest = this.model.getSuggest(x, y);
+        this.model.setSuggest(x, y, suggest);
+
+        if (isHidden && ((HiddenBoardModel) this.model).isGenerated()) {
+            this.countCorrectDeferredSuggests((HiddenBoardModel) this.model);
+        }
+        this.countCorrectSuggests(x, y, oldSuggest);
+        this.countSuggestedBombs(x, y, oldSuggest);
+
+        if (suggest == Suggest.EMPTY && this.model.getBomb(x, y) == Bomb.NONE &&
+                this.model.getNearestBombCount(x, y) == 0) {
+            final ZeroRegions zeroRegions = this.model.getZeroRegions();
+            if (zeroRegions != null) {
+                this.autoEmptySuggestRegion(zeroRegions, zeroRegions.getRegion(x, y));
+            } else {
+                this.autoEmptySuggestAllNearest(x, y);
+            }
+        }
+
+        this.checkForFinish(x, y, oldSuggest);
+
+        if (this.recording) {
+            this.recording = false;
+            this.changes.setNewStatus(this.getStatus());
+            if (this.isSnapshotPublished) {
+                this.snapshot = this.snapshot.update(this.changes, this.suggestedBombCount);
+            }
+            for (final LogicListener listener : this.listeners) {
+                listener.cellsChanged(this.changes);
+            }
+        }
+        return SuggestResult.OK;
+    }
 
-        final Cell cell = this.cells[y][x];
-        final Suggest oldSuggest = cell.getSuggest();
-        cell.setSuggest(suggest);
+    /**
+     * Get current game status.
+     *
+     * @return game status.
+     */
+    private GameStatus getStatus() {
+        if (this.isLose) {
+            return GameStatus.LOSE;
+        }
+        return this.isWin ? GameStatus.WIN : GameStatus.PLAYING;
+    }
 
-        this.countCorrectSuggests(cell, oldSuggest);
-        this.countSuggestedBombs(cell, oldSuggest);
-        this.checkForFinish(cell, oldSuggest);
+    /**
+     * Get version of snapshot published instead of current one. It continues versions of current snapshot.
+     *
+     * @return next snapshot's version.
+     */
+    private long getNextSnapshotVersion() {
+        final BoardSnapshot snapshot = this.snapshot;
+        return snapshot == null ? 0 : snapshot.getVersion() + 1;
+    }
 
-        if (suggest == Suggest.EMPTY && cell.getNearestBombCount() == 0) {
-            this.autoEmptySuggestAllNearest(x, y);
+    /**
+     * Check if cells changed by current suggest are collected for listeners and snapshots.
+     * Subclasses opening cells by themselves must report them with {@link #recordChange(int, int)} then.
+     *
+     * @return <code>true</code> if changed cells are collected.
+     */
+    protected boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * Record cell changed by current suggest. Does nothing if changes aren't collected.
+     *
+     * @param x changed cell's 'x' coordinate.
+     * @param y changed cell's 'y' coordinate.
+     */
+    protected void recordChange(final int x, final int y) {
+        if (this.recording) {
+            this.changes.add(x, y);
+        }
+    }
+
+    /**
+     * Count suggests already made on board, for example on reopened saved game, and check if game is finished.
+     * All cells are visited, so it is done only for boards having suggests.
+     */
+    private void countBoardSuggests() {
+        for (int y = 0; y < this.height; y++) {
+            for (int x = 0; x < this.width; x++) {
+                this.countCorrectSuggests(x, y, Suggest.NONE);
+                this.countSuggestedBombs(x, y, Suggest.NONE);
+                if (this.model.getSuggest(x, y) == Suggest.EMPTY && this.model.getBomb(x, y) != Bomb.NONE) {
+                    this.isLose = true;
+                }
+            }
+        }
+
+        if (!this.isLose && (long) this.height * this.width - this.correctSuggestCount <=
+                this.bombCount - this.suggestedBombCount) {
+            this.isWin = true;
+        }
+    }
+
+    /**
+     * Count correct suggests again after deferred board is generated: bomb suggests made before generation
+     * become correct if generated board has bombs under them.
+     *
+     * @param model generated deferred board.
+     */
+    private void countCorrectDeferredSuggests(final HiddenBoardModel model) {
+        this.correctSuggestCount = 0;
+        for (final long index : model.getBombSuggests()) {
+            if (model.getBomb((int) (index % this.width), (int) (index / this.width)) != Bomb.NONE) {
+                this.correctSuggestCount++;
+            }
         }
     }
 
@@ -148,13 +370,15 @@ public class BaseLogic implements Logic {
      * Called to check if game is finished after user makes a suggest about cell.
      * Override this if you want to change default logic.
      *
-     * @param cell       cell which suggest was changed.
+     * @param x          'x' coordinate of cell which suggest was changed.
+     * @param y          'y' coordinate of cell which suggest was changed.
      * @param oldSuggest old suggest of this cell.
      */
-    protected void checkForFinish(final Cell cell, final Suggest oldSuggest) {
-        if (cell.getSuggest() == Suggest.EMPTY && cell.getBomb() != Bomb.NONE) {
+    protected void checkForFinish(final int x, final int y, final Suggest oldSuggest) {
+        if (this.model.getSuggest(x, y) == Suggest.EMPTY && this.model.getBomb(x, y) != Bomb.NONE) {
             this.isLose = true;
-        } else if (this.height * this.width - this.correctSuggestCount <= this.bombCount - this.suggestedBombCount) {
+        } else if ((long) this.height * this.width - this.correctSuggestCount <=
+                this.bombCount - this.suggestedBombCount) {
             this.isWin = true;
         }
     }
@@ -162,26 +386,29 @@ public class BaseLogic implements Logic {
     /**
      * Checks if given suggest about given cell is correct.
      *
-     * @param cell    given cell.
+     * @param x       given cell's 'x' coordinate.
+     * @param y       given cell's 'y' coordinate.
      * @param suggest given suggest.
      * @return <code>true</code> if suggest is correct, and <code>false</code> otherwise.
      */
-    protected boolean isSuggestCorrect(final Cell cell, final Suggest suggest) {
-        return (suggest == Suggest.EMPTY && cell.getBomb() == Bomb.NONE) ||
-                (suggest == Suggest.BOMB && cell.getBomb() != Bomb.NONE);
+    protected boolean isSuggestCorrect(final int x, final int y, final Suggest suggest) {
+        return (suggest == Suggest.EMPTY && this.model.getBomb(x, y) == Bomb.NONE) ||
+                (suggest == Suggest.BOMB && this.model.getBomb(x, y) != Bomb.NONE);
     }
 
     /**
      * Called to count user's correct suggests.
      *
-     * @param cell       given cell.
+     * @param x          given cell's 'x' coordinate.
+     * @param y          given cell's 'y' coordinate.
      * @param oldSuggest given suggest.
      */
-    protected void countCorrectSuggests(final Cell cell, final Suggest oldSuggest) {
-        if (cell.getSuggest() != oldSuggest) {
-            if (this.isSuggestCorrect(cell, cell.getSuggest())) {
+    protected void countCorrectSuggests(final int x, final int y, final Suggest oldSuggest) {
+        final Suggest suggest = this.model.getSuggest(x, y);
+        if (suggest != oldSuggest) {
+            if (this.isSuggestCorrect(x, y, suggest)) {
                 this.correctSuggestCount++;
-            } else if (this.isSuggestCorrect(cell, oldSuggest)) {
+            } else if (this.isSuggestCorrect(x, y, oldSuggest)) {
                 this.correctSuggestCount--;
             }
         }
@@ -190,12 +417,14 @@ public class BaseLogic implements Logic {
     /**
      * Called to count user's suggests about bombs.
      *
-     * @param cell       given cell.
+     * @param x          given cell's 'x' coordinate.
+     * @param y          given cell's 'y' coordinate.
      * @param oldSuggest given suggest.
      */
-    protected void countSuggestedBombs(final Cell cell, final Suggest oldSuggest) {
-        if (cell.getSuggest() != oldSuggest) {
-            if (cell.getSuggest() == Suggest.BOMB) {
+    protected void countSuggestedBombs(final int x, final int y, final Suggest oldSuggest) {
+        final Suggest suggest = this.model.getSuggest(x, y);
+        if (suggest != oldSuggest) {
+            if (suggest == Suggest.BOMB) {
                 this.suggestedBombCount++;
             } else if (oldSuggest == Suggest.BOMB) {
                 this.suggestedBombCount--;
@@ -204,45 +433,115 @@ public class BaseLogic implements Logic {
     }
 
     /**
-     * If user opens empty cell with zero nearest bombs count then all nearest cells are auto-opened by this method.
+     * If user opens empty cell with zero nearest bombs count then the whole connected region of such cells
+     * and its numbered border are auto-opened by this method.
+     * Region is walked iteratively with primitive stack of cell indexes, so every cell is visited only once
+     * and stack depth doesn't depend on region size. Indexes are long, so boards may have more cells than int holds.
+     * Override this if you want to change the way region is walked.
      *
      * @param x empty cell's 'x' coordinate.
      * @param y empty cell's 'y' coordinate.
-     * @throws LogicException thrown by <code>suggest</code> method, but that shouldn't happen
-     *                        because all necessary conditions are checked.
      */
-    private void autoEmptySuggestAllNearest(final int x, final int y) throws LogicException {
-        for (int dx = -1; dx <= 1; dx++) {
+    protected void autoEmptySuggestAllNearest(final int x, final int y) {
+        long[] stack = new long[INITIAL_STACK_SIZE];
+        int size = 0;
+        stack[size++] = (long) y * this.width + x;
+
+        while (size > 0) {
+            final long index = stack[--size];
+            final int cellX = (int) (index % this.width);
+            final int cellY = (int) (index / this.width);
+
             for (int dy = -1; dy <= 1; dy++) {
-                this.autoEmptySuggest(x + dx, y + dy);
+                final int nearestY = cellY + dy;
+                if (nearestY < 0 || nearestY >= this.height) {
+                    continue;
+                }
+
+                for (int dx = -1; dx <= 1; dx++) {
+                    final int nearestX = cellX + dx;
+                    if (nearestX < 0 || nearestX >= this.width || !this.autoEmptySuggest(nearestX, nearestY)) {
+                        continue;
+                    }
+
+                    if (this.model.getNearestBombCount(nearestX, nearestY) == 0) {
+                        if (size == stack.length) {
+                            stack = ChangeSet.grow(stack);
+                        }
+                        stack[size++] = (long) nearestY * this.width + nearestX;
+                    }
+                }
             }
         }
     }
 
     /**
-     * Auto-open guaranteed-empty cell.
+     * Auto-open precomputed zero region and its numbered border as one bulk operation, without flood fill.
+     *
+     * Override this if you want to change the way region is opened.
+     *
+     * @param zeroRegions zero regions of board.
+     * @param region opened region's number.
+     */
+    protected void autoEmptySuggestRegion(final ZeroRegions zeroRegions, final int region) {
+        final int count = zeroRegions.getOpenCount(region);
+        for (int number = 0; number < count; number++) {
+            final int index = zeroRegions.getOpenCell(region, number);
+            this.autoEmptySuggest(index % this.width, index / this.width);
+        }
+    }
+
+    /**
+     * Auto-open guaranteed-empty cell. Game finish is not checked here,
+     * it is done once after the whole region is opened.
      *
      * @param x opened cell's 'x' coordinate.
      * @param y opened cell's 'y' coordinate.
-     * @throws LogicException thrown by <code>suggest</code> method, but that shouldn't happen
-     *                        because all necessary conditions are checked.
-     */
-    private void autoEmptySuggest(final int x, final int y) throws LogicException {
-        if (this.isLose || this.isWin ||
-                x < 0 || x >= this.width || y < 0 || y >= this.height ||
-                this.cells[y][x].getSuggest() == Suggest.EMPTY) {
-            return;
+     * @return <code>true</code> if cell was opened and <code>false</code> if it was opened already.
+     */
+    private boolean autoEmptySuggest(final int x, final int y) {
+        final Suggest oldSuggest = this.model.getSuggest(x, y);
+        if (oldSuggest == Suggest.EMPTY) {
+            return false;
         }
 
-        this.suggest(x, y, Suggest.EMPTY);
+        this.model.setSuggest(x, y, Suggest.EMPTY);
+        this.countCorrectSuggests(x, y, oldSuggest);
+        this.countSuggestedBombs(x, y, oldSuggest);
+        this.recordChange(x, y);
+        return true;
+    }
+
+    /**
+     * Get board model.
+     *
+     * @return board model.
+     */
+    protected BoardModel getModel() {
+        return this.model;
     }
 
     /**
      * Check correctness of board dimensions.
      *
+     * @param model board model.
+     */
+    private void checkBoard(final BoardModel model) throws LogicException {
+        if (model.getHeight() <= 0) {
+            throw new LogicException("Board can't have zero height");
+        }
+
+        if (model.getWidth() <= 0) {
+            throw new LogicException("Board can't have zero width");
+        }
+    }
+
+    /**
+     * Check correctness of cells array dimensions.
+     *
      * @param cells board cells.
      */
-    private void checkBoard(final Cell[][] cells) throws LogicException {
+    private void checkCells(final Cell[][] cells) throws LogicException {
         if (cells.length == 0) {
             throw new LogicException("Board can't have zero height");
         }
@@ -263,24 +562,65 @@ public class BaseLogic implements Logic {
      *
      * @param x suggest 'x' coordinate.
      * @param y suggest 'y' coordinate.
-     * @throws LogicException thrown if game is over or one of coordinates is out of bounds
-     *                        or given cell is already opened.
+     * @return <code>SuggestResult.OK</code> if suggest can be made, or reason why it can't be made:
+     *         game is over or one of coordinates is out of bounds or given cell is already opened.
      */
-    private void checkSuggest(final int x, final int y) throws LogicException {
+    private SuggestResult checkSuggest(final int x, final int y) {
         if (this.isLose || this.isWin) {
-            throw new LogicException("Game is already over");
+            return SuggestResult.GAME_OVER;
         }
 
         if (x < 0 || x >= this.width) {
-            throw new LogicException("Provided 'x' parameter is out of bounds");
+            return SuggestResult.X_OUT_OF_BOUNDS;
         }
 
         if (y < 0 || y >= this.height) {
-            throw new LogicException("Provided 'y' parameter is out of bounds");
+            return SuggestResult.Y_OUT_OF_BOUNDS;
         }
 
-        if (this.cells[y][x].getSuggest() == Suggest.EMPTY) {
-            throw new LogicException("Cell already opened");
+        if (this.model.getSuggest(x, y) == Suggest.EMPTY) {
+            return SuggestResult.ALREADY_OPENED;
         }
+
+        return SuggestResult.OK;
+    }
+
+    /**
+     * Get bomb type in cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return bomb type.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Bomb getBomb(final int x, final int y) {
+        return this.model.getBomb(x, y);
+    }
+
+    /**
+     * Get nearest bombs count of cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return nearest bombs count.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected int getNearestBombCount(final int x, final int y) {
+        return this.model.getNearestBombCount(x, y);
+    }
+
+    /**
+     * Get current user suggest for cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return user's suggest.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Suggest getSuggest(final int x, final int y) {
+        return this.model.getSuggest(x, y);
     }
 }
@@ -9,11 +9,22 @@ package ru.lightstar.sapper;
 public interface Board {
 
     /**
-     * Set board cells.
+     * Set board model.
+     *
+     * @param model board model.
+     */
+    void setBoard(BoardModel model);
+
+    /**
+     * Set board given as array of cells.
      *
      * @param cells board cells.
+     * @deprecated use {@link #setBoard(BoardModel)} with <code>CellBoardModel</code> instead.
      */
-    void setBoard(Cell[][] cells);
+    @Deprecated
+    default void setBoard(final Cell[][] cells) {
+        this.setBoard(new CellBoardModel(cells));
+    }
 
     /**
      * Draw board.
@@ -11,13 +11,13 @@ import ru.lightstar.sapper.exception.GenerateException;
 public interface BoardGenerator {
 
     /**
-     * Generate board cells.
+     * Generate board.
      *
      * @param width board's width.
      * @param height board's height/
      * @param bombCount total bomb count on board.
-     * @return generated cells.
+     * @return generated board model.
      * @throws GenerateException thrown if parameters are invalid.
      */
-    Cell[][] generate(int width, int height, int bombCount) throws GenerateException;
+    BoardModel generate(int width, int height, int bombCount) throws GenerateException;
 }
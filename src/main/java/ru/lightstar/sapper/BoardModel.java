@@ -0,0 +1,112 @@
+package ru.lightstar.sapper;
+
+/**
+ * Storage-agnostic model of board cells used by logic, board and generator.
+ * Cells are addressed by their coordinates, so any storage layout can be plugged in.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public interface BoardModel {
+
+    /**
+     * Get board width.
+     *
+     * @return board width.
+     */
+    int getWidth();
+
+    /**
+     * Get board height.
+     *
+     * @return board height.
+     */
+    int getHeight();
+
+    /**
+     * Get bomb type in cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return bomb type.
+     */
+    Bomb getBomb(int x, int y);
+
+    /**
+     * Get nearest bombs count of cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return nearest bombs count.
+     */
+    int getNearestBombCount(int x, int y);
+
+    /**
+     * Get current user suggest for cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return user's suggest.
+     */
+    Suggest getSuggest(int x, int y);
+
+    /**
+     * Set current user suggest for cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param suggest user's suggest.
+     */
+    void setSuggest(int x, int y, Suggest suggest);
+
+    /**
+     * Check if some cell of board has user's suggest, for example on reopened saved game.
+     *
+     * @return <code>true</code> if board has suggests.
+     */
+    boolean hasSuggests();
+
+    /**
+     * Get total bombs count on board.
+     *
+     * @return bombs count.
+     */
+    long getBombCount();
+
+    /**
+     * Count bombs in rectangular region of board.
+     *
+     * @param x region's left cell 'x' coordinate.
+     * @param y region's top cell 'y' coordinate.
+     * @param width region's width.
+     * @param height region's height.
+     * @return bombs count in region.
+     */
+    int countBombs(int x, int y, int width, int height);
+
+    /**
+     * Count cells with given user's suggest in rectangular region of board.
+     *
+     * @param x region's left cell 'x' coordinate.
+     * @param y region's top cell 'y' coordinate.
+     * @param width region's width.
+     * @param height region's height.
+     * @param suggest counted suggest.
+     * @return count of cells with given suggest in region.
+     */
+    int countSuggests(int x, int y, int width, int height, Suggest suggest);
+
+    /**
+     * Get precomputed zero regions of board, if there are any.
+     *
+     * @return zero regions or null if they aren't computed for this board.
+     */
+    ZeroRegions getZeroRegions();
+
+    /**
+     * Check if suggests of different cells may be read and changed from different threads at once.
+     *
+     * @return <code>true</code> if concurrent suggests of different cells are safe.
+     */
+    boolean isConcurrentSuggestSafe();
+}
@@ -0,0 +1,225 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+/**
+ * Everything needed to rebuild board with <code>SeededBoardGenerator</code>: dimensions, bomb count, seed
+ * and safe cell if board was generated with it. Board can be saved or sent in this form instead of its cells.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BoardSeed {
+
+    /**
+     * Coordinate of safe cell used when board has no safe cell.
+     */
+    public static final int NO_SAFE_CELL = -1;
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Total bomb count on board.
+     */
+    private final int bombCount;
+
+    /**
+     * Generator's seed.
+     */
+    private final long seed;
+
+    /**
+     * Horizontal coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     */
+    private final int safeX;
+
+    /**
+     * Vertical coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     */
+    private final int safeY;
+
+    /**
+     * Constructs <code>BoardSeed</code> object for board without safe cell.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param bombCount total bomb count on board.
+     * @param seed generator's seed.
+     */
+    public BoardSeed(final int width, final int height, final int bombCount, final long seed) {
+        this(width, height, bombCount, seed, NO_SAFE_CELL, NO_SAFE_CELL);
+    }
+
+    /**
+     * Constructs <code>BoardSeed</code> object.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param bombCount total bomb count on board.
+     * @param seed generator's seed.
+     * @param safeX horizontal coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     * @param safeY vertical coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     */
+    public BoardSeed(final int width, final int height, final int bombCount, final long seed,
+                     final int safeX, final int safeY) {
+        this.width = width;
+        this.height = height;
+        this.bombCount = bombCount;
+        this.seed = seed;
+        this.safeX = safeX;
+        this.safeY = safeY;
+    }
+
+    /**
+     * Parse board seed from its string form, returned by {@link #toString()}.
+     *
+     * @param string string form of board seed.
+     * @return parsed board seed.
+     * @throws IllegalArgumentException thrown if string has wrong format.
+     */
+    public static BoardSeed parse(final String string) {
+        final String[] parts = string.trim().split("[x:@,]");
+        if (parts.length != 4 && parts.length != 6) {
+            throw new IllegalArgumentException("Wrong board seed format");
+        }
+
+        try {
+            return new BoardSeed(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Long.parseUnsignedLong(parts[3], 16),
+                    parts.length == 6 ? Integer.parseInt(parts[4]) : NO_SAFE_CELL,
+                    parts.length == 6 ? Integer.parseInt(parts[5]) : NO_SAFE_CELL);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Wrong board seed format", e);
+        }
+    }
+
+    /**
+     * Rebuild board.
+     *
+     * @param generator generator which generated original board.
+     * @return rebuilt board model.
+     * @throws GenerateException thrown if parameters are invalid or generator can't keep safe cell.
+     */
+    public BoardModel generate(final SeededBoardGenerator generator) throws GenerateException {
+        if (this.hasSafeCell()) {
+            return generator.generate(this.width, this.height, this.bombCount, this.safeX, this.safeY, this.seed);
+        }
+        return generator.generate(this.width, this.height, this.bombCount, this.seed);
+    }
+
+    /**
+     * Get board width.
+     *
+     * @return board width.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Get board height.
+     *
+     * @return board height.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Get total bomb count on board.
+     *
+     * @return bomb count.
+     */
+    public int getBombCount() {
+        return this.bombCount;
+    }
+
+    /**
+     * Get generator's seed.
+     *
+     * @return seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Check if board was generated with safe cell.
+     *
+     * @return <code>true</code> if board has safe cell.
+     */
+    public boolean hasSafeCell() {
+        return this.safeX != NO_SAFE_CELL;
+    }
+
+    /**
+     * Get horizontal coordinate of safe cell.
+     *
+     * @return horizontal coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     */
+    public int getSafeX() {
+        return this.safeX;
+    }
+
+    /**
+     * Get vertical coordinate of safe cell.
+     *
+     * @return vertical coordinate of safe cell, or <code>NO_SAFE_CELL</code>.
+     */
+    public int getSafeY() {
+        return this.safeY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || this.getClass() != object.getClass()) {
+            return false;
+        }
+
+        final BoardSeed other = (BoardSeed) object;
+        return this.width == other.width && this.height == other.height &&
+                this.bombCount == other.bombCount && this.seed == other.seed &&
+                this.safeX == other.safeX && this.safeY == other.safeY;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int result = this.width;
+        result = 31 * result + this.height;
+        result = 31 * result + this.bombCount;
+        result = 31 * result + Long.hashCode(this.seed);
+        result = 31 * result + this.safeX;
+        result = 31 * result + this.safeY;
+        return result;
+    }
+
+    /**
+     * Get compact string form of board seed, like <code>30x20:120:9e3779b97f4a7c15</code>,
+     * followed by safe cell like <code>@3,4</code> if board has it.
+     *
+     * @return string form.
+     */
+    @Override
+    public String toString() {
+        final String string = String.format("%dx%d:%d:%s", this.width, this.height, this.bombCount,
+                Long.toHexString(this.seed));
+        return this.hasSafeCell() ? String.format("%s@%d,%d", string, this.safeX, this.safeY) : string;
+    }
+}
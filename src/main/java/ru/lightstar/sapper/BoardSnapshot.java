@@ -0,0 +1,427 @@
+package ru.lightstar.sapper;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of board with game counters, published by logic for renderers on other threads.
+ * Cells are kept packed in fixed-size pages, indexed by tree of nodes which depth depends on board's size.
+ * Missing page or node means its cells are all hidden, so snapshot of new board has no pages at all.
+ * New snapshot after suggest shares all pages and nodes with previous one except pages with changed cells
+ * and nodes on the way to them, which are copied, so old snapshot stays valid for readers still using it.
+ * Bomb and nearest bomb count are packed only for opened cells. While game goes on they are unknown for other
+ * cells, and after game is over they are read from board model itself, which isn't changed anymore.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BoardSnapshot extends AbstractBoardModel {
+
+    /**
+     * Binary logarithm of cells count in one page.
+     */
+    static final int PAGE_BITS = 12;
+
+    /**
+     * Cells count in one page.
+     */
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    /**
+     * Binary logarithm of children count of page tree's node.
+     */
+    private static final int NODE_BITS = 6;
+
+    /**
+     * Children count of page tree's node.
+     */
+    private static final int NODE_SIZE = 1 << NODE_BITS;
+
+    /**
+     * Root of page tree without pages, shared by snapshots of new boards. It is never changed.
+     */
+    private static final Object[] EMPTY_ROOT = new Object[NODE_SIZE];
+
+    /**
+     * Bits of packed cell holding suggest's ordinal.
+     */
+    private static final int SUGGEST_MASK = 0x3;
+
+    /**
+     * Shift of nearest bomb count in packed cell.
+     */
+    private static final int COUNT_SHIFT = 2;
+
+    /**
+     * Bits of packed cell holding nearest bomb count after shift.
+     */
+    private static final int COUNT_MASK = 0xf;
+
+    /**
+     * Bit of packed cell set if there is bomb.
+     */
+    private static final int BOMB_BIT = 0x40;
+
+    /**
+     * All suggests by their ordinals.
+     */
+    private static final Suggest[] SUGGESTS = Suggest.values();
+
+    /**
+     * Board model snapshot is taken from.
+     */
+    private final BoardModel source;
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Snapshot's version, increased every time snapshot is published.
+     */
+    private final long version;
+
+    /**
+     * Game status.
+     */
+    private final GameStatus status;
+
+    /**
+     * Total bombs count on board.
+     */
+    private final long bombCount;
+
+    /**
+     * Count of bombs suggested by user.
+     */
+    private final long suggestedBombCount;
+
+    /**
+     * Count of node levels in page tree. Children of the lowest level are pages.
+     */
+    private final int depth;
+
+    /**
+     * Root of page tree. Nodes and pages are never changed after snapshot is taken.
+     */
+    private final Object[] root;
+
+    /**
+     * Constructs <code>BoardSnapshot</code> object.
+     *
+     * @param source board model snapshot is taken from.
+     * @param version snapshot's version.
+     * @param status game status.
+     * @param bombCount total bombs count on board.
+     * @param suggestedBombCount count of bombs suggested by user.
+     * @param depth count of node levels in page tree.
+     * @param root root of page tree.
+     */
+    private BoardSnapshot(final BoardModel source, final long version, final GameStatus status,
+                          final long bombCount, final long suggestedBombCount, final int depth,
+                          final Object[] root) {
+        this.source = source;
+        this.width = source.getWidth();
+        this.height = source.getHeight();
+        this.version = version;
+        this.status = status;
+        this.bombCount = bombCount;
+        this.suggestedBombCount = suggestedBombCount;
+        this.depth = depth;
+        this.root = root;
+    }
+
+    /**
+     * Get snapshot of new board with all cells hidden. Board isn't read at all.
+     *
+     * @param model board model.
+     * @param version snapshot's version.
+     * @param status game status.
+     * @param bombCount total bombs count on board.
+     * @param suggestedBombCount count of bombs suggested by user.
+     * @return snapshot of new board.
+     */
+    static BoardSnapshot hidden(final BoardModel model, final long version, final GameStatus status,
+                                final long bombCount, final long suggestedBombCount) {
+        return new BoardSnapshot(model, version, status, bombCount, suggestedBombCount, getDepth(model),
+                EMPTY_ROOT);
+    }
+
+    /**
+     * Take snapshot of board with suggests already made. Only pages with not hidden cells are kept.
+     *
+     * @param model board model.
+     * @param version snapshot's version.
+     * @param status game status.
+     * @param bombCount total bombs count on board.
+     * @param suggestedBombCount count of bombs suggested by user.
+     * @return taken snapshot.
+     */
+    static BoardSnapshot take(final BoardModel model, final long version, final GameStatus status,
+                              final long bombCount, final long suggestedBombCount) {
+        final int width = model.getWidth();
+        final long cellCount = (long) width * model.getHeight();
+        final int depth = getDepth(model);
+        final Object[] root = new Object[NODE_SIZE];
+        final Set<Object> copied = newCopiedSet(root);
+        long lastPage = -1L;
+        byte[] cells = null;
+        for (long index = 0; index < cellCount; index++) {
+            final byte packed = pack(model, (int) (index % width), (int) (index / width));
+            if (packed != 0) {
+                if (index >>> PAGE_BITS != lastPage) {
+                    lastPage = index >>> PAGE_BITS;
+                    cells = getPageToWrite(root, depth, lastPage, copied);
+                }
+                cells[(int) (index & (PAGE_SIZE - 1))] = packed;
+            }
+        }
+        return new BoardSnapshot(model, version, status, bombCount, suggestedBombCount, depth, root);
+    }
+
+    /**
+     * Get count of node levels in page tree holding all cells of board.
+     *
+     * @param model board model.
+     * @return count of node levels.
+     */
+    private static int getDepth(final BoardModel model) {
+        final long pageCount = ((long) model.getWidth() * model.getHeight() + PAGE_SIZE - 1) >>> PAGE_BITS;
+        int depth = 1;
+        while (depth * NODE_BITS < Long.SIZE - 1 && 1L << depth * NODE_BITS < pageCount) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Create set of nodes and pages copied while building new snapshot, so they can be changed in place.
+     *
+     * @param root root of new snapshot's page tree.
+     * @return set of copied nodes and pages, compared by identity.
+     */
+    private static Set<Object> newCopiedSet(final Object[] root) {
+        final Set<Object> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        copied.add(root);
+        return copied;
+    }
+
+    /**
+     * Get page of new snapshot's page tree which can be changed. Shared nodes and page on the way to it
+     * are copied, missing ones are created.
+     *
+     * @param root root of new snapshot's page tree. It must be in set of copied nodes.
+     * @param depth count of node levels in page tree.
+     * @param page page's number.
+     * @param copied set of nodes and pages copied or created for new snapshot.
+     * @return page which can be changed.
+     */
+    private static byte[] getPageToWrite(final Object[] root, final int depth, final long page,
+                                         final Set<Object> copied) {
+        Object[] node = root;
+        for (int level = depth - 1; level > 0; level--) {
+            final int slot = (int) (page >>> level * NODE_BITS) & (NODE_SIZE - 1);
+            Object[] child = (Object[]) node[slot];
+            if (child == null || !copied.contains(child)) {
+                child = child == null ? new Object[NODE_SIZE] : child.clone();
+                copied.add(child);
+                node[slot] = child;
+            }
+            node = child;
+        }
+
+        final int slot = (int) page & (NODE_SIZE - 1);
+        byte[] cells = (byte[]) node[slot];
+        if (cells == null || !copied.contains(cells)) {
+            cells = cells == null ? new byte[PAGE_SIZE] : cells.clone();
+            copied.add(cells);
+            node[slot] = cells;
+        }
+        return cells;
+    }
+
+    /**
+     * Get next snapshot with given changes applied. Only pages with changed cells and nodes on the way
+     * to them are copied.
+     *
+     * @param changes cells changed since this snapshot was taken, with new game status.
+     * @param suggestedBombCount new count of bombs suggested by user.
+     * @return next snapshot.
+     */
+    BoardSnapshot update(final ChangeSet changes, final long suggestedBombCount) {
+        final Object[] root = this.root.clone();
+        final Set<Object> copied = newCopiedSet(root);
+        long lastPage = -1L;
+        byte[] cells = null;
+        for (int number = 0; number < changes.getSize(); number++) {
+            final long index = changes.getIndex(number);
+            if (index >>> PAGE_BITS != lastPage) {
+                lastPage = index >>> PAGE_BITS;
+                cells = getPageToWrite(root, this.depth, lastPage, copied);
+            }
+            cells[(int) (index & (PAGE_SIZE - 1))] = pack(this.source, changes.getX(number), changes.getY(number));
+        }
+        return new BoardSnapshot(this.source, this.version + 1, changes.getNewStatus(), this.bombCount,
+                suggestedBombCount, this.depth, root);
+    }
+
+    /**
+     * Pack cell of board model into one byte. Bomb and nearest bomb count are packed only for opened cell.
+     *
+     * @param model board model.
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return packed cell.
+     */
+    private static byte pack(final BoardModel model, final int x, final int y) {
+        final Suggest suggest = model.getSuggest(x, y);
+        if (suggest != Suggest.EMPTY) {
+            return (byte) suggest.ordinal();
+        }
+        return (byte) (suggest.ordinal() | model.getNearestBombCount(x, y) << COUNT_SHIFT |
+                (model.getBomb(x, y) != Bomb.NONE ? BOMB_BIT : 0));
+    }
+
+    /**
+     * Get packed cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return packed cell.
+     */
+    private int getPacked(final int x, final int y) {
+        final long index = (long) y * this.width + x;
+        final long page = index >>> PAGE_BITS;
+        Object[] node = this.root;
+        for (int level = this.depth - 1; level > 0 && node != null; level--) {
+            node = (Object[]) node[(int) (page >>> level * NODE_BITS) & (NODE_SIZE - 1)];
+        }
+        final byte[] cells = node != null ? (byte[]) node[(int) page & (NODE_SIZE - 1)] : null;
+        return cells != null ? cells[(int) (index & (PAGE_SIZE - 1))] : 0;
+    }
+
+    /**
+     * Check if bomb and nearest bomb count of cell are read from board model instead of packed cell.
+     * It is so for not opened cells after game is over.
+     *
+     * @param packed packed cell.
+     * @return <code>true</code> if cell is read from board model.
+     */
+    private boolean isReadFromSource(final int packed) {
+        return this.status != GameStatus.PLAYING && (packed & SUGGEST_MASK) != Suggest.EMPTY.ordinal();
+    }
+
+    /**
+     * Check if snapshot is taken from given board model.
+     *
+     * @param model board model.
+     * @return <code>true</code> if snapshot is taken from this board model.
+     */
+    public boolean isTakenFrom(final BoardModel model) {
+        return this.source == model;
+    }
+
+    /**
+     * Get snapshot's version. Every published snapshot has bigger version than previous one.
+     *
+     * @return snapshot's version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Get game status.
+     *
+     * @return game status.
+     */
+    public GameStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Get count of bombs suggested by user.
+     *
+     * @return suggested bombs count.
+     */
+    public long getSuggestedBombCount() {
+        return this.suggestedBombCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It is always <code>Bomb.NONE</code> for not opened cell while game goes on.
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        final int packed = this.getPacked(x, y);
+        if (this.isReadFromSource(packed)) {
+            return this.source.getBomb(x, y);
+        }
+        return (packed & BOMB_BIT) != 0 ? Bomb.BOMB : Bomb.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * It is always zero for not opened cell while game goes on.
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        final int packed = this.getPacked(x, y);
+        if (this.isReadFromSource(packed)) {
+            return this.source.getNearestBombCount(x, y);
+        }
+        return packed >> COUNT_SHIFT & COUNT_MASK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        return SUGGESTS[this.getPacked(x, y) & SUGGEST_MASK];
+    }
+
+    /**
+     * Not supported: snapshot is immutable.
+     *
+     * @param x horizontal coordinate of cell.
+     * @param y vertical coordinate of cell.
+     * @param suggest new suggest.
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        throw new UnsupportedOperationException("Snapshot is immutable");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBombCount() {
+        return this.bombCount;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.lightstar.sapper;
+
+/**
+ * Adapter of <code>BoardModel</code> interface to plain array of cell objects.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class CellBoardModel extends AbstractBoardModel {
+
+    /**
+     * Board cells.
+     */
+    private final Cell[][] cells;
+
+    /**
+     * Constructs <code>CellBoardModel</code> object.
+     *
+     * @param cells board cells, row by row.
+     */
+    public CellBoardModel(final Cell[][] cells) {
+        this.cells = cells;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.cells.length > 0 ? this.cells[0].length : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.cells.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return this.cells[y][x].getBomb();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        return this.cells[y][x].getNearestBombCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        return this.cells[y][x].getSuggest();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        this.cells[y][x].setSuggest(suggest);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Safe, because every cell is separate object.
+     */
+    @Override
+    public boolean isConcurrentSuggestSafe() {
+        return true;
+    }
+}
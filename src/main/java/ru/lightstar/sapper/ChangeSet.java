@@ -0,0 +1,288 @@
+package ru.lightstar.sapper;
+
+import java.util.Arrays;
+
+/**
+ * Cells changed by one suggest and game status transition. Cells are kept as compact array of indexes
+ * together with their bounding rectangle, so consumers can do work proportional to changed area.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChangeSet {
+
+    /**
+     * Initial capacity of indexes array.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Capacity above which indexes array isn't kept for next suggest, so one huge suggest
+     * doesn't hold memory for the rest of the game.
+     */
+    private static final int MAX_KEPT_CAPACITY = 1 << 16;
+
+    /**
+     * Maximum length of array which JVM is able to allocate.
+     */
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    /**
+     * Board width.
+     */
+    private int width;
+
+    /**
+     * Indexes of changed cells, row by row.
+     */
+    private long[] cells;
+
+    /**
+     * Count of changed cells.
+     */
+    private int size;
+
+    /**
+     * Left 'x' coordinate of changed cells' bounding rectangle.
+     */
+    private int minX;
+
+    /**
+     * Top 'y' coordinate of changed cells' bounding rectangle.
+     */
+    private int minY;
+
+    /**
+     * Right 'x' coordinate of changed cells' bounding rectangle.
+     */
+    private int maxX;
+
+    /**
+     * Bottom 'y' coordinate of changed cells' bounding rectangle.
+     */
+    private int maxY;
+
+    /**
+     * Game status before suggest.
+     */
+    private GameStatus oldStatus;
+
+    /**
+     * Game status after suggest.
+     */
+    private GameStatus newStatus;
+
+    /**
+     * Constructs empty <code>ChangeSet</code> object.
+     */
+    public ChangeSet() {
+        this.cells = new long[INITIAL_CAPACITY];
+        this.oldStatus = GameStatus.PLAYING;
+        this.newStatus = GameStatus.PLAYING;
+    }
+
+    /**
+     * Clear this change set to start collecting changes of new suggest.
+     * Indexes array is shrunk to initial capacity if it has grown too much.
+     *
+     * @param width board width.
+     * @param status game status before suggest.
+     */
+    public void reset(final int width, final GameStatus status) {
+        this.width = width;
+        this.size = 0;
+        if (this.cells.length > MAX_KEPT_CAPACITY) {
+            this.cells = new long[INITIAL_CAPACITY];
+        }
+        this.minX = Integer.MAX_VALUE;
+        this.minY = Integer.MAX_VALUE;
+        this.maxX = -1;
+        this.maxY = -1;
+        this.oldStatus = status;
+        this.newStatus = status;
+    }
+
+    /**
+     * Add changed cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     */
+    public void add(final int x, final int y) {
+        if (this.size == this.cells.length) {
+            this.cells = grow(this.cells);
+        }
+        this.cells[this.size++] = (long) y * this.width + x;
+
+        this.minX = Math.min(this.minX, x);
+        this.minY = Math.min(this.minY, y);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxY = Math.max(this.maxY, y);
+    }
+
+    /**
+     * Add all changes of other change set, so one change set describes several suggests.
+     * Game status before suggests is kept, game status after them is taken from other change set.
+     *
+     * @param other other change set of board with the same width.
+     */
+    public void addAll(final ChangeSet other) {
+        for (int number = 0; number < other.size; number++) {
+            this.add(other.getX(number), other.getY(number));
+        }
+        this.newStatus = other.newStatus;
+    }
+
+    /**
+     * Set game status after suggest.
+     *
+     * @param status game status after suggest.
+     */
+    public void setNewStatus(final GameStatus status) {
+        this.newStatus = status;
+    }
+
+    /**
+     * Get board width.
+     *
+     * @return board width.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Get count of changed cells.
+     *
+     * @return count of changed cells.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Get capacity of indexes array.
+     *
+     * @return count of cells which can be added without growing array.
+     */
+    int getCapacity() {
+        return this.cells.length;
+    }
+
+    /**
+     * Check if there are no changed cells.
+     *
+     * @return <code>true</code> if no cells are changed.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Get index of changed cell.
+     *
+     * @param number cell's number in this change set.
+     * @return cell's index, row by row.
+     */
+    public long getIndex(final int number) {
+        return this.cells[number];
+    }
+
+    /**
+     * Get 'x' coordinate of changed cell.
+     *
+     * @param number cell's number in this change set.
+     * @return cell's 'x' coordinate.
+     */
+    public int getX(final int number) {
+        return (int) (this.cells[number] % this.width);
+    }
+
+    /**
+     * Get 'y' coordinate of changed cell.
+     *
+     * @param number cell's number in this change set.
+     * @return cell's 'y' coordinate.
+     */
+    public int getY(final int number) {
+        return (int) (this.cells[number] / this.width);
+    }
+
+    /**
+     * Get left 'x' coordinate of changed cells' bounding rectangle.
+     *
+     * @return left coordinate.
+     */
+    public int getMinX() {
+        return this.minX;
+    }
+
+    /**
+     * Get top 'y' coordinate of changed cells' bounding rectangle.
+     *
+     * @return top coordinate.
+     */
+    public int getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Get right 'x' coordinate of changed cells' bounding rectangle.
+     *
+     * @return right coordinate.
+     */
+    public int getMaxX() {
+        return this.maxX;
+    }
+
+    /**
+     * Get bottom 'y' coordinate of changed cells' bounding rectangle.
+     *
+     * @return bottom coordinate.
+     */
+    public int getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Get game status before suggest.
+     *
+     * @return old game status.
+     */
+    public GameStatus getOldStatus() {
+        return this.oldStatus;
+    }
+
+    /**
+     * Get game status after suggest.
+     *
+     * @return new game status.
+     */
+    public GameStatus getNewStatus() {
+        return this.newStatus;
+    }
+
+    /**
+     * Check if suggest changed game status.
+     *
+     * @return <code>true</code> if status is changed.
+     */
+    public boolean isStatusChanged() {
+        return this.oldStatus != this.newStatus;
+    }
+
+    /**
+     * Grow array of cell indexes twice, but not above maximum array length, so size counted in int
+     * never overflows. One suggest on board with more cells than that can't be collected in one array.
+     *
+     * @param array full array.
+     * @return bigger copy of array.
+     * @throws IllegalStateException thrown if array can't grow anymore.
+     */
+    static long[] grow(final long[] array) {
+        if (array.length >= MAX_ARRAY_LENGTH) {
+            throw new IllegalStateException("Too many cells");
+        }
+        return Arrays.copyOf(array, (int) Math.min(MAX_ARRAY_LENGTH, Math.max(INITIAL_CAPACITY, 2L * array.length)));
+    }
+}
@@ -0,0 +1,338 @@
+package ru.lightstar.sapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of board chunks with bounded count of chunks kept in memory.
+ * When it is full, least recently used chunk is evicted. Chunks changed by player are spilled into file
+ * and read back when touched again, unchanged ones are just dropped, because they can be generated again.
+ * This class is not thread-safe.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChunkCache implements Closeable {
+
+    /**
+     * Chunks kept in memory, from least to most recently used.
+     */
+    private final LinkedHashMap<Long, Entry> entries;
+
+    /**
+     * Maximum count of chunks kept in memory.
+     */
+    private final int capacity;
+
+    /**
+     * Size of spill file's slot for one chunk in bytes.
+     */
+    private final int slotSize;
+
+    /**
+     * Spill file, or null if cache doesn't spill.
+     */
+    private final File spillFile;
+
+    /**
+     * Opened spill file, or null if nothing is spilled yet.
+     */
+    private RandomAccessFile spill;
+
+    /**
+     * Spill file's slot numbers of spilled chunks.
+     */
+    private final Map<Long, Integer> slots;
+
+    /**
+     * Last accessed key.
+     */
+    private long lastKey;
+
+    /**
+     * Last accessed entry, or null if there was no access yet.
+     */
+    private Entry lastEntry;
+
+    /**
+     * Count of chunks found in memory.
+     */
+    private long hitCount;
+
+    /**
+     * Count of chunks not found in memory.
+     */
+    private long missCount;
+
+    /**
+     * Count of chunks evicted from memory.
+     */
+    private long evictionCount;
+
+    /**
+     * Constructs <code>ChunkCache</code> object keeping all chunks in memory.
+     */
+    public ChunkCache() {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = Integer.MAX_VALUE;
+        this.slotSize = 0;
+        this.spillFile = null;
+        this.slots = new HashMap<>();
+    }
+
+    /**
+     * Constructs <code>ChunkCache</code> object spilling changed chunks into file.
+     *
+     * @param capacity maximum count of chunks kept in memory.
+     * @param chunkSize chunk's side in cells.
+     * @param spillFile spill file. It is overwritten and deleted on close.
+     */
+    public ChunkCache(final int capacity, final int chunkSize, final File spillFile) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero");
+        }
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.capacity = capacity;
+        this.slotSize = 2 * Integer.BYTES + chunkSize * chunkSize;
+        this.spillFile = spillFile;
+        this.slots = new HashMap<>();
+    }
+
+    /**
+     * Get chunk by key, reading it from spill file if needed.
+     *
+     * @param key chunk's key.
+     * @return chunk, or null if it is neither in memory nor in spill file.
+     * @throws UncheckedIOException thrown on spill file read error.
+     */
+    public PackedBoardModel get(final long key) {
+        if (this.lastEntry != null && this.lastKey == key) {
+            this.hitCount++;
+            return this.lastEntry.chunk;
+        }
+
+        Entry entry = this.entries.get(key);
+        if (entry != null) {
+            this.hitCount++;
+        } else {
+            this.missCount++;
+            final Integer slot = this.slots.get(key);
+            if (slot == null) {
+                return null;
+            }
+            entry = new Entry(this.read(slot));
+            this.add(key, entry);
+        }
+
+        this.lastKey = key;
+        this.lastEntry = entry;
+        return entry.chunk;
+    }
+
+    /**
+     * Put new chunk into cache. Least recently used chunk is evicted if cache is full.
+     *
+     * @param key chunk's key.
+     * @param chunk chunk.
+     * @throws UncheckedIOException thrown on spill file write error.
+     */
+    public void put(final long key, final PackedBoardModel chunk) {
+        final Entry entry = new Entry(chunk);
+        this.add(key, entry);
+        this.lastKey = key;
+        this.lastEntry = entry;
+    }
+
+    /**
+     * Check if chunk is kept in memory or in spill file. Chunk isn't read and its use isn't recorded.
+     *
+     * @param key chunk's key.
+     * @return <code>true</code> if chunk is in cache.
+     */
+    public boolean contains(final long key) {
+        return this.entries.containsKey(key) || this.slots.containsKey(key);
+    }
+
+    /**
+     * Check if some chunk was changed by player, so it is kept in memory as changed one or in spill file.
+     *
+     * @return <code>true</code> if there are changed chunks.
+     */
+    public boolean hasChanged() {
+        if (!this.slots.isEmpty()) {
+            return true;
+        }
+
+        for (final Entry entry : this.entries.values()) {
+            if (entry.changed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mark chunk as changed, so it will be spilled on eviction instead of dropped.
+     *
+     * @param key chunk's key. Chunk must be in memory.
+     */
+    public void markChanged(final long key) {
+        final Entry entry = this.lastEntry != null && this.lastKey == key ? this.lastEntry : this.entries.get(key);
+        entry.changed = true;
+    }
+
+    /**
+     * Get count of chunks kept in memory.
+     *
+     * @return count of chunks in memory.
+     */
+    public int getResidentCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Get count of chunks spilled into file.
+     *
+     * @return count of spilled chunks.
+     */
+    public int getSpilledCount() {
+        return this.slots.size();
+    }
+
+    /**
+     * Get count of chunk requests found in memory.
+     *
+     * @return count of hits.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Get count of chunk requests not found in memory.
+     *
+     * @return count of misses.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Get count of chunks evicted from memory.
+     *
+     * @return count of evictions.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Close and delete spill file. Spilled chunks are lost.
+     *
+     * @throws IOException thrown on close error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.spill != null) {
+            this.spill.close();
+            this.spill = null;
+            this.slots.clear();
+            if (!this.spillFile.delete()) {
+                throw new IOException("Can't delete spill file");
+            }
+        }
+    }
+
+    /**
+     * Add entry to memory, evicting least recently used ones if cache is full.
+     *
+     * @param key chunk's key.
+     * @param entry chunk's entry.
+     */
+    private void add(final long key, final Entry entry) {
+        this.entries.put(key, entry);
+        final Iterator<Map.Entry<Long, Entry>> iterator = this.entries.entrySet().iterator();
+        while (this.entries.size() > this.capacity) {
+            final Map.Entry<Long, Entry> eldest = iterator.next();
+            if (eldest.getValue().changed) {
+                this.write(eldest.getKey(), eldest.getValue().chunk);
+            }
+            iterator.remove();
+            this.evictionCount++;
+        }
+    }
+
+    /**
+     * Write chunk into its slot of spill file, allocating new slot if needed.
+     *
+     * @param key chunk's key.
+     * @param chunk chunk.
+     */
+    private void write(final long key, final PackedBoardModel chunk) {
+        try {
+            if (this.spill == null) {
+                this.spill = new RandomAccessFile(this.spillFile, "rw");
+                this.spill.setLength(0);
+            }
+
+            Integer slot = this.slots.get(key);
+            if (slot == null) {
+                slot = this.slots.size();
+                this.slots.put(key, slot);
+            }
+
+            this.spill.seek((long) slot * this.slotSize);
+            chunk.writeTo(this.spill);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Read chunk from slot of spill file.
+     *
+     * @param slot slot's number.
+     * @return read chunk.
+     */
+    private PackedBoardModel read(final int slot) {
+        try {
+            this.spill.seek((long) slot * this.slotSize);
+            return PackedBoardModel.readFrom(this.spill);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Chunk kept in memory.
+     */
+    private static class Entry {
+
+        /**
+         * Chunk itself.
+         */
+        private final PackedBoardModel chunk;
+
+        /**
+         * Flag set if chunk was changed since it was generated or read.
+         */
+        private boolean changed;
+
+        /**
+         * Constructs <code>Entry</code> object.
+         *
+         * @param chunk chunk.
+         */
+        Entry(final PackedBoardModel chunk) {
+            this.chunk = chunk;
+        }
+    }
+}
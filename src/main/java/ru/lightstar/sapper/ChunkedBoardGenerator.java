@@ -0,0 +1,81 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+/**
+ * Generator of unbounded boards made of lazily generated chunks.
+ * Generation itself takes constant time: chunks are generated when game or board touches them.
+ * Requested bomb count sets bomb density, so actual count may differ a bit due to rounding in every chunk.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChunkedBoardGenerator implements SeededBoardGenerator {
+
+    /**
+     * Chunk's side in cells.
+     */
+    private final int chunkSize;
+
+    /**
+     * Source of seeds for boards generated without given seed.
+     */
+    private final SeededRandom seedSource;
+
+    /**
+     * Seed of the last generated board.
+     */
+    private BoardSeed lastSeed;
+
+    /**
+     * Constructs <code>ChunkedBoardGenerator</code> object with default chunk size.
+     */
+    public ChunkedBoardGenerator() {
+        this(ChunkedBoardModel.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs <code>ChunkedBoardGenerator</code> object.
+     *
+     * @param chunkSize chunk's side in cells.
+     */
+    public ChunkedBoardGenerator(final int chunkSize) {
+        this.chunkSize = chunkSize;
+        this.seedSource = new SeededRandom(System.nanoTime() ^ System.identityHashCode(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount) throws GenerateException {
+        return this.generate(width, height, bombCount, this.seedSource.nextLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount, final long seed)
+            throws GenerateException {
+        if (width <= 0 || height <= 0 || bombCount <= 0) {
+            throw new GenerateException("Width, height and bombCount must be greater than zero");
+        }
+
+        if (bombCount > (long) width * height) {
+            throw new GenerateException("Too big bomb count");
+        }
+
+        this.lastSeed = new BoardSeed(width, height, bombCount, seed);
+        return new ChunkedBoardModel(width, height, (double) bombCount / ((double) width * height), seed,
+                this.chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardSeed getLastSeed() {
+        return this.lastSeed;
+    }
+}
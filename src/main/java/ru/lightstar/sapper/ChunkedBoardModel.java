@@ -0,0 +1,348 @@
+package ru.lightstar.sapper;
+
+/**
+ * Board split into square chunks which are generated only when some of their cells are touched.
+ * Every chunk is generated deterministically from world seed and its coordinates, so the board
+ * doesn't depend on order in which chunks are touched, and memory grows only with explored area.
+ * Board can be as big as int coordinates allow, up to <code>Integer.MAX_VALUE</code> in both directions.
+ * Every chunk gets bomb count proportional to its area and bomb density,
+ * so total bomb count is known without generation.
+ * Chunks are kept in {@link ChunkCache}, which may bound memory by dropping or spilling them.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChunkedBoardModel extends AbstractBoardModel {
+
+    /**
+     * Default chunk's side in cells.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Chunk's side in cells. Chunks at right and bottom edges may be smaller.
+     */
+    private final int chunkSize;
+
+    /**
+     * Bomb density: ratio of bombs to cells.
+     */
+    private final double density;
+
+    /**
+     * World seed all chunks are generated from.
+     */
+    private final long seed;
+
+    /**
+     * Total bomb count on board.
+     */
+    private final long bombCount;
+
+    /**
+     * Cache of generated chunks.
+     */
+    private final ChunkCache cache;
+
+    /**
+     * Constructs <code>ChunkedBoardModel</code> object with default chunk size.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param density ratio of bombs to cells. Every chunk's bomb count is rounded to nearest integer.
+     * @param seed world seed.
+     */
+    public ChunkedBoardModel(final int width, final int height, final double density, final long seed) {
+        this(width, height, density, seed, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs <code>ChunkedBoardModel</code> object.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param density ratio of bombs to cells. Every chunk's bomb count is rounded to nearest integer.
+     * @param seed world seed.
+     * @param chunkSize chunk's side in cells.
+     */
+    public ChunkedBoardModel(final int width, final int height, final double density, final long seed,
+                             final int chunkSize) {
+        this(width, height, density, seed, chunkSize, new ChunkCache());
+    }
+
+    /**
+     * Constructs <code>ChunkedBoardModel</code> object with given chunk cache.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param density ratio of bombs to cells. Every chunk's bomb count is rounded to nearest integer.
+     * @param seed world seed.
+     * @param chunkSize chunk's side in cells.
+     * @param cache empty cache for chunks of this board.
+     */
+    public ChunkedBoardModel(final int width, final int height, final double density, final long seed,
+                             final int chunkSize, final ChunkCache cache) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero");
+        }
+
+        if (!(density >= 0 && density <= 1)) {
+            throw new IllegalArgumentException("Density must be between zero and one");
+        }
+
+        if (chunkSize <= 0 || chunkSize > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Wrong chunk size");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        this.density = density;
+        this.seed = seed;
+        this.cache = cache;
+        this.bombCount = this.countAllBombs();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return this.getChunk(x, y).getBomb(x % this.chunkSize, y % this.chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Counts of cells at chunk's edges are recounted through neighbouring chunks, generating them if needed.
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        final int chunkX = x % this.chunkSize;
+        final int chunkY = y % this.chunkSize;
+        final PackedBoardModel chunk = this.getChunk(x, y);
+        if (chunkX > 0 && chunkY > 0 && chunkX < chunk.getWidth() - 1 && chunkY < chunk.getHeight() - 1) {
+            return chunk.getNearestBombCount(chunkX, chunkY);
+        }
+
+        int count = 0;
+        for (int nearestY = Math.max(0, y - 1); nearestY <= Math.min(this.height - 1, y + 1); nearestY++) {
+            for (int nearestX = Math.max(0, x - 1); nearestX <= Math.min(this.width - 1, x + 1); nearestX++) {
+                if ((nearestX != x || nearestY != y) && this.getBomb(nearestX, nearestY) != Bomb.NONE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        return this.getChunk(x, y).getSuggest(x % this.chunkSize, y % this.chunkSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        this.getChunk(x, y).setSuggest(x % this.chunkSize, y % this.chunkSize, suggest);
+        this.cache.markChanged(this.getKey(x, y));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Chunks aren't generated: only chunks changed by suggests may have them.
+     */
+    @Override
+    public boolean hasSuggests() {
+        return this.cache.hasChanged();
+    }
+
+    /**
+     * Get total bomb count on board. It is known without generation of chunks.
+     *
+     * @return total bomb count.
+     */
+    @Override
+    public long getBombCount() {
+        return this.bombCount;
+    }
+
+    /**
+     * Get chunk's side in cells.
+     *
+     * @return chunk's side.
+     */
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Get bomb density.
+     *
+     * @return ratio of bombs to cells.
+     */
+    public double getDensity() {
+        return this.density;
+    }
+
+    /**
+     * Get world seed.
+     *
+     * @return world seed.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Get count of chunks kept in memory.
+     *
+     * @return count of chunks in memory.
+     */
+    public int getChunkCount() {
+        return this.cache.getResidentCount();
+    }
+
+    /**
+     * Check if chunk containing given cell is in cache, so cell is read without generation.
+     * Cells of other chunks have no suggests.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return <code>true</code> if chunk is in cache.
+     */
+    public boolean isGenerated(final int x, final int y) {
+        return this.cache.contains(this.getKey(x, y));
+    }
+
+    /**
+     * Get cache of chunks.
+     *
+     * @return chunk cache.
+     */
+    public ChunkCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Get chunk containing given cell, generating it if needed.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return chunk.
+     */
+    private PackedBoardModel getChunk(final int x, final int y) {
+        final long key = this.getKey(x, y);
+        PackedBoardModel chunk = this.cache.get(key);
+        if (chunk == null) {
+            chunk = this.generateChunk(x / this.chunkSize, y / this.chunkSize);
+            this.cache.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Get key of chunk containing given cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return chunk's key.
+     */
+    private long getKey(final int x, final int y) {
+        return ((long) (y / this.chunkSize) << 32) | (x / this.chunkSize);
+    }
+
+    /**
+     * Generate chunk with Floyd's sampling algorithm using random stream derived from world seed
+     * and chunk's coordinates. Nearest bombs counts are correct only inside of chunk.
+     *
+     * @param chunkX chunk's 'x' coordinate in chunks.
+     * @param chunkY chunk's 'y' coordinate in chunks.
+     * @return generated chunk.
+     */
+    private PackedBoardModel generateChunk(final int chunkX, final int chunkY) {
+        final int chunkWidth = this.getChunkSide(chunkX, this.width);
+        final int chunkHeight = this.getChunkSide(chunkY, this.height);
+        final PackedBoardModel chunk = new PackedBoardModel(chunkWidth, chunkHeight);
+
+        final SeededRandom random = new SeededRandom(this.seed ^ new SeededRandom(
+                ((long) chunkY << 32) | chunkX).nextLong());
+        final int cellCount = chunkWidth * chunkHeight;
+        for (int index = cellCount - this.getChunkBombCount(cellCount); index < cellCount; index++) {
+            final int candidate = random.nextInt(index + 1);
+            final int location = chunk.isBomb(candidate) ? index : candidate;
+            chunk.placeBomb(location % chunkWidth, location / chunkWidth);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Get chunk's side along one axis. Last chunk gets what remains of the board.
+     *
+     * @param chunkCoord chunk's coordinate in chunks.
+     * @param boardSide board's side along the same axis.
+     * @return chunk's side in cells.
+     */
+    private int getChunkSide(final int chunkCoord, final int boardSide) {
+        return (int) Math.min(this.chunkSize, boardSide - (long) chunkCoord * this.chunkSize);
+    }
+
+    /**
+     * Get bomb count of chunk with given area.
+     *
+     * @param cellCount chunk's cell count.
+     * @return chunk's bomb count.
+     */
+    private int getChunkBombCount(final int cellCount) {
+        return (int) Math.min(cellCount, Math.round(cellCount * this.density));
+    }
+
+    /**
+     * Count bombs of all chunks without generating them. Chunks have only four different sizes:
+     * full ones, ones at right edge, ones at bottom edge and corner one.
+     *
+     * @return total bomb count.
+     */
+    private long countAllBombs() {
+        final long fullColumns = this.width / this.chunkSize;
+        final long fullRows = this.height / this.chunkSize;
+        final int lastWidth = this.width % this.chunkSize;
+        final int lastHeight = this.height % this.chunkSize;
+
+        return fullColumns * fullRows * this.getChunkBombCount(this.chunkSize * this.chunkSize) +
+                fullRows * this.getChunkBombCount(lastWidth * this.chunkSize) +
+                fullColumns * this.getChunkBombCount(this.chunkSize * lastHeight) +
+                this.getChunkBombCount(lastWidth * lastHeight);
+    }
+}
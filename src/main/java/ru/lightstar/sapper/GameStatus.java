@@ -0,0 +1,13 @@
+package ru.lightstar.sapper;
+
+/**
+ * Game status enumeration.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public enum GameStatus {
+    PLAYING,
+    WIN,
+    LOSE
+}
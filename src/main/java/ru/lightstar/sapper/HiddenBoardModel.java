@@ -0,0 +1,219 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+/**
+ * Board which bombs are generated only when its first cell is opened.
+ * Until then it has only dimensions and bomb count, all cells are closed, so it can be drawn right away.
+ * Cells can be suggested as bombs before generation. Such suggests are kept to be replayed on generated board.
+ * First opened cell and, if bomb count allows, its nearest cells are kept free of bombs.
+ * After generation all calls are passed to generated board.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class HiddenBoardModel extends AbstractBoardModel {
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Total bomb count board will have.
+     */
+    private final int bombCount;
+
+    /**
+     * Generator of board.
+     */
+    private final SafeStartBoardGenerator generator;
+
+    /**
+     * Indexes of cells suggested as bombs before generation.
+     */
+    private final SparseBitSet bombSuggests;
+
+    /**
+     * Generated board, or null if board isn't generated yet.
+     */
+    private BoardModel model;
+
+    /**
+     * Constructs <code>HiddenBoardModel</code> object.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param bombCount total bomb count board will have.
+     * @param generator generator of board.
+     */
+    public HiddenBoardModel(final int width, final int height, final int bombCount,
+                            final SafeStartBoardGenerator generator) {
+        this.width = width;
+        this.height = height;
+        this.bombCount = bombCount;
+        this.generator = generator;
+        this.bombSuggests = new SparseBitSet();
+    }
+
+    /**
+     * Check if board is generated already.
+     *
+     * @return <code>true</code> if board is generated.
+     */
+    public boolean isGenerated() {
+        return this.model != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     * There are no bombs before generation.
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return this.model != null ? this.model.getBomb(x, y) : Bomb.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * There are no bombs before generation.
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        return this.model != null ? this.model.getNearestBombCount(x, y) : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        if (this.model != null) {
+            return this.model.getSuggest(x, y);
+        }
+        return this.bombSuggests.get((long) y * this.width + x) ? Suggest.BOMB : Suggest.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Opening cell generates board keeping this cell safe, and bomb suggests made before are replayed on it.
+     *
+     * @throws IllegalStateException thrown if generator rejects board's parameters.
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        if (this.model == null && suggest == Suggest.EMPTY) {
+            this.generate(x, y);
+        }
+
+        if (this.model != null) {
+            this.model.setSuggest(x, y, suggest);
+        } else if (suggest == Suggest.BOMB) {
+            this.bombSuggests.set((long) y * this.width + x);
+        } else {
+            this.bombSuggests.clear((long) y * this.width + x);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSuggests() {
+        return this.model != null ? this.model.hasSuggests() : this.bombSuggests.cardinality() > 0;
+    }
+
+    /**
+     * Get cells suggested as bombs before generation.
+     *
+     * @return indexes of cells suggested as bombs before generation, row by row.
+     */
+    public long[] getBombSuggests() {
+        return this.bombSuggests.toArray();
+    }
+
+    /**
+     * Get total bomb count board will have.
+     *
+     * @return bomb count.
+     */
+    @Override
+    public long getBombCount() {
+        return this.bombCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countBombs(final int x, final int y, final int width, final int height) {
+        return this.model != null ? this.model.countBombs(x, y, width, height) : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countSuggests(final int x, final int y, final int width, final int height, final Suggest suggest) {
+        return this.model != null ? this.model.countSuggests(x, y, width, height, suggest) :
+                super.countSuggests(x, y, width, height, suggest);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ZeroRegions getZeroRegions() {
+        return this.model != null ? this.model.getZeroRegions() : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isConcurrentSuggestSafe() {
+        return this.model != null && this.model.isConcurrentSuggestSafe();
+    }
+
+    /**
+     * Generate board keeping given cell safe, and replay bomb suggests made before.
+     *
+     * @param safeX horizontal coordinate of first opened cell.
+     * @param safeY vertical coordinate of first opened cell.
+     * @throws IllegalStateException thrown if generator rejects board's parameters.
+     */
+    private void generate(final int safeX, final int safeY) {
+        final BoardModel model;
+        try {
+            model = this.generator.generate(this.width, this.height, this.bombCount, safeX, safeY);
+        } catch (GenerateException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        for (final long index : this.bombSuggests.toArray()) {
+            model.setSuggest((int) (index % this.width), (int) (index / this.width), Suggest.BOMB);
+        }
+        this.model = model;
+    }
+}
@@ -14,10 +14,10 @@ public interface Logic {
      * Set game board.
      * This operation resets the game.
      *
-     * @param cells board cells.
-     * @throws LogicException thrown if something is wrong with cells.
+     * @param model board model.
+     * @throws LogicException thrown if something is wrong with board.
      */
-    void setBoard(Cell[][] cells) throws LogicException;
+    void setBoard(BoardModel model) throws LogicException;
 
     /**
      * Get board width.
@@ -38,14 +38,14 @@ public interface Logic {
      *
      * @return bombs count.
      */
-    int getBombCount();
+    long getBombCount();
 
     /**
      * Get count of bombs already suggested by user.
      *
      * @return count of bombs suggested by user.
      */
-    int getSuggestedBombCount();
+    long getSuggestedBombCount();
 
     /**
      * Check if game is already lost.
@@ -70,4 +70,37 @@ public interface Logic {
      * @throws LogicException thrown if coordinates are wrong or suggest can't be made for other reasons.
      */
     void suggest(int x, int y, Suggest suggest) throws LogicException;
+
+    /**
+     * Make user's suggestion about the given cell without throwing exceptions.
+     * Meant for automated players, which hit wrong coordinates or opened cells routinely.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param suggest user's suggest.
+     * @return result of suggest. Suggest is made only if it is <code>SuggestResult.OK</code>.
+     */
+    SuggestResult trySuggest(int x, int y, Suggest suggest);
+
+    /**
+     * Add listener notified about cells changed by every suggest.
+     *
+     * @param listener added listener.
+     */
+    void addListener(LogicListener listener);
+
+    /**
+     * Remove previously added listener.
+     *
+     * @param listener removed listener.
+     */
+    void removeListener(LogicListener listener);
+
+    /**
+     * Get latest published snapshot of board with game counters. It can be called from any thread.
+     * Snapshot is published after every suggest, before listeners are notified.
+     *
+     * @return latest snapshot, or null if snapshots aren't published or board isn't set.
+     */
+    BoardSnapshot getSnapshot();
 }
@@ -0,0 +1,18 @@
+package ru.lightstar.sapper;
+
+/**
+ * Listener of changes made to board by game logic.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public interface LogicListener {
+
+    /**
+     * Called after every suggest with all cells it changed.
+     *
+     * @param changes changes made by suggest. This object is reused by logic,
+     *                so it is valid only until this method returns.
+     */
+    void cellsChanged(ChangeSet changes);
+}
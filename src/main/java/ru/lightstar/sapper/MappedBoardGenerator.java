@@ -0,0 +1,98 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generator of random board kept in memory-mapped file.
+ * Board may have more cells than int holds, so cells are sampled by long indexes.
+ * Every generated board overwrites the same file, so previous board must be closed before.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class MappedBoardGenerator implements SeededBoardGenerator {
+
+    /**
+     * Board file.
+     */
+    private final File file;
+
+    /**
+     * Source of seeds for boards generated without given seed.
+     */
+    private final SeededRandom seedSource;
+
+    /**
+     * Seed of the last generated board.
+     */
+    private BoardSeed lastSeed;
+
+    /**
+     * Constructs <code>MappedBoardGenerator</code> object.
+     *
+     * @param file board file.
+     */
+    public MappedBoardGenerator(final File file) {
+        this.file = file;
+        this.seedSource = new SeededRandom(System.nanoTime() ^ System.identityHashCode(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount) throws GenerateException {
+        return this.generate(width, height, bombCount, this.seedSource.nextLong());
+    }
+
+    /**
+     * Generate board into file using Floyd's sampling algorithm, looking up placed bombs in the board itself.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @param seed board's seed.
+     * @return generated board model, it is <code>MappedBoardModel</code>.
+     * @throws GenerateException thrown if parameters are invalid or file can't be written.
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount, final long seed)
+            throws GenerateException {
+        if (width <= 0 || height <= 0 || bombCount <= 0) {
+            throw new GenerateException("Width, height and bombCount must be greater than zero");
+        }
+
+        final long cellCount = (long) width * height;
+        if (bombCount > cellCount) {
+            throw new GenerateException("Too big bomb count");
+        }
+
+        final MappedBoardModel model;
+        try {
+            model = MappedBoardModel.create(this.file, width, height);
+        } catch (IOException e) {
+            throw new GenerateException(String.format("Can't create board file: %s", e.getMessage()));
+        }
+
+        final SeededRandom random = new SeededRandom(seed);
+        for (long index = cellCount - bombCount; index < cellCount; index++) {
+            final long candidate = random.nextLong(index + 1);
+            final long location = model.isBomb(candidate) ? index : candidate;
+            model.placeBomb((int) (location % width), (int) (location / width));
+        }
+
+        this.lastSeed = new BoardSeed(width, height, bombCount, seed);
+        return model;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardSeed getLastSeed() {
+        return this.lastSeed;
+    }
+}
@@ -0,0 +1,359 @@
+package ru.lightstar.sapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Board kept in memory-mapped file outside of Java heap, one byte per cell packed the same way
+ * as in {@link PackedBoardModel}. File is mapped in several segments, so board may have more cells
+ * than int holds and more than heap can take. All changes go to file, so saved game is reopened at once
+ * with {@link #open(File)}. File starts with header holding board's dimensions, bomb count
+ * and flag showing that suggests were made, so fresh board isn't scanned for them.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class MappedBoardModel extends AbstractBoardModel implements Closeable {
+
+    /**
+     * Default size of mapped segment in bytes.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Mark at the start of board file.
+     */
+    private static final int MAGIC = 0x53415050;
+
+    /**
+     * Header size in bytes: mark, width, height, bomb count and suggests flag.
+     */
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * Offset of bomb count in header.
+     */
+    private static final int BOMB_COUNT_OFFSET = 3 * Integer.BYTES;
+
+    /**
+     * Offset of suggests flag in header.
+     */
+    private static final int SUGGESTS_OFFSET = 3 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * Board file.
+     */
+    private final RandomAccessFile file;
+
+    /**
+     * Mapped header.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * Mapped segments of cells.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Size of every segment except last one in bytes.
+     */
+    private final int segmentSize;
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Constructs <code>MappedBoardModel</code> object mapping already prepared file.
+     *
+     * @param file board file with valid header.
+     * @param segmentSize size of mapped segment in bytes.
+     * @throws IOException thrown on mapping error or if file isn't board file.
+     */
+    private MappedBoardModel(final RandomAccessFile file, final int segmentSize) throws IOException {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be greater than zero");
+        }
+
+        final FileChannel channel = file.getChannel();
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a board file");
+        }
+
+        this.file = file;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        if (this.header.getInt(0) != MAGIC) {
+            throw new IOException("Not a board file");
+        }
+
+        this.width = this.header.getInt(Integer.BYTES);
+        this.height = this.header.getInt(2 * Integer.BYTES);
+        this.segmentSize = segmentSize;
+
+        final long cellCount = (long) this.width * this.height;
+        if (this.width <= 0 || this.height <= 0 || channel.size() < HEADER_SIZE + cellCount) {
+            throw new IOException("Broken board file");
+        }
+
+        this.segments = new MappedByteBuffer[(int) ((cellCount + segmentSize - 1) / segmentSize)];
+        for (int segment = 0; segment < this.segments.length; segment++) {
+            final long start = (long) segment * segmentSize;
+            this.segments[segment] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + start,
+                    Math.min(segmentSize, cellCount - start));
+        }
+    }
+
+    /**
+     * Create new board file with all cells empty and hidden, and map it.
+     *
+     * @param file board file. It is overwritten if exists.
+     * @param width board width.
+     * @param height board height.
+     * @return mapped board.
+     * @throws IOException thrown on file error.
+     */
+    public static MappedBoardModel create(final File file, final int width, final int height) throws IOException {
+        return create(file, width, height, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Create new board file with all cells empty and hidden, and map it with given segment size.
+     *
+     * @param file board file. It is overwritten if exists.
+     * @param width board width.
+     * @param height board height.
+     * @param segmentSize size of mapped segment in bytes.
+     * @return mapped board.
+     * @throws IOException thrown on file error.
+     */
+    public static MappedBoardModel create(final File file, final int width, final int height,
+                                          final int segmentSize) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero");
+        }
+
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(0);
+            randomAccessFile.setLength(HEADER_SIZE + (long) width * height);
+            randomAccessFile.writeInt(MAGIC);
+            randomAccessFile.writeInt(width);
+            randomAccessFile.writeInt(height);
+            randomAccessFile.writeLong(0L);
+            randomAccessFile.writeInt(0);
+            return new MappedBoardModel(randomAccessFile, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open and map existing board file, for example to continue saved game.
+     *
+     * @param file board file.
+     * @return mapped board.
+     * @throws IOException thrown on file error or if file isn't board file.
+     */
+    public static MappedBoardModel open(final File file) throws IOException {
+        return open(file, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Open and map existing board file with given segment size.
+     *
+     * @param file board file.
+     * @param segmentSize size of mapped segment in bytes.
+     * @return mapped board.
+     * @throws IOException thrown on file error or if file isn't board file.
+     */
+    public static MappedBoardModel open(final File file, final int segmentSize) throws IOException {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            return new MappedBoardModel(randomAccessFile, segmentSize);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return this.isBomb(this.getIndex(x, y)) ? Bomb.BOMB : Bomb.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        return this.get(this.getIndex(x, y)) & PackedBoardModel.COUNT_MASK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        return PackedBoardModel.SUGGESTS[(this.get(this.getIndex(x, y)) & PackedBoardModel.SUGGEST_MASK) >>
+                PackedBoardModel.SUGGEST_SHIFT];
+    }
+
+    /**
+     * {@inheritDoc}
+     * Suggests flag is set in header on first suggest. All threads write the same value there,
+     * so concurrent suggests stay safe.
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        if (suggest != Suggest.NONE && this.header.getInt(SUGGESTS_OFFSET) == 0) {
+            this.header.putInt(SUGGESTS_OFFSET, 1);
+        }
+
+        final long index = this.getIndex(x, y);
+        this.put(index, (this.get(index) & ~PackedBoardModel.SUGGEST_MASK) |
+                (suggest.ordinal() << PackedBoardModel.SUGGEST_SHIFT));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Flag is kept in header, so cells are scanned only if suggests were made.
+     */
+    @Override
+    public boolean hasSuggests() {
+        return this.header.getInt(SUGGESTS_OFFSET) != 0 && super.hasSuggests();
+    }
+
+    /**
+     * Get total bomb count on board. It is kept in header, so cells aren't scanned.
+     *
+     * @return bomb count.
+     */
+    @Override
+    public long getBombCount() {
+        return this.header.getLong(BOMB_COUNT_OFFSET);
+    }
+
+    /**
+     * Put bomb into cell and increment nearest bombs counts of all cells around it.
+     * Cell must not have bomb already.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     */
+    public void placeBomb(final int x, final int y) {
+        final long index = this.getIndex(x, y);
+        this.put(index, this.get(index) | PackedBoardModel.BOMB_MASK);
+        this.header.putLong(BOMB_COUNT_OFFSET, this.getBombCount() + 1);
+
+        for (int nearestY = Math.max(y - 1, 0); nearestY <= Math.min(y + 1, this.height - 1); nearestY++) {
+            for (int nearestX = Math.max(x - 1, 0); nearestX <= Math.min(x + 1, this.width - 1); nearestX++) {
+                final long nearestIndex = this.getIndex(nearestX, nearestY);
+                if (nearestIndex != index) {
+                    this.put(nearestIndex, this.get(nearestIndex) + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if there is bomb in cell with given index.
+     *
+     * @param index cell's index, row by row.
+     * @return <code>true</code> if there is bomb in cell.
+     */
+    public boolean isBomb(final long index) {
+        return (this.get(index) & PackedBoardModel.BOMB_MASK) != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Safe, because every cell is separate byte of mapped buffer.
+     */
+    @Override
+    public boolean isConcurrentSuggestSafe() {
+        return true;
+    }
+
+    /**
+     * Write all changes to file.
+     */
+    public void flush() {
+        this.header.force();
+        for (final MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Write all changes and close file. Mapped memory is released when this object is garbage collected.
+     *
+     * @throws IOException thrown on close error.
+     */
+    @Override
+    public void close() throws IOException {
+        this.flush();
+        this.file.close();
+    }
+
+    /**
+     * Get packed cell.
+     *
+     * @param index cell's index.
+     * @return packed cell.
+     */
+    private int get(final long index) {
+        return this.segments[(int) (index / this.segmentSize)].get((int) (index % this.segmentSize));
+    }
+
+    /**
+     * Set packed cell.
+     *
+     * @param index cell's index.
+     * @param value packed cell.
+     */
+    private void put(final long index, final int value) {
+        this.segments[(int) (index / this.segmentSize)].put((int) (index % this.segmentSize), (byte) value);
+    }
+
+    /**
+     * Get index of cell in file.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return index of cell.
+     */
+    private long getIndex(final int x, final int y) {
+        return (long) y * this.width + x;
+    }
+}
@@ -0,0 +1,311 @@
+package ru.lightstar.sapper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Board cells packed into primitive byte array, one byte per cell.
+ * Lower four bits of each byte hold nearest bombs count, next bit is set if there is bomb in cell
+ * and two upper bits hold user's suggest. Nearest bombs count is kept for cells with bombs too.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class PackedBoardModel extends AbstractBoardModel {
+
+    /**
+     * Mask for nearest bombs count bits.
+     */
+    static final int COUNT_MASK = 0x0f;
+
+    /**
+     * Shift of bomb bit.
+     */
+    static final int BOMB_SHIFT = 4;
+
+    /**
+     * Mask for bomb bit.
+     */
+    static final int BOMB_MASK = 0x01 << BOMB_SHIFT;
+
+    /**
+     * Shift of suggest bits.
+     */
+    static final int SUGGEST_SHIFT = 5;
+
+    /**
+     * Mask for suggest bits.
+     */
+    static final int SUGGEST_MASK = 0x03 << SUGGEST_SHIFT;
+
+    /**
+     * All suggest values indexed by their ordinals.
+     */
+    static final Suggest[] SUGGESTS = Suggest.values();
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Packed cells, row by row.
+     */
+    private final byte[] cells;
+
+    /**
+     * Precomputed zero regions, or null if they aren't computed.
+     */
+    private ZeroRegions zeroRegions;
+
+    /**
+     * Constructs <code>PackedBoardModel</code> object with all cells empty and hidden.
+     *
+     * @param width board width.
+     * @param height board height.
+     */
+    public PackedBoardModel(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero");
+        }
+
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too big board");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return (this.cells[this.getIndex(x, y)] & BOMB_MASK) != 0 ? Bomb.BOMB : Bomb.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        return this.cells[this.getIndex(x, y)] & COUNT_MASK;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        return SUGGESTS[(this.cells[this.getIndex(x, y)] & SUGGEST_MASK) >> SUGGEST_SHIFT];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        final int index = this.getIndex(x, y);
+        this.cells[index] = (byte) ((this.cells[index] & ~SUGGEST_MASK) | (suggest.ordinal() << SUGGEST_SHIFT));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSuggests() {
+        for (final byte cell : this.cells) {
+            if ((cell & SUGGEST_MASK) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countBombs(final int x, final int y, final int width, final int height) {
+        int count = 0;
+        for (int cellY = y; cellY < y + height; cellY++) {
+            final int rowEnd = this.getIndex(x + width, cellY);
+            for (int index = this.getIndex(x, cellY); index < rowEnd; index++) {
+                count += (this.cells[index] & BOMB_MASK) >> BOMB_SHIFT;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ZeroRegions getZeroRegions() {
+        return this.zeroRegions;
+    }
+
+    /**
+     * Set precomputed zero regions. They must be set again or reset after bombs are changed.
+     *
+     * @param zeroRegions zero regions or null to reset them.
+     */
+    public void setZeroRegions(final ZeroRegions zeroRegions) {
+        this.zeroRegions = zeroRegions;
+    }
+
+    /**
+     * Set cell contents. User's suggest for this cell is reset.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param bomb type of bomb in this cell.
+     * @param nearestBombCount count of bombs near this cell.
+     */
+    public void setCell(final int x, final int y, final Bomb bomb, final int nearestBombCount) {
+        this.cells[this.getIndex(x, y)] = (byte) ((bomb != Bomb.NONE ? BOMB_MASK : 0) |
+                (nearestBombCount & COUNT_MASK));
+    }
+
+    /**
+     * Put bomb into cell and increment nearest bombs counts of all cells around it.
+     * That way board is filled in single pass without separate counting.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     */
+    public void placeBomb(final int x, final int y) {
+        this.placeBomb(x, y, 0, this.height - 1);
+    }
+
+    /**
+     * Put bomb into cell and increment nearest bombs counts of cells around it lying in given rows only.
+     * Used to fill separate bands of rows concurrently, counts across band borders must be added later
+     * with {@link #addNearestBombCountsBetweenRows(int)}.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param minY first row where counts are incremented.
+     * @param maxY last row where counts are incremented.
+     */
+    public void placeBomb(final int x, final int y, final int minY, final int maxY) {
+        final int index = this.getIndex(x, y);
+        this.cells[index] |= BOMB_MASK;
+
+        final int fromX = Math.max(x - 1, 0);
+        final int toX = Math.min(x + 1, this.width - 1);
+        final int fromY = Math.max(y - 1, minY);
+        final int toY = Math.min(y + 1, maxY);
+        for (int nearestY = fromY; nearestY <= toY; nearestY++) {
+            final int rowEnd = this.getIndex(toX, nearestY);
+            for (int nearestIndex = this.getIndex(fromX, nearestY); nearestIndex <= rowEnd; nearestIndex++) {
+                if (nearestIndex != index) {
+                    this.cells[nearestIndex]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add bombs of given row to nearest bombs counts of the next row and vice versa.
+     *
+     * @param y upper row's 'y' coordinate.
+     */
+    public void addNearestBombCountsBetweenRows(final int y) {
+        final int upperRow = this.getIndex(0, y);
+        final int lowerRow = this.getIndex(0, y + 1);
+        for (int x = 0; x < this.width; x++) {
+            final int fromX = Math.max(x - 1, 0);
+            final int toX = Math.min(x + 1, this.width - 1);
+            if (this.isBomb(upperRow + x)) {
+                for (int nearestX = fromX; nearestX <= toX; nearestX++) {
+                    this.cells[lowerRow + nearestX]++;
+                }
+            }
+            if (this.isBomb(lowerRow + x)) {
+                for (int nearestX = fromX; nearestX <= toX; nearestX++) {
+                    this.cells[upperRow + nearestX]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if there is bomb in cell with given index.
+     *
+     * @param index cell's index, row by row.
+     * @return <code>true</code> if there is bomb in cell.
+     */
+    public boolean isBomb(final int index) {
+        return (this.cells[index] & BOMB_MASK) != 0;
+    }
+
+    /**
+     * Write board in binary form: width, height and packed cells.
+     *
+     * @param output output to write to.
+     * @throws IOException thrown on write error.
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+        output.writeInt(this.width);
+        output.writeInt(this.height);
+        output.write(this.cells);
+    }
+
+    /**
+     * Read board written by {@link #writeTo(DataOutput)}.
+     *
+     * @param input input to read from.
+     * @return read board.
+     * @throws IOException thrown on read error.
+     */
+    public static PackedBoardModel readFrom(final DataInput input) throws IOException {
+        final PackedBoardModel model = new PackedBoardModel(input.readInt(), input.readInt());
+        input.readFully(model.cells);
+        return model;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Safe, because every cell is separate byte of array.
+     */
+    @Override
+    public boolean isConcurrentSuggestSafe() {
+        return true;
+    }
+
+    /**
+     * Get index of cell in packed array.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return index of cell.
+     */
+    private int getIndex(final int x, final int y) {
+        return y * this.width + x;
+    }
+}
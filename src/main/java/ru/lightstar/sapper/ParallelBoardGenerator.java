@@ -0,0 +1,192 @@
+package ru.lightstar.sapper;
+
+import java.util.stream.IntStream;
+
+/**
+ * Generator of random board which fills bands of rows concurrently.
+ * Bomb count of every band is drawn from hypergeometric distribution, so total bomb count is exact
+ * and the whole board is still uniformly random. Each band is filled with its own independent random stream
+ * split from board's seed, after that nearest bombs counts are fixed across band borders.
+ * Bands depend only on board size, not on processor count, so seeded boards are reproducible anywhere.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ParallelBoardGenerator extends RandomBoardGenerator {
+
+    /**
+     * Default band height in rows.
+     */
+    private static final int DEFAULT_BAND_HEIGHT = 64;
+
+    /**
+     * Precomputed logarithms of small factorials.
+     */
+    private static final double[] LOG_FACTORIALS = new double[256];
+
+    static {
+        for (int i = 1; i < LOG_FACTORIALS.length; i++) {
+            LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+        }
+    }
+
+    /**
+     * Height of band in rows.
+     */
+    private final int bandHeight;
+
+    /**
+     * Constructs <code>ParallelBoardGenerator</code> object with default band height.
+     */
+    public ParallelBoardGenerator() {
+        this(DEFAULT_BAND_HEIGHT);
+    }
+
+    /**
+     * Constructs <code>ParallelBoardGenerator</code> object.
+     *
+     * @param bandHeight height of bands in rows board is split into.
+     */
+    public ParallelBoardGenerator(final int bandHeight) {
+        super();
+        if (bandHeight <= 0) {
+            throw new IllegalArgumentException("Band height must be greater than zero");
+        }
+        this.bandHeight = bandHeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BoardModel generate(final SeededRandom random) {
+        final PackedBoardModel model = new PackedBoardModel(this.width, this.height);
+        final int bandCount = (this.height + this.bandHeight - 1) / this.bandHeight;
+        final int[] bandStarts = new int[bandCount + 1];
+        final int[] bandBombCounts = new int[bandCount];
+        final SeededRandom[] bandRandoms = new SeededRandom[bandCount];
+
+        long remainedCells = (long) this.width * this.height;
+        long remainedBombs = this.bombCount;
+        for (int band = 0; band < bandCount; band++) {
+            bandStarts[band + 1] = Math.min(bandStarts[band] + this.bandHeight, this.height);
+            final long bandCells = (long) this.width * (bandStarts[band + 1] - bandStarts[band]);
+            bandBombCounts[band] = band == bandCount - 1 ? (int) remainedBombs :
+                    sampleHypergeometric(random, remainedCells, bandCells, remainedBombs);
+            remainedCells -= bandCells;
+            remainedBombs -= bandBombCounts[band];
+        }
+        for (int band = 0; band < bandCount; band++) {
+            bandRandoms[band] = random.split();
+        }
+
+        IntStream.range(0, bandCount).parallel().forEach(band -> this.fillBand(model, bandStarts[band],
+                bandStarts[band + 1] - 1, bandBombCounts[band], bandRandoms[band]));
+
+        for (int band = 1; band < bandCount; band++) {
+            model.addNearestBombCountsBetweenRows(bandStarts[band] - 1);
+        }
+
+        return model;
+    }
+
+    /**
+     * Place bombs into band of rows using Floyd's sampling algorithm.
+     * Only cells of this band are read and written.
+     *
+     * @param model generated board model.
+     * @param fromY band's first row.
+     * @param toY band's last row.
+     * @param bombCount bomb count in this band.
+     * @param random band's random stream.
+     */
+    private void fillBand(final PackedBoardModel model, final int fromY, final int toY, final int bombCount,
+                          final SeededRandom random) {
+        final int start = fromY * this.width;
+        final int cellCount = (toY - fromY + 1) * this.width;
+        for (int index = cellCount - bombCount; index < cellCount; index++) {
+            final int candidate = random.nextInt(index + 1);
+            final int location = start + (model.isBomb(start + candidate) ? index : candidate);
+            model.placeBomb(location % this.width, location / this.width, fromY, toY);
+        }
+    }
+
+    /**
+     * Draw value from hypergeometric distribution: count of successes among items drawn without replacement.
+     * Uses inversion with search started from distribution's mode, so it takes
+     * time proportional to distribution's standard deviation.
+     *
+     * @param random random stream.
+     * @param total total count of items.
+     * @param drawn count of drawn items.
+     * @param successes count of successes among all items.
+     * @return count of successes among drawn items.
+     */
+    private static int sampleHypergeometric(final SeededRandom random, final long total, final long drawn,
+                                            final long successes) {
+        final long failures = total - successes;
+        final long min = Math.max(0, drawn - failures);
+        final long max = Math.min(drawn, successes);
+        if (min == max) {
+            return (int) min;
+        }
+
+        final long mode = Math.max(min, Math.min(max, (drawn + 1) * (successes + 1) / (total + 2)));
+        final double modeProbability = Math.exp(logCombinations(successes, mode) +
+                logCombinations(failures, drawn - mode) - logCombinations(total, drawn));
+
+        double remained = random.nextDouble() - modeProbability;
+        long upper = mode;
+        long lower = mode;
+        double upperProbability = modeProbability;
+        double lowerProbability = modeProbability;
+        while (remained > 0 && (upper < max || lower > min)) {
+            if (upper < max) {
+                upperProbability *= (double) (successes - upper) * (drawn - upper) /
+                        ((double) (upper + 1) * (failures - drawn + upper + 1));
+                upper++;
+                remained -= upperProbability;
+                if (remained <= 0) {
+                    return (int) upper;
+                }
+            }
+            if (lower > min) {
+                lowerProbability *= (double) lower * (failures - drawn + lower) /
+                        ((double) (successes - lower + 1) * (drawn - lower + 1));
+                lower--;
+                remained -= lowerProbability;
+            }
+        }
+
+        return (int) (remained > 0 ? mode : lower);
+    }
+
+    /**
+     * Get logarithm of binomial coefficient.
+     *
+     * @param n count of items.
+     * @param k count of chosen items.
+     * @return logarithm of count of combinations.
+     */
+    private static double logCombinations(final long n, final long k) {
+        return logFactorial(n) - logFactorial(k) - logFactorial(n - k);
+    }
+
+    /**
+     * Get logarithm of factorial using table for small numbers and Stirling series for others.
+     *
+     * @param n given number.
+     * @return logarithm of n!.
+     */
+    private static double logFactorial(final long n) {
+        if (n < LOG_FACTORIALS.length) {
+            return LOG_FACTORIALS[(int) n];
+        }
+
+        final double x = n;
+        final double inverse = 1.0 / x;
+        final double inverseSquare = inverse * inverse;
+        return x * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI * x) +
+                inverse * (1.0 / 12 - inverseSquare * (1.0 / 360 - inverseSquare / 1260));
+    }
+}
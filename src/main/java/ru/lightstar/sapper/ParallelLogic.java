@@ -0,0 +1,558 @@
+package ru.lightstar.sapper;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Game logic which opens big empty regions concurrently on fork/join pool.
+ * Region is walked level by level, starting sequentially, where opened cells themselves tell what is visited.
+ * Once frontier reaches threshold, its cells are split between tasks, every cell is claimed atomically
+ * before it is opened, so no cell is opened twice, and tasks' counters are merged after each level.
+ * Claims are kept in pages allocated only for touched parts of board, so they grow with region, not with board,
+ * and pages are found in table of primitive page numbers, so cells aren't boxed.
+ * Precomputed regions smaller than threshold are processed sequentially.
+ * Boards which don't allow concurrent suggests are always processed sequentially.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ParallelLogic extends BaseLogic {
+
+    /**
+     * Default count of cells below which work is done sequentially.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    /**
+     * Count of cells processed by one task without splitting.
+     */
+    private static final int TASK_SIZE = 512;
+
+    /**
+     * Pool running parallel tasks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Count of cells below which work is done sequentially.
+     */
+    private final int threshold;
+
+    /**
+     * Constructs <code>ParallelLogic</code> object using common pool and default threshold.
+     */
+    public ParallelLogic() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Constructs <code>ParallelLogic</code> object.
+     *
+     * @param pool pool running parallel tasks.
+     * @param threshold count of cells below which work is done sequentially.
+     */
+    public ParallelLogic(final ForkJoinPool pool, final int threshold) {
+        super();
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold must be greater than zero");
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void autoEmptySuggestAllNearest(final int x, final int y) {
+        if (!this.getModel().isConcurrentSuggestSafe()) {
+            super.autoEmptySuggestAllNearest(x, y);
+            return;
+        }
+
+        ClaimSet claims = null;
+        long[] frontier = {(long) y * this.getWidth() + x};
+        int frontierSize = 1;
+        while (frontierSize > 0) {
+            final FrontierTask result;
+            if (frontierSize < this.threshold) {
+                result = new FrontierTask(null, frontier, 0, frontierSize).walk();
+            } else {
+                if (claims == null) {
+                    claims = new ClaimSet();
+                }
+                result = this.pool.invoke(new FrontierTask(claims, frontier, 0, frontierSize));
+            }
+            this.correctSuggestCount += result.correctDelta;
+            this.suggestedBombCount += result.suggestedDelta;
+            this.recordOpened(result);
+            frontier = result.next;
+            frontierSize = result.nextSize;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Region's cells are already distinct, so they are split between tasks without claims.
+     */
+    @Override
+    protected void autoEmptySuggestRegion(final ZeroRegions zeroRegions, final int region) {
+        final int count = zeroRegions.getOpenCount(region);
+        if (!this.getModel().isConcurrentSuggestSafe() || count < this.threshold) {
+            super.autoEmptySuggestRegion(zeroRegions, region);
+            return;
+        }
+
+        final RegionTask result = this.pool.invoke(new RegionTask(zeroRegions, region, 0, count));
+        this.correctSuggestCount += result.correctDelta;
+        this.suggestedBombCount += result.suggestedDelta;
+        this.recordOpened(result);
+    }
+
+    /**
+     * Record cells opened by task as changed by current suggest.
+     *
+     * @param counters finished task.
+     */
+    private void recordOpened(final Counters<?> counters) {
+        final int width = this.getWidth();
+        for (int number = 0; number < counters.openedSize; number++) {
+            this.recordChange((int) (counters.opened[number] % width), (int) (counters.opened[number] / width));
+        }
+    }
+
+    /**
+     * Open cell without touching shared counters.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param counters task collecting counters' changes.
+     * @return <code>true</code> if cell was opened and <code>false</code> if it was opened already.
+     */
+    private boolean open(final int x, final int y, final Counters<?> counters) {
+        final BoardModel model = this.getModel();
+        final Suggest oldSuggest = model.getSuggest(x, y);
+        if (oldSuggest == Suggest.EMPTY) {
+            return false;
+        }
+
+        model.setSuggest(x, y, Suggest.EMPTY);
+        if (this.isSuggestCorrect(x, y, Suggest.EMPTY)) {
+            counters.correctDelta++;
+        } else if (this.isSuggestCorrect(x, y, oldSuggest)) {
+            counters.correctDelta--;
+        }
+        if (oldSuggest == Suggest.BOMB) {
+            counters.suggestedDelta--;
+        }
+        if (this.isRecording()) {
+            counters.addOpened((long) y * this.getWidth() + x);
+        }
+        return true;
+    }
+
+    /**
+     * Changes of counters collected by task.
+     */
+    private abstract static class Counters<T> extends RecursiveTask<T> {
+
+        /**
+         * Change of correct suggests count.
+         */
+        protected int correctDelta;
+
+        /**
+         * Change of suggested bombs count.
+         */
+        protected int suggestedDelta;
+
+        /**
+         * Indexes of cells opened by task. Collected only when logic records changes.
+         */
+        protected long[] opened = new long[0];
+
+        /**
+         * Count of cells opened by task.
+         */
+        protected int openedSize;
+
+        /**
+         * Add opened cell.
+         *
+         * @param index cell's index.
+         */
+        protected void addOpened(final long index) {
+            if (this.openedSize == this.opened.length) {
+                this.opened = ChangeSet.grow(this.opened);
+            }
+            this.opened[this.openedSize++] = index;
+        }
+
+        /**
+         * Add counters and opened cells of other task.
+         *
+         * @param other other task.
+         */
+        protected void add(final Counters<T> other) {
+            this.correctDelta += other.correctDelta;
+            this.suggestedDelta += other.suggestedDelta;
+            if (other.openedSize > 0) {
+                this.opened = Arrays.copyOf(this.opened, this.openedSize + other.openedSize);
+                System.arraycopy(other.opened, 0, this.opened, this.openedSize, other.openedSize);
+                this.openedSize = this.opened.length;
+            }
+        }
+    }
+
+    /**
+     * Task opening nearest cells of part of frontier and collecting next frontier.
+     */
+    private final class FrontierTask extends Counters<FrontierTask> {
+
+        /**
+         * Claimed cells, or null if frontier is processed in one thread.
+         */
+        private final ClaimSet claims;
+
+        /**
+         * Current frontier: indexes of opened zero cells.
+         */
+        private final long[] frontier;
+
+        /**
+         * Start of processed part of frontier.
+         */
+        private final int from;
+
+        /**
+         * End (exclusive) of processed part of frontier.
+         */
+        private final int to;
+
+        /**
+         * Next frontier found by this task.
+         */
+        private long[] next;
+
+        /**
+         * Size of next frontier.
+         */
+        private int nextSize;
+
+        /**
+         * Constructs <code>FrontierTask</code> object.
+         *
+         * @param claims claimed cells, or null if frontier is processed in one thread.
+         * @param frontier current frontier.
+         * @param from start of processed part of frontier.
+         * @param to end (exclusive) of processed part of frontier.
+         */
+        FrontierTask(final ClaimSet claims, final long[] frontier, final int from, final int to) {
+            this.claims = claims;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.next = new long[16];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected FrontierTask compute() {
+            if (this.to - this.from > TASK_SIZE) {
+                final int middle = (this.from + this.to) >>> 1;
+                final FrontierTask left = new FrontierTask(this.claims, this.frontier, this.from, middle);
+                final FrontierTask right = new FrontierTask(this.claims, this.frontier, middle, this.to);
+                left.fork();
+                right.compute();
+                left.join();
+                this.add(left);
+                this.add(right);
+                this.next = Arrays.copyOf(left.next, left.nextSize + right.nextSize);
+                System.arraycopy(right.next, 0, this.next, left.nextSize, right.nextSize);
+                this.nextSize = this.next.length;
+                return this;
+            }
+            return this.walk();
+        }
+
+        /**
+         * Process whole part of frontier in current thread.
+         *
+         * @return this task.
+         */
+        private FrontierTask walk() {
+            final int width = ParallelLogic.this.getWidth();
+            final int height = ParallelLogic.this.getHeight();
+            for (int position = this.from; position < this.to; position++) {
+                final int cellX = (int) (this.frontier[position] % width);
+                final int cellY = (int) (this.frontier[position] / width);
+                for (int nearestY = Math.max(cellY - 1, 0); nearestY <= Math.min(cellY + 1, height - 1); nearestY++) {
+                    for (int nearestX = Math.max(cellX - 1, 0); nearestX <= Math.min(cellX + 1, width - 1);
+                         nearestX++) {
+                        final long index = (long) nearestY * width + nearestX;
+                        if ((this.claims == null || this.claims.claim(index)) &&
+                                ParallelLogic.this.open(nearestX, nearestY, this) &&
+                                ParallelLogic.this.getModel().getNearestBombCount(nearestX, nearestY) == 0) {
+                            if (this.nextSize == this.next.length) {
+                                this.next = ChangeSet.grow(this.next);
+                            }
+                            this.next[this.nextSize++] = index;
+                        }
+                    }
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Set of claimed cells shared by tasks. Claim bits are kept in fixed-size pages allocated only
+     * when some cell in them is claimed. Pages are found by their numbers in open-addressing table
+     * of primitive keys, so claims don't box cells. Table is read without locking, new pages are added
+     * under lock, and grown table is published as a whole, so readers always see consistent one.
+     */
+    private static final class ClaimSet {
+
+        /**
+         * Binary logarithm of cells count in page.
+         */
+        private static final int PAGE_SHIFT = 12;
+
+        /**
+         * Count of words in page.
+         */
+        private static final int PAGE_WORDS = (1 << PAGE_SHIFT) / Long.SIZE;
+
+        /**
+         * Initial capacity of page table.
+         */
+        private static final int INITIAL_CAPACITY = 64;
+
+        /**
+         * Current page table.
+         */
+        private volatile PageTable table = new PageTable(INITIAL_CAPACITY);
+
+        /**
+         * Atomically claim cell.
+         *
+         * @param index cell's index.
+         * @return <code>true</code> if cell is claimed by this call and <code>false</code> if it was claimed before.
+         */
+        boolean claim(final long index) {
+            final long number = index >>> PAGE_SHIFT;
+            AtomicLongArray page = this.table.get(number);
+            if (page == null) {
+                page = this.addPage(number);
+            }
+            final int word = (int) (index & ((1 << PAGE_SHIFT) - 1)) >>> 6;
+            final long bit = 1L << index;
+            long value = page.get(word);
+            while ((value & bit) == 0) {
+                if (page.compareAndSet(word, value, value | bit)) {
+                    return true;
+                }
+                value = page.get(word);
+            }
+            return false;
+        }
+
+        /**
+         * Add page if no other task added it yet. Table is grown when it is half full.
+         *
+         * @param number page's number.
+         * @return page.
+         */
+        private synchronized AtomicLongArray addPage(final long number) {
+            PageTable table = this.table;
+            AtomicLongArray page = table.get(number);
+            if (page == null) {
+                if (2 * (table.size + 1) > table.capacity()) {
+                    table = table.grow();
+                }
+                page = new AtomicLongArray(PAGE_WORDS);
+                table.put(number, page);
+                this.table = table;
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Open-addressing table of claim pages with primitive page numbers as keys.
+     * Page is stored before its key, so reader who sees key sees page too.
+     */
+    private static final class PageTable {
+
+        /**
+         * Page numbers plus one by slots. Zero marks empty slot.
+         */
+        private final AtomicLongArray keys;
+
+        /**
+         * Pages by slots.
+         */
+        private final AtomicReferenceArray<AtomicLongArray> pages;
+
+        /**
+         * Mask of slot number, capacity is power of two.
+         */
+        private final int mask;
+
+        /**
+         * Count of stored pages. Changed only under claim set's lock.
+         */
+        private int size;
+
+        /**
+         * Constructs empty <code>PageTable</code> object.
+         *
+         * @param capacity count of slots. It must be power of two.
+         */
+        PageTable(final int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.pages = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Get count of slots.
+         *
+         * @return count of slots.
+         */
+        int capacity() {
+            return this.mask + 1;
+        }
+
+        /**
+         * Get page by its number.
+         *
+         * @param number page's number.
+         * @return page, or null if it isn't stored.
+         */
+        AtomicLongArray get(final long number) {
+            for (int slot = this.getSlot(number); ; slot = (slot + 1) & this.mask) {
+                final long key = this.keys.get(slot);
+                if (key == 0) {
+                    return null;
+                }
+                if (key == number + 1) {
+                    return this.pages.get(slot);
+                }
+            }
+        }
+
+        /**
+         * Store new page. Table must have free slot.
+         *
+         * @param number page's number.
+         * @param page page.
+         */
+        void put(final long number, final AtomicLongArray page) {
+            int slot = this.getSlot(number);
+            while (this.keys.get(slot) != 0) {
+                slot = (slot + 1) & this.mask;
+            }
+            this.pages.set(slot, page);
+            this.keys.set(slot, number + 1);
+            this.size++;
+        }
+
+        /**
+         * Copy all pages into table twice bigger.
+         *
+         * @return new table.
+         */
+        PageTable grow() {
+            final PageTable table = new PageTable(2 * this.capacity());
+            for (int slot = 0; slot <= this.mask; slot++) {
+                final long key = this.keys.get(slot);
+                if (key != 0) {
+                    table.put(key - 1, this.pages.get(slot));
+                }
+            }
+            return table;
+        }
+
+        /**
+         * Get first slot to look page up at.
+         *
+         * @param number page's number.
+         * @return slot.
+         */
+        private int getSlot(final long number) {
+            return (int) ((number * 0x9E3779B97F4A7C15L) >>> 32) & this.mask;
+        }
+    }
+
+    /**
+     * Task opening part of precomputed zero region.
+     */
+    private final class RegionTask extends Counters<RegionTask> {
+
+        /**
+         * Zero regions of board.
+         */
+        private final ZeroRegions zeroRegions;
+
+        /**
+         * Opened region's number.
+         */
+        private final int region;
+
+        /**
+         * Number of first opened cell in region.
+         */
+        private final int from;
+
+        /**
+         * Number after last opened cell in region.
+         */
+        private final int to;
+
+        /**
+         * Constructs <code>RegionTask</code> object.
+         *
+         * @param zeroRegions zero regions of board.
+         * @param region opened region's number.
+         * @param from number of first opened cell in region.
+         * @param to number after last opened cell in region.
+         */
+        RegionTask(final ZeroRegions zeroRegions, final int region, final int from, final int to) {
+            this.zeroRegions = zeroRegions;
+            this.region = region;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected RegionTask compute() {
+            if (this.to - this.from > TASK_SIZE) {
+                final int middle = (this.from + this.to) >>> 1;
+                final RegionTask left = new RegionTask(this.zeroRegions, this.region, this.from, middle);
+                final RegionTask right = new RegionTask(this.zeroRegions, this.region, middle, this.to);
+                left.fork();
+                right.compute();
+                left.join();
+                this.add(left);
+                this.add(right);
+                return this;
+            }
+
+            final int width = ParallelLogic.this.getWidth();
+            for (int number = this.from; number < this.to; number++) {
+                final int index = this.zeroRegions.getOpenCell(this.region, number);
+                ParallelLogic.this.open(index % width, index / width, this);
+            }
+            return this;
+        }
+    }
+}
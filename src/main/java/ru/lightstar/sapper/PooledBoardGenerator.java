@@ -0,0 +1,273 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Board generator decorator keeping pools of ready boards for preset parameters.
+ * Boards for presets are generated in background thread, so game start takes just a queue read.
+ * Boards with other parameters are generated by decorated generator in the calling thread.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class PooledBoardGenerator implements SafeStartBoardGenerator {
+
+    /**
+     * Decorated generator. It is used from background thread only.
+     */
+    private final BoardGenerator generator;
+
+    /**
+     * Generator used in the calling thread for boards without preset.
+     */
+    private final BoardGenerator fallbackGenerator;
+
+    /**
+     * Maximum count of ready boards for every preset.
+     */
+    private final int poolSize;
+
+    /**
+     * Pools of ready boards by preset.
+     */
+    private final Map<Preset, Pool> pools;
+
+    /**
+     * Executor generating boards in background.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs <code>PooledBoardGenerator</code> object.
+     *
+     * @param generator generator used in background thread.
+     * @param fallbackGenerator generator used in calling thread for boards without preset or when pool is empty.
+     * @param poolSize maximum count of ready boards for every preset.
+     */
+    public PooledBoardGenerator(final BoardGenerator generator, final BoardGenerator fallbackGenerator,
+                                final int poolSize) {
+        this(generator, fallbackGenerator, poolSize, Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "board-pool");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }));
+    }
+
+    /**
+     * Constructs <code>PooledBoardGenerator</code> object with given executor.
+     *
+     * @param generator generator used by executor.
+     * @param fallbackGenerator generator used in calling thread for boards without preset or when pool is empty.
+     * @param poolSize maximum count of ready boards for every preset.
+     * @param executor executor generating boards. It must run one task at once.
+     */
+    PooledBoardGenerator(final BoardGenerator generator, final BoardGenerator fallbackGenerator,
+                         final int poolSize, final ExecutorService executor) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be greater than zero");
+        }
+
+        this.generator = generator;
+        this.fallbackGenerator = fallbackGenerator;
+        this.poolSize = poolSize;
+        this.pools = new HashMap<>();
+        this.executor = executor;
+    }
+
+    /**
+     * Add preset and start filling its pool in background.
+     * Presets must be added before generator is shared between threads.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     */
+    public void addPreset(final int width, final int height, final int bombCount) {
+        final Preset preset = new Preset(width, height, bombCount);
+        if (!this.pools.containsKey(preset)) {
+            final Pool pool = new Pool(this.poolSize);
+            this.pools.put(preset, pool);
+            this.refill(preset, pool);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount) throws GenerateException {
+        final Preset preset = new Preset(width, height, bombCount);
+        final Pool pool = this.pools.get(preset);
+        if (pool == null) {
+            return this.fallbackGenerator.generate(width, height, bombCount);
+        }
+
+        final BoardModel model = pool.boards.poll();
+        this.refill(preset, pool);
+        return model != null ? model : this.fallbackGenerator.generate(width, height, bombCount);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Such boards can't be pooled, because safe cell isn't known in advance, so they are generated
+     * by fallback generator. If it doesn't support safe cell, ordinary board is generated.
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount,
+                               final int safeX, final int safeY) throws GenerateException {
+        return this.fallbackGenerator instanceof SafeStartBoardGenerator ?
+                ((SafeStartBoardGenerator) this.fallbackGenerator).generate(width, height, bombCount, safeX, safeY) :
+                this.fallbackGenerator.generate(width, height, bombCount);
+    }
+
+    /**
+     * Get count of ready boards for preset.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @return count of ready boards or zero if there is no such preset.
+     */
+    public int getReadyCount(final int width, final int height, final int bombCount) {
+        final Pool pool = this.pools.get(new Preset(width, height, bombCount));
+        return pool != null ? pool.boards.size() : 0;
+    }
+
+    /**
+     * Stop background generation.
+     */
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Schedule filling of pool up to its capacity.
+     * Only one fill task per pool is scheduled at once, so decorated generator is never used concurrently.
+     * Board taken after fill task found pool full but before it finished wouldn't schedule new task,
+     * so pool is checked once more after fill task is finished.
+     * If executor rejects fill task, because it is shut down, flag is cleared, so pool isn't stuck as scheduled.
+     *
+     * @param preset pool's preset.
+     * @param pool filled pool.
+     */
+    private void refill(final Preset preset, final Pool pool) {
+        if (!pool.scheduled.compareAndSet(0, 1)) {
+            return;
+        }
+
+        try {
+            this.executor.execute(() -> {
+                try {
+                    while (pool.boards.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                        pool.boards.offer(this.generator.generate(preset.width, preset.height, preset.bombCount));
+                    }
+                } catch (GenerateException e) {
+                    // Invalid preset: pool stays empty and fallback generator reports the error to caller.
+                    return;
+                } finally {
+                    pool.scheduled.set(0);
+                }
+
+                if (pool.boards.remainingCapacity() > 0 && !this.executor.isShutdown()) {
+                    this.refill(preset, pool);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pool.scheduled.set(0);
+        }
+    }
+
+    /**
+     * Board parameters used as pool key.
+     */
+    private static class Preset {
+
+        /**
+         * Board's width.
+         */
+        private final int width;
+
+        /**
+         * Board's height.
+         */
+        private final int height;
+
+        /**
+         * Total bomb count on board.
+         */
+        private final int bombCount;
+
+        /**
+         * Constructs <code>Preset</code> object.
+         *
+         * @param width board's width.
+         * @param height board's height.
+         * @param bombCount total bomb count on board.
+         */
+        Preset(final int width, final int height, final int bombCount) {
+            this.width = width;
+            this.height = height;
+            this.bombCount = bombCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (object == null || this.getClass() != object.getClass()) {
+                return false;
+            }
+
+            final Preset other = (Preset) object;
+            return this.width == other.width && this.height == other.height && this.bombCount == other.bombCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.width + this.height) + this.bombCount;
+        }
+    }
+
+    /**
+     * Pool of ready boards for one preset.
+     */
+    private static class Pool {
+
+        /**
+         * Ready boards.
+         */
+        private final BlockingQueue<BoardModel> boards;
+
+        /**
+         * Flag of scheduled fill task: 1 if it is scheduled, 0 otherwise.
+         */
+        private final AtomicInteger scheduled;
+
+        /**
+         * Constructs <code>Pool</code> object.
+         *
+         * @param size pool's capacity.
+         */
+        Pool(final int size) {
+            this.boards = new ArrayBlockingQueue<>(size);
+            this.scheduled = new AtomicInteger();
+        }
+    }
+}
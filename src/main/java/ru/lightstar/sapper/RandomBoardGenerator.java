@@ -2,159 +2,247 @@ package ru.lightstar.sapper;
 
 import ru.lightstar.sapper.exception.GenerateException;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
 /**
  * Generator of random board with given width, height and bomb count.
+ * Every board is generated from 64-bit seed, so it can be reproduced later.
  *
  * @author LightStar
  * @since 0.0.1
  */
-public class RandomBoardGenerator implements BoardGenerator {
+public class RandomBoardGenerator implements SeededBoardGenerator, SafeStartBoardGenerator {
+
+    /**
+     * Maximum cells count of board whose zero regions are labelled.
+     */
+    static final int MAX_LABELLED_CELL_COUNT = 1 << 20;
 
     /**
      * Width of board.
      */
-    private int width;
+    protected int width;
 
     /**
      * Height of board.
      */
-    private int height;
+    protected int height;
 
     /**
      * Total bomb count on board.
      */
-    private int bombCount;
+    protected int bombCount;
+
+    /**
+     * Seed of board.
+     */
+    protected long seed;
+
+    /**
+     * Horizontal coordinate of board's safe cell, or <code>BoardSeed.NO_SAFE_CELL</code>.
+     */
+    protected int safeX;
+
+    /**
+     * Vertical coordinate of board's safe cell, or <code>BoardSeed.NO_SAFE_CELL</code>.
+     */
+    protected int safeY;
+
+    /**
+     * Source of seeds for boards generated without given seed.
+     */
+    private final SeededRandom seedSource;
+
+    /**
+     * Flag to label zero regions of generated boards.
+     */
+    private boolean zeroRegionsLabelled;
+
+    /**
+     * Constructs <code>RandomBoardGenerator</code> object.
+     */
+    public RandomBoardGenerator() {
+        this.seedSource = new SeededRandom(System.nanoTime() ^ System.identityHashCode(this));
+        this.zeroRegionsLabelled = true;
+    }
+
+    /**
+     * Set flag to label zero regions of generated boards. Labels speed up opening of empty regions,
+     * but take extra pass over board, four bytes per cell and four bytes per opened cell.
+     * Turned on by default, but only boards with no more than <code>MAX_LABELLED_CELL_COUNT</code> cells
+     * are labelled, bigger boards are opened with flood fill.
+     *
+     * @param zeroRegionsLabelled true to label zero regions.
+     */
+    public void setZeroRegionsLabelled(final boolean zeroRegionsLabelled) {
+        this.zeroRegionsLabelled = zeroRegionsLabelled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount) throws GenerateException {
+        return this.generate(width, height, bombCount, this.seedSource.nextLong());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Cell[][] generate(final int width, final int height, final int bombCount) throws GenerateException {
+    public BoardModel generate(final int width, final int height, final int bombCount, final long seed)
+            throws GenerateException {
         this.checkParams(width, height, bombCount);
 
         this.width = width;
         this.height = height;
         this.bombCount = bombCount;
+        this.seed = seed;
+        this.safeX = BoardSeed.NO_SAFE_CELL;
+        this.safeY = BoardSeed.NO_SAFE_CELL;
 
-        return this.generate();
+        return this.labelZeroRegions(this.generate(new SeededRandom(seed)));
     }
 
     /**
-     * Generate board after all params are set.
-     *
-     * @return generated board's cells.
-     */
-    protected Cell[][] generate() {
-        final boolean[][] bombLocations = this.generateBombLocations();
-        final int[][] nearestBombCounts = this.generateNearestBombCounts(bombLocations);
-        final Cell[][] cells = new Cell[this.height][];
-
-        for (int y = 0; y < this.height; y++) {
-            cells[y] = new Cell[this.width];
-            for (int x = 0; x < this.width; x++) {
-                cells[y][x] = this.generateCell(bombLocations[y][x], nearestBombCounts[y][x]);
-            }
+     * {@inheritDoc}
+     * Board's seed with safe cell is available with {@link #getLastSeed()}.
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount,
+                               final int safeX, final int safeY) throws GenerateException {
+        return this.generate(width, height, bombCount, safeX, safeY, this.seedSource.nextLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount, final int safeX,
+                               final int safeY, final long seed) throws GenerateException {
+        this.checkParams(width, height, bombCount);
+        if (safeX < 0 || safeX >= width || safeY < 0 || safeY >= height) {
+            throw new GenerateException("Safe cell is out of bounds");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.bombCount = bombCount;
+        this.seed = seed;
+        this.safeX = safeX;
+        this.safeY = safeY;
+
+        int fromX = Math.max(0, safeX - 1);
+        int fromY = Math.max(0, safeY - 1);
+        int safeWidth = Math.min(width - 1, safeX + 1) - fromX + 1;
+        int safeHeight = Math.min(height - 1, safeY + 1) - fromY + 1;
+        if (bombCount > width * height - safeWidth * safeHeight) {
+            fromX = safeX;
+            fromY = safeY;
+            safeWidth = bombCount < width * height ? 1 : 0;
+            safeHeight = safeWidth;
         }
 
-        return cells;
+        return this.labelZeroRegions(this.generate(new SeededRandom(this.seed), fromX, fromY,
+                safeWidth, safeHeight));
     }
 
     /**
-     * Generate cell object.
-     * Override if you need to generate some specific cell object.
-     *
-     * @param bomb flag of bomb in this cell.
-     * @param nearestBombCount count of bombs near this cell.
-     * @return generated cell object.
+     * {@inheritDoc}
      */
-    protected Cell generateCell(final boolean bomb, final int nearestBombCount) {
-        return new BaseCell(bomb ? Bomb.BOMB : Bomb.NONE, nearestBombCount);
+    @Override
+    public BoardSeed getLastSeed() {
+        return new BoardSeed(this.width, this.height, this.bombCount, this.seed, this.safeX, this.safeY);
     }
 
     /**
-     * Generate array of random bomb locations.
+     * Generate board after all params are set.
+     * Board is packed into primitive array taking one byte per cell. Bombs are placed right into it
+     * and nearest bombs counts are incremented while placing, so no intermediate arrays are needed.
+     * Uses Floyd's sampling algorithm: exactly one random number per bomb and no extra memory,
+     * because already placed bombs are looked up in the board itself.
+     * Every subset of cells with given size is chosen with equal probability.
      *
-     * @return array of bomb locations.
-     */
-    private boolean[][] generateBombLocations() {
-        final List<Location> remainedLocations = new ArrayList<>(this.height * this.width);
-        final boolean[][] bombLocations = new boolean[this.height][];
-        for (int y = 0; y < this.height; y++) {
-            bombLocations[y] = new boolean[this.width];
-            for (int x = 0; x < this.width; x++) {
-                remainedLocations.add(new Location(x, y));
-            }
-        }
+     * @param random random generator initialized with board's seed.
+     * @return generated board model.
+     */
+    protected BoardModel generate(final SeededRandom random) {
+        final PackedBoardModel model = new PackedBoardModel(this.width, this.height);
+        final int cellCount = this.width * this.height;
 
-        final Random random = new Random();
-        for (int i = 0; i < this.bombCount; i++) {
-            final int index = random.nextInt(remainedLocations.size());
-            final Location location = remainedLocations.get(index);
-            bombLocations[location.getY()][location.getX()] = true;
-            remainedLocations.remove(index);
+        for (int index = cellCount - this.bombCount; index < cellCount; index++) {
+            final int candidate = random.nextInt(index + 1);
+            final int location = model.isBomb(candidate) ? index : candidate;
+            model.placeBomb(location % this.width, location / this.width);
         }
 
-        return bombLocations;
+        return model;
     }
 
     /**
-     * Generate array of nearest bombs counts.
+     * Generate board without bombs in given safe rectangle after all params are set.
+     * Uses the same Floyd's sampling as {@link #generate(SeededRandom)}, but over cells outside of
+     * safe rectangle only, which are numbered consecutively skipping the rectangle.
      *
-     * @param bombLocations array with bomb locations.
-     * @return array of nearest bombs counts.
-     */
-    private int[][] generateNearestBombCounts(final boolean[][] bombLocations) {
-        final int[][] nearestBombCounts = new int[this.height][];
-
-        for (int y = 0; y < this.height; y++) {
-            nearestBombCounts[y] = new int[this.width];
-            for (int x = 0; x < this.width; x++) {
-                if (bombLocations[y][x]) {
-                    continue;
-                }
-                nearestBombCounts[y][x] = this.getNearestBombCount(x, y, bombLocations);
-            }
+     * @param random random generator initialized with board's seed.
+     * @param safeX horizontal coordinate of safe rectangle's top left cell.
+     * @param safeY vertical coordinate of safe rectangle's top left cell.
+     * @param safeWidth width of safe rectangle.
+     * @param safeHeight height of safe rectangle.
+     * @return generated board model.
+     */
+    protected BoardModel generate(final SeededRandom random, final int safeX, final int safeY,
+                                  final int safeWidth, final int safeHeight) {
+        final PackedBoardModel model = new PackedBoardModel(this.width, this.height);
+        final int cellCount = this.width * this.height - safeWidth * safeHeight;
+
+        for (int index = cellCount - this.bombCount; index < cellCount; index++) {
+            final int candidate = this.skipSafeCells(random.nextInt(index + 1), safeX, safeY, safeWidth, safeHeight);
+            final int location = model.isBomb(candidate) ?
+                    this.skipSafeCells(index, safeX, safeY, safeWidth, safeHeight) : candidate;
+            model.placeBomb(location % this.width, location / this.width);
         }
 
-        return nearestBombCounts;
+        return model;
     }
 
     /**
-     * Calculate nearest bombs count for given location.
+     * Label zero regions of generated board if it is turned on, board is small enough and can keep them.
      *
-     * @param x 'x' coordinate of given location.
-     * @param y 'y' coordinate of given location.
-     * @param bombLocations array with bomb locations.
-     * @return count of nearest bombs.
-     */
-    private int getNearestBombCount(final int x, final int y, final boolean[][] bombLocations) {
-        int count = 0;
-
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (this.isBombOnLocation(x + dx, y + dy, bombLocations)) {
-                    count++;
-                }
-            }
+     * @param model generated board model.
+     * @return the same board model.
+     */
+    private BoardModel labelZeroRegions(final BoardModel model) {
+        if (this.zeroRegionsLabelled && model instanceof PackedBoardModel &&
+                (long) model.getWidth() * model.getHeight() <= MAX_LABELLED_CELL_COUNT) {
+            ((PackedBoardModel) model).setZeroRegions(ZeroRegions.label(model));
         }
-
-        return count;
+        return model;
     }
 
     /**
-     * Check if bomb is on given location.
+     * Convert number of cell among cells outside of safe rectangle into cell's index on board.
      *
-     * @param x 'x' coordinate of given location.
-     * @param y 'y' coordinate of given location.
-     * @param bombLocations array with bomb locations.
-     * @return <code>true</code> if bomb is on location or <code>false</code> otherwise.
+     * @param number number of cell outside of safe rectangle.
+     * @param safeX horizontal coordinate of safe rectangle's top left cell.
+     * @param safeY vertical coordinate of safe rectangle's top left cell.
+     * @param safeWidth width of safe rectangle.
+     * @param safeHeight height of safe rectangle.
+     * @return cell's index on board.
      */
-    private boolean isBombOnLocation(final int x, final int y, final boolean[][] bombLocations) {
-        return y >= 0 && y < this.height && x >= 0 && x < this.width && bombLocations[y][x];
+    private int skipSafeCells(final int number, final int safeX, final int safeY,
+                              final int safeWidth, final int safeHeight) {
+        final int cellsBefore = safeY * this.width;
+        if (number < cellsBefore) {
+            return number;
+        }
+
+        final int rowCells = this.width - safeWidth;
+        if (number < cellsBefore + safeHeight * rowCells) {
+            final int row = (number - cellsBefore) / rowCells;
+            final int column = (number - cellsBefore) % rowCells;
+            return (safeY + row) * this.width + (column < safeX ? column : column + safeWidth);
+        }
+
+        return number + safeWidth * safeHeight;
     }
 
     /**
@@ -170,53 +258,12 @@ public class RandomBoardGenerator implements BoardGenerator {
             throw new GenerateException("Width, height and bombCount must be greater than zero");
         }
 
-        if (bombCount > width * height) {
-            throw new GenerateException("Too big bomb count");
-        }
-    }
-
-    /**
-     * Some cell location.
-     */
-    private static class Location {
-
-        /**
-         * 'x' coordinate of the location.
-         */
-        private final int x;
-
-        /**
-         * 'y' coordinate of the location.
-         */
-        private final int y;
-
-        /**
-         * Constructs <code>Location</code> object
-         *
-         * @param x 'x' coordinate of the location.
-         * @param y 'y' coordinate of the location.
-         */
-        public Location(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-
-        /**
-         * Get 'x' coordinate of the location.
-         *
-         * @return 'x' coordinate of the location.
-         */
-        public int getX() {
-            return x;
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new GenerateException("Too big board");
         }
 
-        /**
-         * Get 'y' coordinate of the location.
-         *
-         * @return 'y' coordinate of the location.
-         */
-        public int getY() {
-            return y;
+        if (bombCount > width * height) {
+            throw new GenerateException("Too big bomb count");
         }
     }
 }
@@ -0,0 +1,25 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+/**
+ * Interface for board generator which can keep player's first opened cell safe.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public interface SafeStartBoardGenerator extends BoardGenerator {
+
+    /**
+     * Generate board without bombs in given cell and, if bomb count allows, in its nearest cells.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @param safeX horizontal coordinate of safe cell.
+     * @param safeY vertical coordinate of safe cell.
+     * @return generated board model.
+     * @throws GenerateException thrown if parameters are invalid.
+     */
+    BoardModel generate(int width, int height, int bombCount, int safeX, int safeY) throws GenerateException;
+}
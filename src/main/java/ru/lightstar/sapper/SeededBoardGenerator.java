@@ -0,0 +1,50 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+/**
+ * Interface for board generator which can reproduce boards from 64-bit seed.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public interface SeededBoardGenerator extends BoardGenerator {
+
+    /**
+     * Generate board deterministically. The same generator with the same parameters and seed
+     * always generates the same board on any JVM.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @param seed board's seed.
+     * @return generated board model.
+     * @throws GenerateException thrown if parameters are invalid.
+     */
+    BoardModel generate(int width, int height, int bombCount, long seed) throws GenerateException;
+
+    /**
+     * Generate board deterministically without bombs in given cell and, if bomb count allows, in its nearest cells.
+     * By default generator can't keep cells safe.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @param bombCount total bomb count on board.
+     * @param safeX horizontal coordinate of safe cell.
+     * @param safeY vertical coordinate of safe cell.
+     * @param seed board's seed.
+     * @return generated board model.
+     * @throws GenerateException thrown if parameters are invalid or generator can't keep cells safe.
+     */
+    default BoardModel generate(final int width, final int height, final int bombCount, final int safeX,
+                                final int safeY, final long seed) throws GenerateException {
+        throw new GenerateException("Generator can't keep cells safe");
+    }
+
+    /**
+     * Get seed of the last generated board. It includes safe cell if board was generated with it.
+     *
+     * @return last board's seed.
+     */
+    BoardSeed getLastSeed();
+}
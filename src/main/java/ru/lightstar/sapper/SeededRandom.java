@@ -0,0 +1,150 @@
+package ru.lightstar.sapper;
+
+/**
+ * Splittable pseudo-random generator used to generate reproducible boards.
+ * It implements SplitMix64 algorithm (the one behind <code>java.util.SplittableRandom</code>), but unlike it
+ * the algorithm is fixed here, so the same seed gives the same values on every JVM.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SeededRandom {
+
+    /**
+     * Default gamma value, odd approximation of golden ratio.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Scale to convert 53 random bits to double in [0, 1) interval.
+     */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /**
+     * Current state.
+     */
+    private long seed;
+
+    /**
+     * Step added to state on every call.
+     */
+    private final long gamma;
+
+    /**
+     * Constructs <code>SeededRandom</code> object.
+     *
+     * @param seed initial seed.
+     */
+    public SeededRandom(final long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    /**
+     * Constructs <code>SeededRandom</code> object with given gamma.
+     *
+     * @param seed initial seed.
+     * @param gamma step added to state on every call. Must be odd.
+     */
+    private SeededRandom(final long seed, final long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    /**
+     * Get next pseudo-random long value.
+     *
+     * @return next value.
+     */
+    public long nextLong() {
+        return mix64(this.nextSeed());
+    }
+
+    /**
+     * Get next pseudo-random long value uniformly distributed in [0, bound) interval.
+     *
+     * @param bound upper bound (exclusive). Must be positive.
+     * @return next value.
+     */
+    public long nextLong(final long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive");
+        }
+
+        final long mask = bound - 1;
+        long value = this.nextLong() >>> 1;
+        if ((bound & mask) == 0) {
+            return value & mask;
+        }
+
+        long result = value % bound;
+        while (value - result + mask < 0) {
+            value = this.nextLong() >>> 1;
+            result = value % bound;
+        }
+        return result;
+    }
+
+    /**
+     * Get next pseudo-random int value uniformly distributed in [0, bound) interval.
+     *
+     * @param bound upper bound (exclusive). Must be positive.
+     * @return next value.
+     */
+    public int nextInt(final int bound) {
+        return (int) this.nextLong(bound);
+    }
+
+    /**
+     * Get next pseudo-random double value uniformly distributed in [0, 1) interval.
+     *
+     * @return next value.
+     */
+    public double nextDouble() {
+        return (this.nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Split off new generator which values are independent from this one.
+     * This generator's state is advanced.
+     *
+     * @return new generator.
+     */
+    public SeededRandom split() {
+        return new SeededRandom(this.nextLong(), mixGamma(this.nextSeed()));
+    }
+
+    /**
+     * Advance state.
+     *
+     * @return new state.
+     */
+    private long nextSeed() {
+        this.seed += this.gamma;
+        return this.seed;
+    }
+
+    /**
+     * Mix bits of state into output value.
+     *
+     * @param value state.
+     * @return mixed value.
+     */
+    private static long mix64(final long value) {
+        long result = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        result = (result ^ (result >>> 27)) * 0x94d049bb133111ebL;
+        return result ^ (result >>> 31);
+    }
+
+    /**
+     * Mix bits of state into gamma for split generator.
+     *
+     * @param value state.
+     * @return odd gamma with enough bit transitions.
+     */
+    private static long mixGamma(final long value) {
+        long result = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        result = (result ^ (result >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        result = (result ^ (result >>> 33)) | 1L;
+        return Long.bitCount(result ^ (result >>> 1)) < 24 ? result ^ 0xaaaaaaaaaaaaaaaaL : result;
+    }
+}
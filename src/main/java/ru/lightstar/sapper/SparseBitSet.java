@@ -0,0 +1,149 @@
+package ru.lightstar.sapper;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of bits with long indexes, kept in fixed-size pages allocated only when some bit in them is set.
+ * Memory grows with count of touched pages, not with the highest index.
+ * Every page keeps count of its set bits in additional last word, so emptied page is found without scanning it.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SparseBitSet {
+
+    /**
+     * Binary logarithm of bits count in page.
+     */
+    private static final int PAGE_SHIFT = 12;
+
+    /**
+     * Count of words in page.
+     */
+    private static final int PAGE_WORDS = (1 << PAGE_SHIFT) / Long.SIZE;
+
+    /**
+     * Index of page's word holding count of set bits in page.
+     */
+    private static final int PAGE_COUNT = PAGE_WORDS;
+
+    /**
+     * Allocated pages by their numbers.
+     */
+    private final Map<Long, long[]> pages;
+
+    /**
+     * Count of set bits.
+     */
+    private long cardinality;
+
+    /**
+     * Constructs empty <code>SparseBitSet</code> object.
+     */
+    public SparseBitSet() {
+        this.pages = new HashMap<>();
+    }
+
+    /**
+     * Get bit.
+     *
+     * @param index bit's index.
+     * @return <code>true</code> if bit is set.
+     */
+    public boolean get(final long index) {
+        final long[] page = this.pages.get(index >>> PAGE_SHIFT);
+        return page != null && (page[this.getWord(index)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set bit.
+     *
+     * @param index bit's index.
+     */
+    public void set(final long index) {
+        long[] page = this.pages.get(index >>> PAGE_SHIFT);
+        if (page == null) {
+            page = new long[PAGE_WORDS + 1];
+            this.pages.put(index >>> PAGE_SHIFT, page);
+        }
+
+        final int word = this.getWord(index);
+        if ((page[word] & (1L << index)) == 0) {
+            page[word] |= 1L << index;
+            page[PAGE_COUNT]++;
+            this.cardinality++;
+        }
+    }
+
+    /**
+     * Clear bit. Page is released when its last bit is cleared.
+     *
+     * @param index bit's index.
+     */
+    public void clear(final long index) {
+        final long[] page = this.pages.get(index >>> PAGE_SHIFT);
+        final int word = this.getWord(index);
+        if (page == null || (page[word] & (1L << index)) == 0) {
+            return;
+        }
+
+        page[word] &= ~(1L << index);
+        this.cardinality--;
+        if (--page[PAGE_COUNT] == 0) {
+            this.pages.remove(index >>> PAGE_SHIFT);
+        }
+    }
+
+    /**
+     * Get count of set bits.
+     *
+     * @return count of set bits.
+     */
+    public long cardinality() {
+        return this.cardinality;
+    }
+
+    /**
+     * Get indexes of all set bits.
+     *
+     * @return indexes of set bits in ascending order.
+     */
+    public long[] toArray() {
+        final long[] indexes = new long[(int) this.cardinality];
+        int size = 0;
+        for (final Map.Entry<Long, long[]> entry : this.pages.entrySet()) {
+            final long first = entry.getKey() << PAGE_SHIFT;
+            final long[] page = entry.getValue();
+            for (int word = 0; word < PAGE_WORDS; word++) {
+                long value = page[word];
+                while (value != 0) {
+                    indexes[size++] = first + ((long) word << 6) + Long.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                }
+            }
+        }
+        Arrays.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * Get count of allocated pages.
+     *
+     * @return count of pages.
+     */
+    public int getPageCount() {
+        return this.pages.size();
+    }
+
+    /**
+     * Get index of word in page holding given bit.
+     *
+     * @param index bit's index.
+     * @return word's index.
+     */
+    private int getWord(final long index) {
+        return (int) (index & ((1 << PAGE_SHIFT) - 1)) >>> 6;
+    }
+}
@@ -0,0 +1,119 @@
+package ru.lightstar.sapper;
+
+import ru.lightstar.sapper.exception.GenerateException;
+
+import java.util.Arrays;
+
+/**
+ * Generator of random sparse board, which takes memory proportional to bomb count only.
+ * Bomb indexes are drawn independently, sorted, and duplicates are replaced by new draws until
+ * all bombs are distinct. Every subset of cells with given size is still chosen with equal probability.
+ * Meant for low bomb density: the higher it is, the more draws are repeated.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SparseBoardGenerator implements SeededBoardGenerator {
+
+    /**
+     * Source of seeds for boards generated without given seed.
+     */
+    private final SeededRandom seedSource;
+
+    /**
+     * Seed of the last generated board.
+     */
+    private BoardSeed lastSeed;
+
+    /**
+     * Constructs <code>SparseBoardGenerator</code> object.
+     */
+    public SparseBoardGenerator() {
+        this.seedSource = new SeededRandom(System.nanoTime() ^ System.identityHashCode(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount) throws GenerateException {
+        return this.generate(width, height, bombCount, this.seedSource.nextLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel generate(final int width, final int height, final int bombCount, final long seed)
+            throws GenerateException {
+        if (width <= 0 || height <= 0 || bombCount <= 0) {
+            throw new GenerateException("Width, height and bombCount must be greater than zero");
+        }
+
+        final long cellCount = (long) width * height;
+        if (bombCount > cellCount) {
+            throw new GenerateException("Too big bomb count");
+        }
+
+        final SeededRandom random = new SeededRandom(seed);
+        long[] bombs = new long[bombCount];
+        long[] merged = null;
+        int distinctCount = 0;
+        while (distinctCount < bombCount) {
+            for (int i = distinctCount; i < bombCount; i++) {
+                bombs[i] = random.nextLong(cellCount);
+            }
+            Arrays.sort(bombs, distinctCount, bombCount);
+
+            if (distinctCount == 0) {
+                distinctCount = 1;
+                for (int i = 1; i < bombCount; i++) {
+                    if (bombs[i] != bombs[distinctCount - 1]) {
+                        bombs[distinctCount++] = bombs[i];
+                    }
+                }
+            } else {
+                if (merged == null) {
+                    merged = new long[bombCount];
+                }
+                distinctCount = merge(bombs, distinctCount, merged);
+                final long[] swap = bombs;
+                bombs = merged;
+                merged = swap;
+            }
+        }
+
+        this.lastSeed = new BoardSeed(width, height, bombCount, seed);
+        return new SparseBoardModel(width, height, bombs);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardSeed getLastSeed() {
+        return this.lastSeed;
+    }
+
+    /**
+     * Merge sorted distinct bombs with sorted newly drawn ones, dropping duplicates.
+     *
+     * @param bombs array with sorted distinct bombs at the start and sorted new bombs after them.
+     * @param distinctCount count of distinct bombs at the start of array.
+     * @param merged array merged bombs are written to. It must have the same length.
+     * @return count of distinct merged bombs.
+     */
+    private static int merge(final long[] bombs, final int distinctCount, final long[] merged) {
+        int left = 0;
+        int right = distinctCount;
+        int size = 0;
+        while (left < distinctCount || right < bombs.length) {
+            final long bomb = right == bombs.length || (left < distinctCount && bombs[left] <= bombs[right]) ?
+                    bombs[left++] : bombs[right++];
+            if (size == 0 || merged[size - 1] != bomb) {
+                merged[size++] = bomb;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,202 @@
+package ru.lightstar.sapper;
+
+import java.util.Arrays;
+
+/**
+ * Board keeping only sorted indexes of cells with bombs, for boards with low bomb density.
+ * Nearest bombs counts aren't stored, they are counted with binary search when cell is asked for.
+ * User's suggests are kept in sparse bitmaps, so memory grows with bomb count and explored area,
+ * not with board size.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SparseBoardModel extends AbstractBoardModel {
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Sorted indexes of cells with bombs, row by row.
+     */
+    private final long[] bombs;
+
+    /**
+     * Cells suggested to be empty.
+     */
+    private final SparseBitSet emptySuggests;
+
+    /**
+     * Cells suggested to have bomb.
+     */
+    private final SparseBitSet bombSuggests;
+
+    /**
+     * Constructs <code>SparseBoardModel</code> object with all cells hidden.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param bombs strictly increasing indexes of cells with bombs, row by row. Array is not copied.
+     */
+    public SparseBoardModel(final int width, final int height, final long[] bombs) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be greater than zero");
+        }
+
+        for (int i = 0; i < bombs.length; i++) {
+            if (bombs[i] < 0 || bombs[i] >= (long) width * height || (i > 0 && bombs[i] <= bombs[i - 1])) {
+                throw new IllegalArgumentException("Bomb indexes must be increasing and lie on board");
+            }
+        }
+
+        this.width = width;
+        this.height = height;
+        this.bombs = bombs;
+        this.emptySuggests = new SparseBitSet();
+        this.bombSuggests = new SparseBitSet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Bomb getBomb(final int x, final int y) {
+        return Arrays.binarySearch(this.bombs, this.getIndex(x, y)) >= 0 ? Bomb.BOMB : Bomb.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Counted with one binary search per row.
+     */
+    @Override
+    public int getNearestBombCount(final int x, final int y) {
+        final int fromX = Math.max(x - 1, 0);
+        final int fromY = Math.max(y - 1, 0);
+        final int count = this.countBombs(fromX, fromY, Math.min(x + 1, this.width - 1) - fromX + 1,
+                Math.min(y + 1, this.height - 1) - fromY + 1);
+        return this.getBomb(x, y) != Bomb.NONE ? count - 1 : count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Suggest getSuggest(final int x, final int y) {
+        final long index = this.getIndex(x, y);
+        if (this.emptySuggests.get(index)) {
+            return Suggest.EMPTY;
+        }
+        return this.bombSuggests.get(index) ? Suggest.BOMB : Suggest.NONE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSuggest(final int x, final int y, final Suggest suggest) {
+        final long index = this.getIndex(x, y);
+        this.emptySuggests.clear(index);
+        this.bombSuggests.clear(index);
+        if (suggest == Suggest.EMPTY) {
+            this.emptySuggests.set(index);
+        } else if (suggest == Suggest.BOMB) {
+            this.bombSuggests.set(index);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasSuggests() {
+        return this.emptySuggests.cardinality() > 0 || this.bombSuggests.cardinality() > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getBombCount() {
+        return this.bombs.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Bombs of every row are counted with binary search.
+     */
+    @Override
+    public int countBombs(final int x, final int y, final int width, final int height) {
+        int count = 0;
+        for (int cellY = y; cellY < y + height; cellY++) {
+            final long rowStart = this.getIndex(x, cellY);
+            count += this.findBomb(rowStart + width) - this.findBomb(rowStart);
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Opened cells are counted from bitmap if whole board is asked for.
+     */
+    @Override
+    public int countSuggests(final int x, final int y, final int width, final int height, final Suggest suggest) {
+        if (x == 0 && y == 0 && width == this.width && height == this.height && suggest != Suggest.NONE) {
+            return (int) (suggest == Suggest.EMPTY ? this.emptySuggests : this.bombSuggests).cardinality();
+        }
+        return super.countSuggests(x, y, width, height, suggest);
+    }
+
+    /**
+     * Get count of bitmap pages allocated for suggests.
+     *
+     * @return count of pages.
+     */
+    public int getSuggestPageCount() {
+        return this.emptySuggests.getPageCount() + this.bombSuggests.getPageCount();
+    }
+
+    /**
+     * Find position of first bomb with index not less than given one.
+     *
+     * @param index cell's index.
+     * @return position in bombs array.
+     */
+    private int findBomb(final long index) {
+        final int position = Arrays.binarySearch(this.bombs, index);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * Get index of cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return index of cell.
+     */
+    private long getIndex(final int x, final int y) {
+        return (long) y * this.width + x;
+    }
+}
@@ -0,0 +1,47 @@
+package ru.lightstar.sapper;
+
+/**
+ * Result of user's suggest enumeration.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public enum SuggestResult {
+    OK("Suggest is made"),
+    GAME_OVER("Game is already over"),
+    X_OUT_OF_BOUNDS("Provided 'x' parameter is out of bounds"),
+    Y_OUT_OF_BOUNDS("Provided 'y' parameter is out of bounds"),
+    ALREADY_OPENED("Cell already opened");
+
+    /**
+     * Message describing result.
+     */
+    private final String message;
+
+    /**
+     * Constructs <code>SuggestResult</code> object.
+     *
+     * @param message message describing result.
+     */
+    SuggestResult(final String message) {
+        this.message = message;
+    }
+
+    /**
+     * Get message describing result.
+     *
+     * @return message.
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Check if suggest is made.
+     *
+     * @return <code>true</code> if suggest is made.
+     */
+    public boolean isOk() {
+        return this == OK;
+    }
+}
@@ -0,0 +1,254 @@
+package ru.lightstar.sapper;
+
+import java.util.Arrays;
+
+/**
+ * Connected regions of cells without bombs and with zero nearest bombs count, labelled once after generation.
+ * For every region it keeps list of cells opened together with it: region's cells and its numbered border.
+ * So opening of zero cell becomes one bulk operation instead of flood fill, and region count
+ * is the board's opening count.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ZeroRegions {
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Region number of every cell, row by row, or zero for cells outside of regions.
+     */
+    private final int[] labels;
+
+    /**
+     * Start of every region's cells in <code>cells</code> array. Regions are numbered from one.
+     */
+    private final int[] starts;
+
+    /**
+     * Indexes of cells opened with every region, region by region.
+     */
+    private final int[] cells;
+
+    /**
+     * Constructs <code>ZeroRegions</code> object.
+     *
+     * @param width board width.
+     * @param labels region number of every cell.
+     * @param starts start of every region's cells.
+     * @param cells indexes of cells opened with every region.
+     */
+    private ZeroRegions(final int width, final int[] labels, final int[] starts, final int[] cells) {
+        this.width = width;
+        this.labels = labels;
+        this.starts = starts;
+        this.cells = cells;
+    }
+
+    /**
+     * Label zero regions of board with union-find in one raster pass, then collect cells of every region.
+     * Union-find parents are turned into labels in place, and cells of regions are counted before they are
+     * collected, so labelling takes four bytes per cell plus exact list of opened cells.
+     *
+     * @param model board model. It must have no more than <code>Integer.MAX_VALUE</code> cells.
+     * @return labelled regions.
+     */
+    public static ZeroRegions label(final BoardModel model) {
+        final int width = model.getWidth();
+        final int height = model.getHeight();
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too big board");
+        }
+
+        final int[] labels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int index = y * width + x;
+                if (!isZero(model, x, y)) {
+                    labels[index] = -1;
+                    continue;
+                }
+
+                labels[index] = index;
+                if (x > 0) {
+                    union(labels, index, index - 1);
+                }
+                if (y > 0) {
+                    for (int nearestX = Math.max(x - 1, 0); nearestX <= Math.min(x + 1, width - 1); nearestX++) {
+                        union(labels, index, index - width + nearestX - x);
+                    }
+                }
+            }
+        }
+
+        // Parent is never bigger than cell itself, so parents are already replaced by labels when cell is reached.
+        int regionCount = 0;
+        for (int index = 0; index < labels.length; index++) {
+            if (labels[index] < 0) {
+                labels[index] = 0;
+            } else if (labels[index] == index) {
+                labels[index] = ++regionCount;
+            } else {
+                labels[index] = labels[labels[index]];
+            }
+        }
+
+        final int[] starts = new int[regionCount + 2];
+        collectOpenCells(labels, width, height, starts, null);
+        for (int region = 1; region <= regionCount + 1; region++) {
+            starts[region] += starts[region - 1];
+        }
+        final int[] cells = new int[starts[regionCount + 1]];
+        collectOpenCells(labels, width, height, Arrays.copyOf(starts, starts.length), cells);
+
+        return new ZeroRegions(width, labels, starts, cells);
+    }
+
+    /**
+     * Walk cells opened with every region: zero cells of region and cells touching them.
+     * Cell touching several zero cells of the same region is taken once.
+     *
+     * @param labels region number of every cell.
+     * @param width board width.
+     * @param height board height.
+     * @param positions if cells aren't given, count of cells is added for every region at its number plus one,
+     *                  otherwise next position in <code>cells</code> for every region, moved on every taken cell.
+     * @param cells array where cells' indexes are put, or null to count them only.
+     */
+    private static void collectOpenCells(final int[] labels, final int width, final int height,
+                                         final int[] positions, final int[] cells) {
+        final int[] regions = new int[9];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int index = y * width + x;
+                int count = 0;
+                for (int nearestY = Math.max(y - 1, 0); nearestY <= Math.min(y + 1, height - 1); nearestY++) {
+                    for (int nearestX = Math.max(x - 1, 0); nearestX <= Math.min(x + 1, width - 1); nearestX++) {
+                        final int region = labels[nearestY * width + nearestX];
+                        if (region > 0 && !contains(regions, count, region)) {
+                            regions[count++] = region;
+                        }
+                    }
+                }
+
+                for (int number = 0; number < count; number++) {
+                    if (cells == null) {
+                        positions[regions[number] + 1]++;
+                    } else {
+                        cells[positions[regions[number]]++] = index;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Check if value is among first values of array.
+     *
+     * @param values array of values.
+     * @param count count of checked values.
+     * @param value searched value.
+     * @return <code>true</code> if value is found.
+     */
+    private static boolean contains(final int[] values, final int count, final int value) {
+        for (int number = 0; number < count; number++) {
+            if (values[number] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get number of region containing cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return region's number starting from one, or zero if cell isn't in any region.
+     */
+    public int getRegion(final int x, final int y) {
+        return this.labels[y * this.width + x];
+    }
+
+    /**
+     * Get count of regions, that is count of openings on board.
+     *
+     * @return count of regions.
+     */
+    public int getRegionCount() {
+        return this.starts.length - 2;
+    }
+
+    /**
+     * Get count of cells opened together with region, including its border.
+     *
+     * @param region region's number.
+     * @return count of opened cells.
+     */
+    public int getOpenCount(final int region) {
+        return this.starts[region + 1] - this.starts[region];
+    }
+
+    /**
+     * Get index of cell opened together with region.
+     *
+     * @param region region's number.
+     * @param number cell's number in region, less than {@link #getOpenCount(int)}.
+     * @return cell's index, row by row.
+     */
+    public int getOpenCell(final int region, final int number) {
+        return this.cells[this.starts[region] + number];
+    }
+
+    /**
+     * Check if cell has no bomb and zero nearest bombs count.
+     *
+     * @param model board model.
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return <code>true</code> if cell is zero cell.
+     */
+    private static boolean isZero(final BoardModel model, final int x, final int y) {
+        return model.getBomb(x, y) == Bomb.NONE && model.getNearestBombCount(x, y) == 0;
+    }
+
+    /**
+     * Join sets of two cells if the second one is zero cell. Smaller index becomes root.
+     *
+     * @param parents parent of every cell, or -1 for not zero cells.
+     * @param index first cell's index.
+     * @param other second cell's index.
+     */
+    private static void union(final int[] parents, final int index, final int other) {
+        if (parents[other] < 0) {
+            return;
+        }
+
+        final int root = find(parents, index);
+        final int otherRoot = find(parents, other);
+        if (root < otherRoot) {
+            parents[otherRoot] = root;
+        } else if (otherRoot < root) {
+            parents[root] = otherRoot;
+        }
+    }
+
+    /**
+     * Find root of cell's set, halving path on the way.
+     *
+     * @param parents parent of every cell.
+     * @param index cell's index.
+     * @return root's index.
+     */
+    private static int find(final int[] parents, final int index) {
+        int current = index;
+        while (parents[current] != current) {
+            parents[current] = parents[parents[current]];
+            current = parents[current];
+        }
+        return current;
+    }
+}
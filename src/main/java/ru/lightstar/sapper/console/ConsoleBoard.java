@@ -1,12 +1,17 @@
 package ru.lightstar.sapper.console;
 
 import ru.lightstar.sapper.Board;
+import ru.lightstar.sapper.BoardModel;
+import ru.lightstar.sapper.BoardSnapshot;
 import ru.lightstar.sapper.Bomb;
-import ru.lightstar.sapper.Cell;
+import ru.lightstar.sapper.Logic;
+import ru.lightstar.sapper.Suggest;
 import ru.lightstar.sapper.io.Output;
 
 /**
  * Implementation of <code>Board</code> interface used to draw board on console.
+ * If game logic publishing snapshots is given, board is drawn from latest snapshot,
+ * so it is consistent even if logic runs on another thread.
  *
  * @author LightStar
  * @since 0.0.1
@@ -19,9 +24,19 @@ public class ConsoleBoard implements Board {
     private final Output output;
 
     /**
-     * Board cells.
+     * Game logic publishing snapshots, or null if board is drawn from board model.
      */
-    private Cell[][] cells;
+    private final Logic logic;
+
+    /**
+     * Board model.
+     */
+    private BoardModel model;
+
+    /**
+     * Board model or its snapshot drawn by current redraw.
+     */
+    private BoardModel drawnModel;
 
     /**
      * Constructs <code>ConsoleBoard</code> object.
@@ -29,15 +44,26 @@ public class ConsoleBoard implements Board {
      * @param output <code>Output</code> object for this board.
      */
     public ConsoleBoard(final Output output) {
+        this(output, null);
+    }
+
+    /**
+     * Constructs <code>ConsoleBoard</code> object drawn from snapshots of game logic.
+     *
+     * @param output <code>Output</code> object for this board.
+     * @param logic game logic publishing snapshots.
+     */
+    public ConsoleBoard(final Output output, final Logic logic) {
         this.output = output;
+        this.logic = logic;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void setBoard(final Cell[][] cells) {
-        this.cells = cells;
+    public void setBoard(final BoardModel model) {
+        this.model = model;
     }
 
     /**
@@ -72,12 +98,15 @@ public class ConsoleBoard implements Board {
      * @param isUnfold if <code>true</code> then real cell state is printed, otherwise only suggested state is printed.
      */
     private void redraw(final boolean isUnfold) {
-        for (final Cell[] row : this.cells) {
-            for (final Cell cell : row) {
+        final BoardSnapshot snapshot = this.logic != null ? this.logic.getSnapshot() : null;
+        this.drawnModel = snapshot != null && snapshot.isTakenFrom(this.model) ? snapshot : this.model;
+
+        for (int y = 0; y < this.drawnModel.getHeight(); y++) {
+            for (int x = 0; x < this.drawnModel.getWidth(); x++) {
                 if (isUnfold) {
-                    this.drawCellUnfold(cell);
+                    this.drawCellUnfold(x, y);
                 } else {
-                    this.drawCellSuggest(cell);
+                    this.drawCellSuggest(x, y);
                 }
             }
             this.output.println("");
@@ -88,18 +117,19 @@ public class ConsoleBoard implements Board {
     /**
      * Draw cell reflecting user suggest about it.
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    private void drawCellSuggest(final Cell cell) {
-        switch(cell.getSuggest()) {
+    private void drawCellSuggest(final int x, final int y) {
+        switch(this.drawnModel.getSuggest(x, y)) {
             case BOMB:
-                this.drawSuggestBomb(cell);
+                this.drawSuggestBomb(x, y);
                break;
             case EMPTY:
-                this.drawEmpty(cell);
+                this.drawEmpty(x, y);
                 break;
             case NONE:
-                this.drawHidden(cell);
+                this.drawHidden(x, y);
                 break;
         }
     }
@@ -107,53 +137,98 @@ public class ConsoleBoard implements Board {
     /**
      * Draw cell with its real state (when game is over).
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    private void drawCellUnfold(final Cell cell) {
-        if (cell.getBomb() != Bomb.NONE) {
-            this.drawBomb(cell);
+    private void drawCellUnfold(final int x, final int y) {
+        if (this.drawnModel.getBomb(x, y) != Bomb.NONE) {
+            this.drawBomb(x, y);
         } else {
-            this.drawEmpty(cell);
+            this.drawEmpty(x, y);
         }
     }
 
     /**
      * Draw cell with bomb user suggest.
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    protected void drawSuggestBomb(final Cell cell) {
+    protected void drawSuggestBomb(final int x, final int y) {
         this.output.print("[?] ");
     }
 
     /**
      * Draw empty cell.
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    protected void drawEmpty(final Cell cell) {
-        if (cell.getNearestBombCount() == 0) {
+    protected void drawEmpty(final int x, final int y) {
+        final int nearestBombCount = this.drawnModel.getNearestBombCount(x, y);
+        if (nearestBombCount == 0) {
             this.output.print("[ ] ");
         } else {
-            this.output.print(String.format("[%d] ", cell.getNearestBombCount()));
+            this.output.print(String.format("[%d] ", nearestBombCount));
         }
     }
 
     /**
      * Draw cell with bomb.
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    protected void drawBomb(final Cell cell) {
+    protected void drawBomb(final int x, final int y) {
         this.output.print("[*] ");
     }
 
     /**
      * Draw cell which contents is hidden.
      *
-     * @param cell displayed cell.
+     * @param x displayed cell's 'x' coordinate.
+     * @param y displayed cell's 'y' coordinate.
      */
-    protected void drawHidden(final Cell cell) {
+    protected void drawHidden(final int x, final int y) {
         this.output.print("[X] ");
     }
+
+    /**
+     * Get bomb type in cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return bomb type.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Bomb getBomb(final int x, final int y) {
+        return this.model.getBomb(x, y);
+    }
+
+    /**
+     * Get nearest bombs count of cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return nearest bombs count.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected int getNearestBombCount(final int x, final int y) {
+        return this.model.getNearestBombCount(x, y);
+    }
+
+    /**
+     * Get current user suggest for cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return user's suggest.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Suggest getSuggest(final int x, final int y) {
+        return this.model.getSuggest(x, y);
+    }
 }
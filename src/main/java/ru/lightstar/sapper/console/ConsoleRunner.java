@@ -79,8 +79,10 @@ public class ConsoleRunner {
             throw new IllegalArgumentException("Wrong board generator class. It must have default constructor.");
         }
 
-        final ConsoleBoard board = new ConsoleBoard(this.output);
-        this.logic = new BaseLogic();
+        final BaseLogic logic = new BaseLogic();
+        logic.setSnapshotPublished(true);
+        this.logic = logic;
+        final ConsoleBoard board = new ConsoleBoard(this.output, logic);
         this.controller = new BaseController(this.logic, board, generator);
         this.controller.init(width, height, bombCount);
     }
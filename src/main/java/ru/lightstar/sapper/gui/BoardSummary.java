@@ -0,0 +1,148 @@
+package ru.lightstar.sapper.gui;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Downsampled image of board: every pixel is average color of square block of cells.
+ * It is built once and then only blocks with changed cells are recomputed,
+ * so zoomed out board and its overview are drawn without visiting every cell.
+ * Big blocks are averaged over evenly spaced sample cells, so summary of huge board costs no more
+ * than summary of board with <code>MAX_BLOCK_SAMPLES</code> cells per block side.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BoardSummary {
+
+    /**
+     * Maximum count of sample cells along block side.
+     */
+    public static final int MAX_BLOCK_SAMPLES = 4;
+
+    /**
+     * Board width.
+     */
+    private final int width;
+
+    /**
+     * Board height.
+     */
+    private final int height;
+
+    /**
+     * Size of block side in cells.
+     */
+    private final int blockCells;
+
+    /**
+     * Count of sample cells along block side.
+     */
+    private final int blockSamples;
+
+    /**
+     * Function giving RGB color of cell by its coordinates.
+     */
+    private final IntBinaryOperator cellColor;
+
+    /**
+     * Summary image, one pixel per block.
+     */
+    private final BufferedImage image;
+
+    /**
+     * Pixels of summary image, row by row.
+     */
+    private final int[] pixels;
+
+    /**
+     * Constructs <code>BoardSummary</code> object and computes all blocks.
+     *
+     * @param width board width.
+     * @param height board height.
+     * @param maxSize maximum size of summary image's side. Block size is chosen to fit it.
+     * @param cellColor function giving RGB color of cell by its coordinates.
+     */
+    public BoardSummary(final int width, final int height, final int maxSize, final IntBinaryOperator cellColor) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Summary size must be greater than zero");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.blockCells = (int) Math.max(1, ((long) Math.max(width, height) + maxSize - 1) / maxSize);
+        this.blockSamples = Math.min(this.blockCells, MAX_BLOCK_SAMPLES);
+        this.cellColor = cellColor;
+        this.image = new BufferedImage((int) (((long) width + this.blockCells - 1) / this.blockCells),
+                (int) (((long) height + this.blockCells - 1) / this.blockCells), BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+
+        for (int blockY = 0; blockY < this.image.getHeight(); blockY++) {
+            for (int blockX = 0; blockX < this.image.getWidth(); blockX++) {
+                this.updateBlock(blockX, blockY);
+            }
+        }
+    }
+
+    /**
+     * Recompute color of block containing given cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     */
+    public void updateCell(final int x, final int y) {
+        this.updateBlock(x / this.blockCells, y / this.blockCells);
+    }
+
+    /**
+     * Recompute color of block. Only sample cells of block are visited if it is bigger than sample grid.
+     *
+     * @param blockX block's 'x' coordinate in blocks.
+     * @param blockY block's 'y' coordinate in blocks.
+     */
+    public void updateBlock(final int blockX, final int blockY) {
+        final int fromX = blockX * this.blockCells;
+        final int fromY = blockY * this.blockCells;
+        final int blockWidth = Math.min(this.blockCells, this.width - fromX);
+        final int blockHeight = Math.min(this.blockCells, this.height - fromY);
+        final int samplesX = Math.min(this.blockSamples, blockWidth);
+        final int samplesY = Math.min(this.blockSamples, blockHeight);
+
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int sampleY = 0; sampleY < samplesY; sampleY++) {
+            final int y = fromY + (int) ((long) sampleY * blockHeight / samplesY);
+            for (int sampleX = 0; sampleX < samplesX; sampleX++) {
+                final int x = fromX + (int) ((long) sampleX * blockWidth / samplesX);
+                final int color = this.cellColor.applyAsInt(x, y);
+                red += (color >> 16) & 0xff;
+                green += (color >> 8) & 0xff;
+                blue += color & 0xff;
+            }
+        }
+
+        final long count = (long) samplesX * samplesY;
+        this.pixels[blockY * this.image.getWidth() + blockX] =
+                (int) (red / count) << 16 | (int) (green / count) << 8 | (int) (blue / count);
+    }
+
+    /**
+     * Get size of block side in cells.
+     *
+     * @return size of block side.
+     */
+    public int getBlockCells() {
+        return this.blockCells;
+    }
+
+    /**
+     * Get summary image, one pixel per block.
+     *
+     * @return summary image.
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+}
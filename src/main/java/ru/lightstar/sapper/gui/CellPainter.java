@@ -0,0 +1,409 @@
+package ru.lightstar.sapper.gui;
+
+import ru.lightstar.sapper.BoardModel;
+import ru.lightstar.sapper.Bomb;
+import ru.lightstar.sapper.Suggest;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Painter of board cells shared by board views. Every distinct cell appearance is a sprite,
+ * rendered once into image for current cell size and screen scale.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class CellPainter {
+
+    /**
+     * Sprite of opened cell without nearest bombs. Sprites from 1 to 8 show nearest bomb counts.
+     */
+    static final int SPRITE_EMPTY = 0;
+
+    /**
+     * Sprite of hidden cell.
+     */
+    static final int SPRITE_HIDDEN = 9;
+
+    /**
+     * Sprite of cell with bomb user suggest.
+     */
+    static final int SPRITE_SUGGEST_BOMB = 10;
+
+    /**
+     * Sprite of bomb.
+     */
+    static final int SPRITE_BOMB = 11;
+
+    /**
+     * Sprite of blown bomb.
+     */
+    static final int SPRITE_BLOWN_BOMB = 12;
+
+    /**
+     * Sprite of cell wrongly suggested as bomb.
+     */
+    static final int SPRITE_MISTAKE = 13;
+
+    /**
+     * Count of sprites.
+     */
+    static final int SPRITE_COUNT = 14;
+
+    /**
+     * Color for grid drawing.
+     */
+    private final Color gridColor;
+
+    /**
+     * Stroke for grid drawing.
+     */
+    private final Stroke gridStroke;
+
+    /**
+     * Color for drawing cell in 'hidden' state.
+     */
+    private final Color hiddenColor;
+
+    /**
+     * Color for filling small hidden cell.
+     */
+    private final Color hiddenFillColor;
+
+    /**
+     * Stroke for drawing cell in 'hidden' state.
+     */
+    private final Stroke hiddenStroke;
+
+    /**
+     * Color for drawing cell with wrong suggest.
+     */
+    private final Color mistakeColor;
+
+    /**
+     * Stroke for drawing cell with wrong suggest.
+     */
+    private final Stroke mistakeStroke;
+
+    /**
+     * Color for drawing suggested bomb on cell.
+     */
+    private final Color suggestBombColor;
+
+    /**
+     * Stroke for drawing suggested bomb on cell.
+     */
+    private final Stroke suggestBombStroke;
+
+    /**
+     * Color for drawing bomb.
+     */
+    private final Color bombColor;
+
+    /**
+     * Color for drawing blown bomb.
+     */
+    private final Color blownBombColor;
+
+    /**
+     * Stroke for drawing bomb.
+     */
+    private final Stroke bombStroke;
+
+    /**
+     * Map of colors for nearest bomb counts.
+     */
+    private final Map<Integer, Color> nearestBombCountColors;
+
+    /**
+     * Font for nearest bomb counts.
+     */
+    private final Font nearestBombFont;
+
+    /**
+     * Pre-rendered images of every cell appearance, or null if they aren't rendered yet.
+     */
+    private Image[] sprites;
+
+    /**
+     * Scale sprites are rendered for: screen scale multiplied by cell's zoom.
+     */
+    private double spriteScale;
+
+
+    /**
+     * Constructs <code>CellPainter</code> object.
+     */
+    public CellPainter() {
+        this.gridColor = Color.decode(GUIParams.CELL_GRID_COLOR);
+        this.gridStroke = new BasicStroke(GUIParams.CELL_GRID_STROKE);
+
+        this.hiddenColor = Color.decode(GUIParams.CELL_HIDDEN_COLOR);
+        this.hiddenStroke = new BasicStroke(GUIParams.CELL_HIDDEN_STROKE);
+        this.hiddenFillColor = Color.decode(GUIParams.CELL_HIDDEN_FILL_COLOR);
+
+        this.mistakeColor = Color.decode(GUIParams.CELL_MISTAKE_COLOR);
+        this.mistakeStroke = new BasicStroke(GUIParams.CELL_MISTAKE_STROKE);
+
+        this.suggestBombColor = Color.decode(GUIParams.CELL_SUGGEST_BOMB_COLOR);
+        this.suggestBombStroke = new BasicStroke(GUIParams.CELL_SUGGEST_BOMB_STROKE);
+
+        this.bombColor = Color.decode(GUIParams.CELL_BOMB_COLOR);
+        this.blownBombColor = Color.decode(GUIParams.CELL_BLOWN_BOMB_COLOR);
+        this.bombStroke = new BasicStroke(GUIParams.CELL_BOMB_STROKE);
+
+        this.nearestBombCountColors = new HashMap<>();
+        this.nearestBombCountColors.put(1, Color.decode(GUIParams.CELL_COUNT_COLOR_1));
+        this.nearestBombCountColors.put(2, Color.decode(GUIParams.CELL_COUNT_COLOR_2));
+        this.nearestBombCountColors.put(3, Color.decode(GUIParams.CELL_COUNT_COLOR_3));
+        this.nearestBombCountColors.put(4, Color.decode(GUIParams.CELL_COUNT_COLOR_4));
+        this.nearestBombCountColors.put(5, Color.decode(GUIParams.CELL_COUNT_COLOR_5));
+        this.nearestBombCountColors.put(6, Color.decode(GUIParams.CELL_COUNT_COLOR_6));
+        this.nearestBombCountColors.put(7, Color.decode(GUIParams.CELL_COUNT_COLOR_7));
+        this.nearestBombCountColors.put(8, Color.decode(GUIParams.CELL_COUNT_COLOR_8));
+
+
+        this.nearestBombFont =  new Font(GUIParams.CELL_FONT_NAME, Font.BOLD, GUIParams.CELL_FONT_SIZE);
+    }
+
+    /**
+     * Get sprite showing cell's current appearance.
+     *
+     * @param model board model.
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @param isUnfold <code>true</code> if board is drawn in its unfolded state.
+     * @return sprite's number.
+     */
+    public static int getSprite(final BoardModel model, final int x, final int y, final boolean isUnfold) {
+        final Suggest suggest = model.getSuggest(x, y);
+        if (isUnfold) {
+            if (model.getBomb(x, y) != Bomb.NONE) {
+                return suggest == Suggest.EMPTY ? SPRITE_BLOWN_BOMB : SPRITE_BOMB;
+            }
+            return suggest == Suggest.BOMB ? SPRITE_MISTAKE : model.getNearestBombCount(x, y);
+        }
+
+        switch (suggest) {
+            case BOMB:
+                return SPRITE_SUGGEST_BOMB;
+            case EMPTY:
+                return model.getNearestBombCount(x, y);
+            default:
+                return SPRITE_HIDDEN;
+        }
+    }
+
+    /**
+     * Get sprite images for given cell size and screen scale, rendering them if size or scale is changed.
+     *
+     * @param configuration graphics configuration images are compatible with, or null for default images.
+     * @param cellSize cell's size in pixels.
+     * @param scale screen scale.
+     * @return sprite images.
+     */
+    public Image[] getSprites(final GraphicsConfiguration configuration, final int cellSize, final double scale) {
+        final double spriteScale = scale * cellSize / GUIParams.CELL_SIZE;
+        if (this.sprites == null || this.spriteScale != spriteScale) {
+            final int size = (int) Math.ceil(GUIParams.CELL_SIZE * spriteScale);
+            final Image[] sprites = new Image[SPRITE_COUNT];
+            for (int sprite = 0; sprite < SPRITE_COUNT; sprite++) {
+                final BufferedImage image = configuration != null ?
+                        configuration.createCompatibleImage(size, size, Transparency.TRANSLUCENT) :
+                        new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+                final Graphics2D graphics = image.createGraphics();
+                this.setGraphicsParams(graphics);
+                graphics.scale(spriteScale, spriteScale);
+                this.drawSprite(graphics, sprite);
+                graphics.dispose();
+                sprites[sprite] = image;
+            }
+            this.sprites = sprites;
+            this.spriteScale = spriteScale;
+        }
+        return this.sprites;
+    }
+
+    /**
+     * Get plain color showing cell's appearance when it is too small for glyphs.
+     *
+     * @param sprite cell's sprite number.
+     * @param background background color used for opened cells.
+     * @return RGB color.
+     */
+    public int getFlatColor(final int sprite, final Color background) {
+        switch (sprite) {
+            case SPRITE_EMPTY:
+                return background.getRGB();
+            case SPRITE_HIDDEN:
+                return this.hiddenFillColor.getRGB();
+            case SPRITE_SUGGEST_BOMB:
+                return this.suggestBombColor.getRGB();
+            case SPRITE_BOMB:
+                return this.bombColor.getRGB();
+            case SPRITE_BLOWN_BOMB:
+                return this.blownBombColor.getRGB();
+            case SPRITE_MISTAKE:
+                return this.mistakeColor.getRGB();
+            default:
+                return this.nearestBombCountColors.get(sprite).getRGB();
+        }
+    }
+
+    /**
+     * Draw grid of given part of board.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     * @param fromX 'x' coordinate of first drawn cell.
+     * @param fromY 'y' coordinate of first drawn cell.
+     * @param toX 'x' coordinate after last drawn cell.
+     * @param toY 'y' coordinate after last drawn cell.
+     * @param cellSize cell's size in pixels.
+     */
+    public void drawGrid(final Graphics2D graphics, final int fromX, final int fromY, final int toX, final int toY,
+                         final int cellSize) {
+        graphics.setColor(this.gridColor);
+        graphics.setStroke(this.gridStroke);
+        for (int y = fromY; y <= toY; y++) {
+            graphics.drawLine(fromX * cellSize, y * cellSize, toX * cellSize, y * cellSize);
+        }
+        for (int x = fromX; x <= toX; x++) {
+            graphics.drawLine(x * cellSize, fromY * cellSize, x * cellSize, toY * cellSize);
+        }
+    }
+
+    /**
+     * Draw sprite in cell with top left corner at origin.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     * @param sprite sprite's number.
+     */
+    private void drawSprite(final Graphics graphics, final int sprite) {
+        switch (sprite) {
+            case SPRITE_HIDDEN:
+                this.drawHidden(graphics);
+                break;
+            case SPRITE_SUGGEST_BOMB:
+                this.drawSuggestBomb(graphics);
+                break;
+            case SPRITE_BOMB:
+                this.drawBomb(graphics, this.bombColor);
+                break;
+            case SPRITE_BLOWN_BOMB:
+                this.drawBomb(graphics, this.blownBombColor);
+                break;
+            case SPRITE_MISTAKE:
+                this.drawBomb(graphics, this.bombColor);
+                this.drawMistake(graphics);
+                break;
+            default:
+                if (sprite > 0) {
+                    this.drawNearestBombCount(graphics, sprite);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Draw cell with bomb user suggest.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     */
+    protected void drawSuggestBomb(final Graphics graphics) {
+        final int size = GUIParams.CELL_SIZE;
+
+        graphics.setColor(this.suggestBombColor);
+        ((Graphics2D) graphics).setStroke(this.suggestBombStroke);
+        graphics.drawLine(size / 4, 2 * size / 5, 2 * size / 5, size - 2 * size / 5);
+        graphics.drawLine(3 * size / 4, size / 5, 2 * size / 5, size - 2 * size / 5);
+    }
+
+    /**
+     * Draw cell with bomb.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     * @param color bomb's color.
+     */
+    protected void drawBomb(final Graphics graphics, final Color color) {
+        final int size = GUIParams.CELL_SIZE;
+        final int bombSize = GUIParams.CELL_BOMB_SIZE;
+
+        graphics.setColor(color);
+        ((Graphics2D) graphics).setStroke(this.bombStroke);
+        graphics.fillArc((size - bombSize) / 2, (size - bombSize) / 2, bombSize, bombSize, 0, 360);
+    }
+
+    /**
+     * Draw cell which contents is hidden.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     */
+    protected void drawHidden(final Graphics graphics) {
+        final int size = GUIParams.CELL_SIZE;
+        final int padding = GUIParams.CELL_HIDDEN_PADDING;
+
+        graphics.setColor(this.hiddenColor);
+        ((Graphics2D) graphics).setStroke(this.hiddenStroke);
+        graphics.drawLine(padding, padding, size - padding, size - padding);
+        graphics.drawLine(size - padding, padding, padding, size - padding);
+    }
+
+    /**
+     * Draw cell with wrong suggest.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     */
+    protected void drawMistake(final Graphics graphics) {
+        final int size = GUIParams.CELL_SIZE;
+        final int padding = GUIParams.CELL_MISTAKE_PADDING;
+
+        graphics.setColor(this.mistakeColor);
+        ((Graphics2D) graphics).setStroke(this.mistakeStroke);
+        graphics.drawLine(padding, padding, size - padding, size - padding);
+        graphics.drawLine(size - padding, padding, padding, size - padding);
+    }
+
+    /**
+     * Draw nearest bomb count in cell's center.
+     * Using technique from http://stackoverflow.com/questions/23729944/java-how-to-visually-center-a-specific-string-not-just-a-font-in-a-rectangle
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     * @param count what number to draw.
+     */
+    private void drawNearestBombCount(final Graphics graphics, final int count) {
+        graphics.setColor(this.nearestBombCountColors.get(count));
+        graphics.setFont(this.nearestBombFont);
+
+        final String countString = String.valueOf(count);
+        final FontRenderContext frc = ((Graphics2D) graphics).getFontRenderContext();
+        final GlyphVector gv = this.nearestBombFont.createGlyphVector(frc, countString);
+        final Rectangle2D box = gv.getVisualBounds();
+        final FontMetrics metrics = graphics.getFontMetrics();
+
+        final int pointX = (GUIParams.CELL_SIZE - metrics.stringWidth(countString)) / 2;
+        final int pointY = (int) (((GUIParams.CELL_SIZE - box.getHeight()) / 2) - box.getY());
+
+        graphics.drawString(countString, pointX, pointY);
+    }
+
+    /**
+     * Set global graphics properties (such as antialiasing).
+     *
+     * @param graphics <code>Graphics</code> object which properties are set.
+     */
+    public void setGraphicsParams(final Graphics2D graphics) {
+        graphics.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+
+        graphics.setRenderingHint(
+                RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.lightstar.sapper.gui;
+
+import ru.lightstar.sapper.Board;
+import ru.lightstar.sapper.BoardModel;
+
+import java.awt.EventQueue;
+
+/**
+ * Board which forwards every call to another board on event dispatch thread, keeping calls' order.
+ * It lets game logic run on its own thread while Swing board is touched only from event dispatch thread.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class EdtBoard implements Board {
+
+    /**
+     * Board receiving calls.
+     */
+    private final Board board;
+
+    /**
+     * Constructs <code>EdtBoard</code> object.
+     *
+     * @param board board receiving calls.
+     */
+    public EdtBoard(final Board board) {
+        this.board = board;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBoard(final BoardModel model) {
+        this.invoke(() -> this.board.setBoard(model));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawBoard() {
+        this.invoke(this.board::drawBoard);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawLose() {
+        this.invoke(this.board::drawLose);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawWin() {
+        this.invoke(this.board::drawWin);
+    }
+
+    /**
+     * Get board receiving calls.
+     *
+     * @return board receiving calls.
+     */
+    public Board getBoard() {
+        return this.board;
+    }
+
+    /**
+     * Queue action to run on event dispatch thread. It is queued even on event dispatch thread
+     * to keep order with earlier calls.
+     *
+     * @param action action to run.
+     */
+    private void invoke(final Runnable action) {
+        EventQueue.invokeLater(action);
+    }
+}
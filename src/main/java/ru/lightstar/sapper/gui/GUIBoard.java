@@ -1,100 +1,106 @@
 package ru.lightstar.sapper.gui;
 
-import ru.lightstar.sapper.Board;
+import ru.lightstar.sapper.BoardModel;
+import ru.lightstar.sapper.BoardSnapshot;
 import ru.lightstar.sapper.Bomb;
-import ru.lightstar.sapper.Cell;
+import ru.lightstar.sapper.ChangeSet;
+import ru.lightstar.sapper.ChunkedBoardModel;
+import ru.lightstar.sapper.Logic;
 import ru.lightstar.sapper.Suggest;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.font.FontRenderContext;
-import java.awt.font.GlyphVector;
-import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
-import java.util.Map;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
 
 /**
  * Game board GUI component.
+ * It listens to game logic and repaints only bounding rectangle of cells changed since last draw,
+ * and paints only cells intersecting the clip. Cells are drawn with sprites of <code>CellPainter</code>,
+ * so painting cell is one image blit.
+ * Board is meant to be placed into scroll pane, so only its visible part is painted whatever its size is.
+ * Board is rendered into fixed-size tiles kept in LRU cache. Tile is rendered again only when cell inside it
+ * is changed, so painting costs one image blit per visible tile.
+ * Board can be zoomed. Small cells are drawn as plain color squares without glyphs, and when cell is smaller
+ * than one pixel, board is drawn from its summary, downsampled image kept up to date incrementally.
+ * If game logic publishing snapshots is set, cells are painted from its latest snapshot,
+ * so painting never sees cells which logic is changing at the moment.
  *
  * @author LightStar
  * @since 0.0.1
  */
-public class GUIBoard extends JPanel implements Board {
+public class GUIBoard extends JPanel implements GUIView, Scrollable {
 
     /**
-     * Board cells.
+     * Name of property changed every time board's summary is changed.
      */
-    private Cell[][] cells;
+    public static final String SUMMARY_PROPERTY = "summary";
 
     /**
-     * Flag to draw board in its unfolded state.
-     */
-    private boolean isUnfold;
-
-    /**
-     * Color for grid drawing.
+     * Board model.
      */
-    private final Color gridColor;
+    private BoardModel model;
 
     /**
-     * Stroke for grid drawing.
+     * Game logic publishing snapshots, or null if cells are painted from board model.
      */
-    private final Stroke gridStroke;
+    private Logic logic;
 
     /**
-     * Color for drawing cell in 'hidden' state.
+     * Flag to draw board in its unfolded state.
      */
-    private final Color hiddenColor;
+    private boolean isUnfold;
 
     /**
-     * Stroke for drawing cell in 'hidden' state.
+     * Current zoom: cell's size in pixels. It is whole number if it isn't less than minimum cell size.
      */
-    private final Stroke hiddenStroke;
+    private double zoom;
 
     /**
-     * Color for drawing cell with wrong suggest.
+     * Cell's size in whole pixels, used when zoom isn't less than minimum cell size.
      */
-    private final Color mistakeColor;
+    private int cellSize;
 
     /**
-     * Stroke for drawing cell with wrong suggest.
+     * Size of tile's side in cells for current zoom.
      */
-    private final Stroke mistakeStroke;
+    private int tileCells;
 
     /**
-     * Color for drawing suggested bomb on cell.
+     * Summary of board, or null if it isn't computed yet.
      */
-    private final Color suggestBombColor;
+    private BoardSummary summary;
 
     /**
-     * Stroke for drawing suggested bomb on cell.
+     * Version of summary, increased every time it is changed.
      */
-    private final Stroke suggestBombStroke;
+    private int summaryVersion;
 
     /**
-     * Color for drawing bomb.
+     * Bounding rectangle of cells changed since last draw in pixels, or null if changes are unknown.
      */
-    private final Color bombColor;
+    private Rectangle dirty;
 
     /**
-     * Color for drawing blown bomb.
+     * Flag showing that whole board must be repainted on next draw.
      */
-    private final Color blownBombColor;
+    private boolean isAllDirty;
 
     /**
-     * Stroke for drawing bomb.
+     * Painter of cells.
      */
-    private final Stroke bombStroke;
+    private final CellPainter painter;
 
     /**
-     * Map of colors for nearest bomb counts.
+     * Rendered tiles of board.
      */
-    private final Map<Integer, Color> nearestBombCountColors;
+    private final TileCache tiles;
 
     /**
-     * Font for nearest bomb counts.
+     * Screen scale tiles are rendered for.
      */
-    private final Font nearestBombFont;
+    private double tileScale;
 
     /**
      * Constructs <code>GUIBoard</code> object.
@@ -102,33 +108,9 @@ public class GUIBoard extends JPanel implements Board {
     public GUIBoard() {
         super();
 
-        this.gridColor = Color.decode(GUIParams.CELL_GRID_COLOR);
-        this.gridStroke = new BasicStroke(GUIParams.CELL_GRID_STROKE);
-
-        this.hiddenColor = Color.decode(GUIParams.CELL_HIDDEN_COLOR);
-        this.hiddenStroke = new BasicStroke(GUIParams.CELL_HIDDEN_STROKE);
-
-        this.mistakeColor = Color.decode(GUIParams.CELL_MISTAKE_COLOR);
-        this.mistakeStroke = new BasicStroke(GUIParams.CELL_MISTAKE_STROKE);
-
-        this.suggestBombColor = Color.decode(GUIParams.CELL_SUGGEST_BOMB_COLOR);
-        this.suggestBombStroke = new BasicStroke(GUIParams.CELL_SUGGEST_BOMB_STROKE);
-
-        this.bombColor = Color.decode(GUIParams.CELL_BOMB_COLOR);
-        this.blownBombColor = Color.decode(GUIParams.CELL_BLOWN_BOMB_COLOR);
-        this.bombStroke = new BasicStroke(GUIParams.CELL_BOMB_STROKE);
-
-        this.nearestBombCountColors = new HashMap<>();
-        this.nearestBombCountColors.put(1, Color.decode(GUIParams.CELL_COUNT_COLOR_1));
-        this.nearestBombCountColors.put(2, Color.decode(GUIParams.CELL_COUNT_COLOR_2));
-        this.nearestBombCountColors.put(3, Color.decode(GUIParams.CELL_COUNT_COLOR_3));
-        this.nearestBombCountColors.put(4, Color.decode(GUIParams.CELL_COUNT_COLOR_4));
-        this.nearestBombCountColors.put(5, Color.decode(GUIParams.CELL_COUNT_COLOR_5));
-        this.nearestBombCountColors.put(6, Color.decode(GUIParams.CELL_COUNT_COLOR_6));
-        this.nearestBombCountColors.put(7, Color.decode(GUIParams.CELL_COUNT_COLOR_7));
-        this.nearestBombCountColors.put(8, Color.decode(GUIParams.CELL_COUNT_COLOR_8));
-
-        this.nearestBombFont =  new Font(GUIParams.CELL_FONT_NAME, Font.BOLD, GUIParams.CELL_FONT_SIZE);
+        this.painter = new CellPainter();
+        this.tiles = new TileCache(GUIParams.TILE_CACHE_SIZE);
+        this.setZoomValue(GUIParams.CELL_SIZE);
     }
 
     /**
@@ -138,241 +120,510 @@ public class GUIBoard extends JPanel implements Board {
     public void paint(final Graphics graphics) {
         super.paint(graphics);
 
-        if (this.cells == null) {
+        if (this.model == null) {
+            return;
+        }
+
+        if (this.zoom < GUIParams.MIN_CELL_SIZE) {
+            graphics.drawImage(this.getSummary().getImage(), 0, 0,
+                    (int) Math.ceil(this.model.getWidth() * this.zoom),
+                    (int) Math.ceil(this.model.getHeight() * this.zoom), null);
             return;
         }
 
-        this.setGraphicsParams((Graphics2D) graphics);
-
-        for (int y = 0; y != this.cells.length; y++) {
-            for (int x = 0; x != this.cells[0].length; x++) {
-                graphics.setColor(this.gridColor);
-                ((Graphics2D) graphics).setStroke(this.gridStroke);
-                graphics.drawRect(x * GUIParams.CELL_SIZE, y * GUIParams.CELL_SIZE,
-                        GUIParams.CELL_SIZE, GUIParams.CELL_SIZE);
-                if (this.isUnfold) {
-                    this.drawCellUnfold(graphics, this.cells[y][x], x, y);
-                } else {
-                    this.drawCellSuggest(graphics, this.cells[y][x], x, y);
+        final BoardModel paintedModel = this.getPaintedModel();
+        final int tileSize = this.tileCells * this.cellSize;
+        final int tileCountX = (this.model.getWidth() + this.tileCells - 1) / this.tileCells;
+        final int tileCountY = (this.model.getHeight() + this.tileCells - 1) / this.tileCells;
+        int fromX = 0;
+        int fromY = 0;
+        int toX = tileCountX;
+        int toY = tileCountY;
+        final Rectangle clip = graphics.getClipBounds();
+        if (clip != null) {
+            fromX = Math.max(fromX, clip.x / tileSize);
+            fromY = Math.max(fromY, clip.y / tileSize);
+            toX = Math.min(toX, (clip.x + clip.width) / tileSize + 1);
+            toY = Math.min(toY, (clip.y + clip.height) / tileSize + 1);
+        }
+
+        final double scale = ((Graphics2D) graphics).getTransform().getScaleX();
+        if (this.tileScale != scale) {
+            this.tiles.clear();
+            this.tileScale = scale;
+        }
+
+        for (int tileY = fromY; tileY < toY; tileY++) {
+            for (int tileX = fromX; tileX < toX; tileX++) {
+                final long key = TileCache.key(tileX, tileY);
+                Image tile = this.tiles.get(key);
+                if (tile == null) {
+                    tile = this.renderTile(tileX, tileY, scale, paintedModel);
+                    this.tiles.put(key, tile);
                 }
+                graphics.drawImage(tile, tileX * tileSize, tileY * tileSize,
+                        this.getTileCells(tileX, this.model.getWidth()) * this.cellSize + 1,
+                        this.getTileCells(tileY, this.model.getHeight()) * this.cellSize + 1, null);
             }
         }
     }
 
     /**
-     * {@inheritDoc}
+     * Get current zoom.
+     *
+     * @return cell's size in pixels.
      */
-    @Override
-    public void setBoard(final Cell[][] cells) {
-        this.cells = cells;
-        this.isUnfold = false;
+    public double getZoom() {
+        return this.zoom;
     }
 
     /**
-     * {@inheritDoc}
+     * Change zoom by given count of steps, keeping given point of board at the same place of screen.
+     *
+     * @param steps count of steps. Positive values zoom out, negative values zoom in.
+     * @param anchor point of board in pixels which stays in place.
      */
-    @Override
-    public void drawBoard() {
+    public void zoom(final int steps, final Point anchor) {
+        if (this.model == null || steps == 0) {
+            return;
+        }
+
+        double zoom = this.zoom * Math.pow(GUIParams.ZOOM_STEP, -steps);
+        if (zoom >= GUIParams.MIN_CELL_SIZE) {
+            zoom = Math.round(zoom);
+            if (zoom == this.zoom) {
+                zoom += steps < 0 ? 1 : -1;
+            }
+        }
+        this.setZoom(zoom, anchor);
+    }
+
+    /**
+     * Set zoom, keeping given point of board at the same place of screen.
+     * Zoom is limited by full cell size and size at which the whole board fits into maximum view size.
+     *
+     * @param zoom new zoom: cell's size in pixels.
+     * @param anchor point of board in pixels which stays in place.
+     */
+    public void setZoom(final double zoom, final Point anchor) {
+        if (this.model == null) {
+            return;
+        }
+
+        final double oldZoom = this.zoom;
+        this.setZoomValue(Math.max(Math.min(zoom, GUIParams.CELL_SIZE), this.getMinZoom()));
+        if (this.zoom == oldZoom) {
+            return;
+        }
+
+        this.tiles.clear();
+        final Dimension size = this.getPreferredSize();
+        this.setSize(size);
+        this.revalidate();
+
+        final JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (viewport != null) {
+            final Point position = viewport.getViewPosition();
+            final Dimension extent = viewport.getExtentSize();
+            final double ratio = this.zoom / oldZoom;
+            final int x = (int) Math.round(anchor.x * ratio) - (anchor.x - position.x);
+            final int y = (int) Math.round(anchor.y * ratio) - (anchor.y - position.y);
+            viewport.setViewPosition(new Point(Math.max(0, Math.min(x, size.width - extent.width)),
+                    Math.max(0, Math.min(y, size.height - extent.height))));
+        }
         this.repaint();
     }
 
     /**
      * {@inheritDoc}
+     * There is no cell also if board is zoomed out too much to choose cell.
      */
     @Override
-    public void drawLose() {
-        this.isUnfold = true;
-        this.repaint();
+    public Point getCell(final Point point) {
+        if (this.model == null || this.zoom < GUIParams.MIN_CELL_SIZE || point.x < 0 || point.y < 0) {
+            return null;
+        }
+
+        final int x = point.x / this.cellSize;
+        final int y = point.y / this.cellSize;
+        return x < this.model.getWidth() && y < this.model.getHeight() ? new Point(x, y) : null;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void drawWin() {
-        this.isUnfold = true;
-        this.repaint();
+    public BoardModel getModel() {
+        return this.model;
     }
 
     /**
-     * Draw cell reflecting user suggest about it.
+     * Set game logic whose snapshots cells are painted from. Snapshots must be published by logic,
+     * otherwise cells are painted from board model.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    private void drawCellSuggest(final Graphics graphics, final Cell cell, final int x, final int y) {
-        switch(cell.getSuggest()) {
-            case BOMB:
-                this.drawSuggestBomb(graphics, cell, x, y);
-                break;
-            case EMPTY:
-                this.drawEmpty(graphics, cell, x, y);
-                break;
-            case NONE:
-                this.drawHidden(graphics, cell, x, y);
-                break;
+     * @param logic game logic.
+     */
+    public void setLogic(final Logic logic) {
+        this.logic = logic;
+    }
+
+    /**
+     * Get model cells are painted from: latest snapshot of current board if it is published,
+     * or board model otherwise.
+     *
+     * @return model cells are painted from.
+     */
+    private BoardModel getPaintedModel() {
+        final BoardSnapshot snapshot = this.logic != null ? this.logic.getSnapshot() : null;
+        return snapshot != null && snapshot.isTakenFrom(this.model) ? snapshot : this.model;
+    }
+
+    /**
+     * Get summary of board, computing it if needed.
+     *
+     * @return board's summary, or null if board model isn't set.
+     */
+    public BoardSummary getSummary() {
+        if (this.summary == null && this.model != null) {
+            this.summary = new BoardSummary(this.model.getWidth(), this.model.getHeight(), GUIParams.SUMMARY_SIZE,
+                    (x, y) -> this.painter.getFlatColor(this.getSummarySprite(x, y), this.getBackground()));
         }
+        return this.summary;
     }
 
     /**
-     * Draw cell with its real state (when game is over).
+     * Get sprite of cell for summary. Chunks of chunked board which aren't generated yet are shown hidden
+     * even if board is unfolded, so summary doesn't generate the whole board.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return sprite's number.
      */
-    private void drawCellUnfold(final Graphics graphics, final Cell cell, final int x, final int y) {
-        if (cell.getBomb() != Bomb.NONE) {
-            this.drawBomb(graphics, cell, x, y);
-        } else {
-            this.drawEmpty(graphics, cell, x, y);
+    private int getSummarySprite(final int x, final int y) {
+        if (this.model instanceof ChunkedBoardModel && !((ChunkedBoardModel) this.model).isGenerated(x, y)) {
+            return CellPainter.SPRITE_HIDDEN;
         }
+        return CellPainter.getSprite(this.getPaintedModel(), x, y, this.isUnfold);
     }
 
     /**
-     * Draw cell with bomb user suggest.
+     * {@inheritDoc}
+     * It is the size of board for current zoom.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        if (this.model == null || this.isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension((int) Math.ceil(this.model.getWidth() * this.zoom) + 2,
+                (int) Math.ceil(this.model.getHeight() * this.zoom) + 2);
+    }
+
+    /**
+     * Get minimum zoom for current board.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    protected void drawSuggestBomb(final Graphics graphics, final Cell cell, final int x, final int y) {
-        final int pointX = x * GUIParams.CELL_SIZE;
-        final int pointY = y * GUIParams.CELL_SIZE;
-        final int size = GUIParams.CELL_SIZE;
-
-        graphics.setColor(this.suggestBombColor);
-        ((Graphics2D) graphics).setStroke(this.suggestBombStroke);
-        graphics.drawLine(pointX + size / 4, pointY + 2 * size / 5,
-                pointX + 2 * size / 5, pointY + size - 2 * size / 5);
-        graphics.drawLine(pointX + 3 * size / 4, pointY + size / 5,
-                pointX + 2 * size / 5, pointY + size - 2 * size / 5);
+     * @return minimum cell's size in pixels.
+     */
+    private double getMinZoom() {
+        return Math.min(GUIParams.MIN_CELL_SIZE, Math.min((double) GUIParams.MAX_VIEW_WIDTH / this.model.getWidth(),
+                (double) GUIParams.MAX_VIEW_HEIGHT / this.model.getHeight()));
     }
 
     /**
-     * Draw empty cell.
+     * Set zoom and sizes depending on it.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    protected void drawEmpty(final Graphics graphics, final Cell cell, final int x, final int y) {
-        if (this.isUnfold && cell.getSuggest() == Suggest.BOMB) {
-            this.drawBomb(graphics, cell, x, y);
-            this.drawMistake(graphics, cell, x, y);
-        } else if (cell.getNearestBombCount() > 0) {
-            this.drawNearestBombCount(graphics, x, y, cell.getNearestBombCount());
+     * @param zoom new zoom: cell's size in pixels.
+     */
+    private void setZoomValue(final double zoom) {
+        this.zoom = zoom;
+        this.cellSize = Math.max(1, (int) zoom);
+        this.tileCells = Math.max(1, GUIParams.TILE_SIZE / this.cellSize);
+    }
+
+    /**
+     * Mark summary as changed and notify listeners.
+     *
+     * @param isRebuilt <code>true</code> if summary must be computed again.
+     */
+    private void summaryChanged(final boolean isRebuilt) {
+        if (isRebuilt) {
+            this.summary = null;
         }
+        this.firePropertyChange(SUMMARY_PROPERTY, this.summaryVersion, ++this.summaryVersion);
     }
 
     /**
-     * Draw cell with bomb.
+     * Get count of cells in tile along one dimension. Last tiles may be incomplete.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    protected void drawBomb(final Graphics graphics, final Cell cell, final int x, final int y) {
-        final int pointX = x * GUIParams.CELL_SIZE;
-        final int pointY = y * GUIParams.CELL_SIZE;
-        final int size = GUIParams.CELL_SIZE;
-        final int bombSize = GUIParams.CELL_BOMB_SIZE;
-
-        graphics.setColor(cell.getSuggest() == Suggest.EMPTY ? this.blownBombColor : this.bombColor);
-        ((Graphics2D) graphics).setStroke(this.bombStroke);
-        graphics.fillArc(pointX + (size - bombSize) / 2, pointY + (size - bombSize) / 2, bombSize,
-                bombSize, 0, 360);
+     * @param tile tile's coordinate in tiles.
+     * @param cells board's size in cells along the same dimension.
+     * @return count of cells in tile.
+     */
+    private int getTileCells(final int tile, final int cells) {
+        return Math.min(this.tileCells, cells - tile * this.tileCells);
     }
 
     /**
-     * Draw cell which contents is hidden.
+     * Render tile into image. Cells big enough are drawn with sprites and grid, smaller ones are plain squares.
+     * Image includes one more pixel to the right and bottom for tile's grid border, it is overlapped by the next tile.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    protected void drawHidden(final Graphics graphics, final Cell cell, final int x, final int y) {
-        final int pointX = x * GUIParams.CELL_SIZE;
-        final int pointY = y * GUIParams.CELL_SIZE;
-        final int size = GUIParams.CELL_SIZE;
-        final int padding = GUIParams.CELL_HIDDEN_PADDING;
-
-        graphics.setColor(this.hiddenColor);
-        ((Graphics2D) graphics).setStroke(this.hiddenStroke);
-        graphics.drawLine(pointX + padding, pointY + padding,
-                pointX + size - padding, pointY + size - padding);
-        graphics.drawLine(pointX + size - padding, pointY + padding,
-                pointX + padding, pointY + size - padding);
+     * @param tileX tile's 'x' coordinate in tiles.
+     * @param tileY tile's 'y' coordinate in tiles.
+     * @param scale screen scale.
+     * @param paintedModel model cells are painted from.
+     * @return tile's image.
+     */
+    private Image renderTile(final int tileX, final int tileY, final double scale, final BoardModel paintedModel) {
+        final int cellsX = this.getTileCells(tileX, this.model.getWidth());
+        final int cellsY = this.getTileCells(tileY, this.model.getHeight());
+        final int fromX = tileX * this.tileCells;
+        final int fromY = tileY * this.tileCells;
+        final int width = cellsX * this.cellSize + 1;
+        final int height = cellsY * this.cellSize + 1;
+
+        if (this.cellSize < GUIParams.MIN_GLYPH_CELL_SIZE) {
+            final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            final int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            Arrays.fill(pixels, this.getBackground().getRGB());
+            for (int y = 0; y < cellsY; y++) {
+                for (int x = 0; x < cellsX; x++) {
+                    final int color = this.painter.getFlatColor(
+                            CellPainter.getSprite(paintedModel, fromX + x, fromY + y, this.isUnfold),
+                            this.getBackground());
+                    for (int pixelY = y * this.cellSize; pixelY < (y + 1) * this.cellSize; pixelY++) {
+                        Arrays.fill(pixels, pixelY * width + x * this.cellSize,
+                                pixelY * width + (x + 1) * this.cellSize, color);
+                    }
+                }
+            }
+            return image;
+        }
+
+        final int imageWidth = (int) Math.ceil(width * scale);
+        final int imageHeight = (int) Math.ceil(height * scale);
+        final GraphicsConfiguration configuration = this.getGraphicsConfiguration();
+        final BufferedImage image = configuration != null ?
+                configuration.createCompatibleImage(imageWidth, imageHeight) :
+                new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(this.getBackground());
+        graphics.fillRect(0, 0, imageWidth, imageHeight);
+        this.painter.setGraphicsParams(graphics);
+        graphics.scale(scale, scale);
+        graphics.translate(-fromX * this.cellSize, -fromY * this.cellSize);
+
+        this.drawCells(graphics, fromX, fromY, fromX + cellsX, fromY + cellsY,
+                this.painter.getSprites(this.getGraphicsConfiguration(), this.cellSize, scale), paintedModel);
+        graphics.dispose();
+        return image;
     }
 
     /**
-     * Draw cell with wrong suggest.
+     * Draw grid and cells of given part of board.
      *
      * @param graphics <code>Graphics</code> object where to draw on.
-     * @param cell displayed cell.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     */
-    protected void drawMistake(final Graphics graphics, final Cell cell, final int x, final int y) {
-        final int pointX = x * GUIParams.CELL_SIZE;
-        final int pointY = y * GUIParams.CELL_SIZE;
-        final int size = GUIParams.CELL_SIZE;
-        final int padding = GUIParams.CELL_MISTAKE_PADDING;
-
-        graphics.setColor(this.mistakeColor);
-        ((Graphics2D) graphics).setStroke(this.mistakeStroke);
-        graphics.drawLine(pointX + padding, pointY + padding,
-                pointX + size - padding, pointY + size - padding);
-        graphics.drawLine(pointX + size - padding, pointY + padding,
-                pointX + padding, pointY + size - padding);
+     * @param fromX 'x' coordinate of first drawn cell.
+     * @param fromY 'y' coordinate of first drawn cell.
+     * @param toX 'x' coordinate after last drawn cell.
+     * @param toY 'y' coordinate after last drawn cell.
+     * @param sprites sprite images.
+     * @param paintedModel model cells are painted from.
+     */
+    private void drawCells(final Graphics2D graphics, final int fromX, final int fromY, final int toX, final int toY,
+                           final Image[] sprites, final BoardModel paintedModel) {
+        final int size = this.cellSize;
+        this.painter.drawGrid(graphics, fromX, fromY, toX, toY, size);
+
+        for (int y = fromY; y < toY; y++) {
+            for (int x = fromX; x < toX; x++) {
+                final int sprite = CellPainter.getSprite(paintedModel, x, y, this.isUnfold);
+                if (sprite != CellPainter.SPRITE_EMPTY) {
+                    graphics.drawImage(sprites[sprite], x * size, y * size, size, size, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * It is the whole board, but no bigger than maximum view size.
+     */
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        final Dimension size = this.getPreferredSize();
+        return new Dimension(Math.min(size.width, GUIParams.MAX_VIEW_WIDTH),
+                Math.min(size.height, GUIParams.MAX_VIEW_HEIGHT));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Board is scrolled by one cell.
+     */
+    @Override
+    public int getScrollableUnitIncrement(final Rectangle visibleRect, final int orientation, final int direction) {
+        return this.cellSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Board is scrolled by visible size without one cell.
+     */
+    @Override
+    public int getScrollableBlockIncrement(final Rectangle visibleRect, final int orientation, final int direction) {
+        final int size = orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+        return Math.max(size - this.cellSize, this.cellSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBoard(final BoardModel model) {
+        this.model = model;
+        this.isUnfold = false;
+        this.isAllDirty = true;
+        this.setZoomValue(GUIParams.CELL_SIZE);
+        this.tiles.clear();
+        this.summaryChanged(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only cells changed since last draw are repainted if they are known.
+     */
+    @Override
+    public void drawBoard() {
+        if (this.dirty != null && !this.isAllDirty) {
+            this.repaint(this.dirty);
+        } else {
+            this.repaint();
+        }
+        this.dirty = null;
+        this.isAllDirty = false;
     }
 
     /**
-     * Draw nearest bomb count in cell's center.
-     * Using technique from http://stackoverflow.com/questions/23729944/java-how-to-visually-center-a-specific-string-not-just-a-font-in-a-rectangle
+     * {@inheritDoc}
+     * Changed cells are accumulated until next draw.
+     */
+    @Override
+    public void cellsChanged(final ChangeSet changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        final int padding = GUIParams.CELL_GRID_STROKE;
+        final int left = (int) Math.floor(changes.getMinX() * this.zoom) - padding;
+        final int top = (int) Math.floor(changes.getMinY() * this.zoom) - padding;
+        final Rectangle changed = new Rectangle(left, top,
+                (int) Math.ceil((changes.getMaxX() + 1) * this.zoom) + padding + 1 - left,
+                (int) Math.ceil((changes.getMaxY() + 1) * this.zoom) + padding + 1 - top);
+        this.dirty = this.dirty == null ? changed : this.dirty.union(changed);
+
+        long lastKey = -1;
+        for (int number = 0; number < changes.getSize(); number++) {
+            final long key = TileCache.key(changes.getX(number) / this.tileCells,
+                    changes.getY(number) / this.tileCells);
+            if (key != lastKey) {
+                this.tiles.invalidate(key);
+                lastKey = key;
+            }
+        }
+
+        if (this.summary != null) {
+            final int blockCells = this.summary.getBlockCells();
+            long lastBlock = -1;
+            for (int number = 0; number < changes.getSize(); number++) {
+                final int blockX = changes.getX(number) / blockCells;
+                final int blockY = changes.getY(number) / blockCells;
+                final long block = TileCache.key(blockX, blockY);
+                if (block != lastBlock) {
+                    this.summary.updateBlock(blockX, blockY);
+                    lastBlock = block;
+                }
+            }
+        }
+        this.summaryChanged(false);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawLose() {
+        this.isUnfold = true;
+        this.tiles.clear();
+        this.summaryChanged(true);
+        this.dirty = null;
+        this.isAllDirty = false;
+        this.repaint();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawWin() {
+        this.isUnfold = true;
+        this.tiles.clear();
+        this.summaryChanged(true);
+        this.dirty = null;
+        this.isAllDirty = false;
+        this.repaint();
+    }
+
+    /**
+     * Get bomb type in cell.
      *
-     * @param graphics <code>Graphics</code> object where to draw on.
-     * @param x 'x' coordinate of displayed cell.
-     * @param y 'y' coordinate of displayed cell.
-     * @param count what number to draw.
-     */
-    private void drawNearestBombCount(final Graphics graphics, final int x, final int y, final int count) {
-        graphics.setColor(this.nearestBombCountColors.get(count));
-        graphics.setFont(this.nearestBombFont);
-
-        final String countString = String.valueOf(count);
-        final FontRenderContext frc = ((Graphics2D) graphics).getFontRenderContext();
-        final GlyphVector gv = this.nearestBombFont.createGlyphVector(frc, countString);
-        final Rectangle2D box = gv.getVisualBounds();
-        final FontMetrics metrics = graphics.getFontMetrics();
-
-        final int pointX = x * GUIParams.CELL_SIZE +
-                ((GUIParams.CELL_SIZE - metrics.stringWidth(countString)) / 2);
-        final int pointY = y * GUIParams.CELL_SIZE +
-                (int) (((GUIParams.CELL_SIZE - box.getHeight()) / 2) - box.getY());
-
-        graphics.drawString(countString, pointX, pointY);
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return bomb type.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Bomb getBomb(final int x, final int y) {
+        return this.model.getBomb(x, y);
     }
 
     /**
-     * Set global graphics properties (such as antialiasing).
+     * Get nearest bombs count of cell.
      *
-     * @param graphics <code>Graphics</code> object which properties are set.
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return nearest bombs count.
+     * @deprecated read cells from board model instead.
      */
-    private void setGraphicsParams(final Graphics2D graphics) {
-        graphics.setRenderingHint(
-                RenderingHints.KEY_ANTIALIASING,
-                RenderingHints.VALUE_ANTIALIAS_ON);
+    @Deprecated
+    protected int getNearestBombCount(final int x, final int y) {
+        return this.model.getNearestBombCount(x, y);
+    }
 
-        graphics.setRenderingHint(
-                RenderingHints.KEY_TEXT_ANTIALIASING,
-                RenderingHints.VALUE_TEXT_ANTIALIAS_GASP);
+    /**
+     * Get current user suggest for cell.
+     *
+     * @param x cell's 'x' coordinate.
+     * @param y cell's 'y' coordinate.
+     * @return user's suggest.
+     * @deprecated read cells from board model instead.
+     */
+    @Deprecated
+    protected Suggest getSuggest(final int x, final int y) {
+        return this.model.getSuggest(x, y);
     }
 }
@@ -0,0 +1,364 @@
+package ru.lightstar.sapper.gui;
+
+import ru.lightstar.sapper.BoardModel;
+import ru.lightstar.sapper.BoardSnapshot;
+import ru.lightstar.sapper.ChangeSet;
+import ru.lightstar.sapper.Logic;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game board GUI component with active rendering. Its own thread draws frames with fixed rate
+ * into multi-buffer strategy, so drawing doesn't depend on Swing repaints at all.
+ * Frames are drawn only from the latest immutable board snapshot published by game logic, so render thread
+ * never sees half-applied changes and never locks anything. Logic must be set and must publish snapshots,
+ * otherwise nothing is drawn. Frame is drawn again only if snapshot, unfolded state or component's size
+ * is changed since the last frame.
+ * Board is scaled to fit into maximum view size. Small cells are drawn as plain color squares.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class GUICanvasBoard extends Canvas implements GUIView {
+
+    /**
+     * Board model, or null if it isn't set.
+     */
+    private volatile BoardModel model;
+
+    /**
+     * Game logic publishing snapshots, or null if it isn't set.
+     */
+    private volatile Logic logic;
+
+    /**
+     * Flag to draw board in its unfolded state.
+     */
+    private volatile boolean isUnfold;
+
+    /**
+     * Render thread, or null if component isn't displayed.
+     */
+    private Thread renderer;
+
+    /**
+     * Painter of cells. It is used only by render thread.
+     */
+    private final CellPainter painter;
+
+    /**
+     * Frame image with plain color cells. It is used only by render thread.
+     */
+    private BufferedImage flatImage;
+
+    /**
+     * Snapshot drawn on frame image with plain color cells. It is used only by render thread.
+     */
+    private BoardSnapshot flatSnapshot;
+
+    /**
+     * Unfolded state drawn on frame image with plain color cells. It is used only by render thread.
+     */
+    private boolean isFlatUnfold;
+
+    /**
+     * Constructs <code>GUICanvasBoard</code> object.
+     */
+    public GUICanvasBoard() {
+        super();
+
+        this.painter = new CellPainter();
+        this.setIgnoreRepaint(true);
+        this.setBackground(UIManager.getColor("Panel.background"));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Buffer strategy is created and render thread is started here.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+
+        this.createBufferStrategy(GUIParams.BUFFER_COUNT);
+        this.renderer = new Thread(this::renderLoop, "board-render");
+        this.renderer.setDaemon(true);
+        this.renderer.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Render thread is stopped here before buffer strategy is gone.
+     */
+    @Override
+    public void removeNotify() {
+        final Thread renderer = this.renderer;
+        this.renderer = null;
+        if (renderer != null) {
+            renderer.interrupt();
+            try {
+                renderer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        super.removeNotify();
+    }
+
+    /**
+     * {@inheritDoc}
+     * It is the size of board scaled to fit into maximum view size.
+     */
+    @Override
+    public Dimension getPreferredSize() {
+        final BoardModel model = this.model;
+        if (model == null) {
+            return new Dimension(GUIParams.CELL_SIZE + 1, GUIParams.CELL_SIZE + 1);
+        }
+        final double zoom = getZoom(model.getWidth(), model.getHeight());
+        return new Dimension((int) Math.ceil(model.getWidth() * zoom) + 1,
+                (int) Math.ceil(model.getHeight() * zoom) + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Point getCell(final Point point) {
+        final BoardModel model = this.model;
+        if (model == null || point.x < 0 || point.y < 0) {
+            return null;
+        }
+
+        final double zoom = getZoom(model.getWidth(), model.getHeight());
+        final int x = (int) (point.x / zoom);
+        final int y = (int) (point.y / zoom);
+        return x < model.getWidth() && y < model.getHeight() ? new Point(x, y) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BoardModel getModel() {
+        return this.model;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBoard(final BoardModel model) {
+        this.isUnfold = false;
+        this.model = model;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Nothing to do here, because board is redrawn by render thread when logic publishes new snapshot.
+     */
+    @Override
+    public void drawBoard() {
+    }
+
+    /**
+     * {@inheritDoc}
+     * Nothing to do here, because changes are already in snapshot published by logic.
+     */
+    @Override
+    public void cellsChanged(final ChangeSet changes) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawLose() {
+        this.isUnfold = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drawWin() {
+        this.isUnfold = true;
+    }
+
+    /**
+     * Set game logic whose snapshots cells are taken from. Snapshots must be published by logic,
+     * otherwise nothing is drawn.
+     *
+     * @param logic game logic.
+     */
+    public void setLogic(final Logic logic) {
+        this.logic = logic;
+    }
+
+    /**
+     * Get latest snapshot of current board published by logic.
+     *
+     * @return latest snapshot, or null if there is no published snapshot of current board.
+     */
+    private BoardSnapshot getPaintedSnapshot() {
+        final Logic logic = this.logic;
+        final BoardSnapshot snapshot = logic != null ? logic.getSnapshot() : null;
+        return snapshot != null && snapshot.isTakenFrom(this.model) ? snapshot : null;
+    }
+
+    /**
+     * Get cell's size in pixels for board scaled to fit into maximum view size.
+     * Cell's size is whole number if cell is big enough for glyphs.
+     *
+     * @param width board's width.
+     * @param height board's height.
+     * @return cell's size in pixels.
+     */
+    private static double getZoom(final int width, final int height) {
+        final double zoom = Math.min(GUIParams.CELL_SIZE, Math.min((double) GUIParams.MAX_VIEW_WIDTH / width,
+                (double) GUIParams.MAX_VIEW_HEIGHT / height));
+        return zoom >= GUIParams.MIN_GLYPH_CELL_SIZE ? Math.floor(zoom) : zoom;
+    }
+
+    /**
+     * Render loop. Frames are drawn with fixed rate until render thread is interrupted, but frame is skipped
+     * if snapshot, unfolded state and component's size are the same as in the last drawn frame.
+     * When frame is late, next frames aren't hurried to catch up.
+     */
+    private void renderLoop() {
+        final long period = TimeUnit.SECONDS.toNanos(1) / GUIParams.FRAME_RATE;
+        long deadline = System.nanoTime();
+        BoardSnapshot drawnSnapshot = null;
+        boolean isDrawnUnfold = false;
+        Dimension drawnSize = null;
+        while (!Thread.currentThread().isInterrupted()) {
+            final BoardSnapshot snapshot = this.getPaintedSnapshot();
+            final boolean isUnfold = this.isUnfold;
+            final Dimension size = this.getSize();
+            if (snapshot != null && (snapshot != drawnSnapshot || isUnfold != isDrawnUnfold ||
+                    !size.equals(drawnSize))) {
+                this.renderFrame(snapshot, isUnfold);
+                drawnSnapshot = snapshot;
+                isDrawnUnfold = isUnfold;
+                drawnSize = size;
+            }
+
+            deadline += period;
+            final long delay = deadline - System.nanoTime();
+            if (delay > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            } else {
+                deadline = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Draw one frame into buffer strategy and show it, drawing again if buffers' contents are lost.
+     *
+     * @param snapshot snapshot drawn on frame.
+     * @param isUnfold <code>true</code> if board is drawn in its unfolded state.
+     */
+    private void renderFrame(final BoardSnapshot snapshot, final boolean isUnfold) {
+        final BufferStrategy strategy = this.getBufferStrategy();
+        do {
+            do {
+                final Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    this.drawSnapshot(graphics, snapshot, isUnfold);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Draw snapshot of board.
+     *
+     * @param graphics <code>Graphics</code> object where to draw on.
+     * @param snapshot drawn snapshot.
+     * @param isUnfold <code>true</code> if board is drawn in its unfolded state.
+     */
+    private void drawSnapshot(final Graphics2D graphics, final BoardSnapshot snapshot, final boolean isUnfold) {
+        graphics.setColor(this.getBackground());
+        graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
+
+        final int width = snapshot.getWidth();
+        final int height = snapshot.getHeight();
+        final double zoom = getZoom(width, height);
+        if (zoom < GUIParams.MIN_GLYPH_CELL_SIZE) {
+            graphics.drawImage(this.getFlatImage(snapshot, isUnfold, zoom), 0, 0, null);
+            return;
+        }
+
+        final int size = (int) zoom;
+        final Image[] sprites = this.painter.getSprites(this.getGraphicsConfiguration(), size,
+                graphics.getTransform().getScaleX());
+        this.painter.setGraphicsParams(graphics);
+        this.painter.drawGrid(graphics, 0, 0, width, height, size);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int sprite = CellPainter.getSprite(snapshot, x, y, isUnfold);
+                if (sprite != CellPainter.SPRITE_EMPTY) {
+                    graphics.drawImage(sprites[sprite], x * size, y * size, size, size, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get frame image with plain color cells for given snapshot, drawing it again only if snapshot
+     * or unfolded state is changed. Sprites are got only for cells hit by pixels' centers.
+     *
+     * @param snapshot drawn snapshot.
+     * @param isUnfold <code>true</code> if board is drawn in its unfolded state.
+     * @param zoom cell's size in pixels.
+     * @return frame image.
+     */
+    private Image getFlatImage(final BoardSnapshot snapshot, final boolean isUnfold, final double zoom) {
+        if (this.flatSnapshot == snapshot && this.isFlatUnfold == isUnfold) {
+            return this.flatImage;
+        }
+
+        final int width = (int) Math.ceil(snapshot.getWidth() * zoom);
+        final int height = (int) Math.ceil(snapshot.getHeight() * zoom);
+        if (this.flatImage == null || this.flatImage.getWidth() != width || this.flatImage.getHeight() != height) {
+            this.flatImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        final int[] colors = new int[CellPainter.SPRITE_COUNT];
+        for (int sprite = 0; sprite < CellPainter.SPRITE_COUNT; sprite++) {
+            colors[sprite] = this.painter.getFlatColor(sprite, this.getBackground());
+        }
+        final int[] pixels = ((DataBufferInt) this.flatImage.getRaster().getDataBuffer()).getData();
+        final int[] rowColors = new int[width];
+        int rowY = -1;
+        for (int pixelY = 0; pixelY < height; pixelY++) {
+            final int y = Math.min((int) (pixelY / zoom), snapshot.getHeight() - 1);
+            if (y != rowY) {
+                rowY = y;
+                for (int pixelX = 0; pixelX < width; pixelX++) {
+                    final int x = Math.min((int) (pixelX / zoom), snapshot.getWidth() - 1);
+                    rowColors[pixelX] = colors[CellPainter.getSprite(snapshot, x, y, isUnfold)];
+                }
+            }
+            System.arraycopy(rowColors, 0, pixels, pixelY * width, width);
+        }
+        this.flatSnapshot = snapshot;
+        this.isFlatUnfold = isUnfold;
+        return this.flatImage;
+    }
+}
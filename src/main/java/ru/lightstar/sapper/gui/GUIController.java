@@ -10,14 +10,59 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Game GUI controller which can start/finish game and process user input.
+ * Board generation and game logic run on single worker thread, so event dispatch thread never waits for them.
+ * Clicks made while worker is busy are queued and processed together, repeated clicks on the same cell are dropped.
+ * Every click keeps board it was made on, so clicks on replaced board are dropped too.
+ * Board changes are collected on worker thread and passed to board on event dispatch thread.
  *
  * @author LightStar
  * @since 0.0.1
  */
-public class GUIController extends BaseController implements ActionListener, MouseListener {
+public class GUIController extends BaseController
+        implements ActionListener, MouseListener, MouseWheelListener, LogicListener {
+
+    /**
+     * Game board shown in GUI.
+     */
+    private final GUIView view;
+
+    /**
+     * Component of game board shown in GUI.
+     */
+    private final Component component;
+
+    /**
+     * Worker thread running board generation and game logic.
+     */
+    private final ExecutorService worker;
+
+    /**
+     * Clicks waiting to be processed by worker.
+     */
+    private final Deque<Click> clicks;
+
+    /**
+     * Lock guarding board changes waiting to be passed to board.
+     */
+    private final Object changesLock;
+
+    /**
+     * Board changes waiting to be passed to board, or null if there are no changes.
+     */
+    private ChangeSet pendingChanges;
 
     /**
      * Main frame.
@@ -29,6 +74,11 @@ public class GUIController extends BaseController implements ActionListener, Mou
      */
     private final JLabel infoLabel;
 
+    /**
+     * Overview of the whole board, or null if there is no overview.
+     */
+    private GUIMinimap minimap;
+
     /**
      * Current board's width.
      */
@@ -48,19 +98,32 @@ public class GUIController extends BaseController implements ActionListener, Mou
      * Constructs <code>GUIController</code> object.
      *
      * @param logic game logic.
-     * @param board game board.
+     * @param board game board component.
      * @param generator game board generator.
      * @param frame main frame.
      * @param infoLabel label with game information.
+     * @param <T> type of game board component.
      */
-    public GUIController(final Logic logic, final GUIBoard board, final BoardGenerator generator,
-                         final JFrame frame, final JLabel infoLabel) {
-        super(logic, board, generator);
+    public <T extends Component & GUIView> GUIController(final Logic logic, final T board,
+                                                          final BoardGenerator generator,
+                                                          final JFrame frame, final JLabel infoLabel) {
+        super(logic, new EdtBoard(board), generator);
 
+        this.view = board;
+        this.component = board;
         this.frame = frame;
         this.infoLabel = infoLabel;
+        this.clicks = new ArrayDeque<>();
+        this.changesLock = new Object();
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "game-logic");
+            thread.setDaemon(true);
+            return thread;
+        });
 
         board.addMouseListener(this);
+        board.addMouseWheelListener(this);
+        logic.addListener(this);
     }
 
     /**
@@ -93,29 +156,69 @@ public class GUIController extends BaseController implements ActionListener, Mou
     }
 
     /**
-     * Mouse click handler. Processing user's suggest here.
+     * Mouse click handler. User's suggest is queued to worker here.
      *
      * @param event incoming mouse event.
      */
     public void mouseClicked(final MouseEvent event) {
-        if (this.getLogic().isLose() || this.getLogic().isWin()) {
+        final BoardModel model = this.view.getModel();
+        final Point cell = this.getBoard().getCell(event.getPoint());
+        if (model == null || cell == null) {
             return;
         }
 
-        final int x = event.getX() / GUIParams.CELL_SIZE;
-        final int y = event.getY() / GUIParams.CELL_SIZE;
+        if (event.getButton() == MouseEvent.BUTTON1) {
+            this.queueClick(new Click(model, cell.x, cell.y, Suggest.EMPTY));
+        } else if (event.getButton() == MouseEvent.BUTTON3) {
+            this.queueClick(new Click(model, cell.x, cell.y, Suggest.BOMB));
+        }
+    }
 
-        try {
-            if (event.getButton() == MouseEvent.BUTTON1) {
-                this.suggest(x, y, Suggest.EMPTY);
-            } else if (event.getButton() == MouseEvent.BUTTON3) {
-                this.suggest(x, y, Suggest.BOMB);
+    /**
+     * {@inheritDoc}
+     * Changes are collected here on worker thread, they are passed to board at once on event dispatch thread.
+     */
+    @Override
+    public void cellsChanged(final ChangeSet changes) {
+        synchronized (this.changesLock) {
+            if (this.pendingChanges == null) {
+                this.pendingChanges = new ChangeSet();
+                this.pendingChanges.reset(changes.getWidth(), changes.getOldStatus());
+                EventQueue.invokeLater(this::flushChanges);
             }
-        } catch (LogicException e) {
-            this.showMessage(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            this.pendingChanges.addAll(changes);
         }
     }
 
+    /**
+     * Mouse wheel handler. Wheel with 'Ctrl' key zooms board if it can be zoomed,
+     * otherwise event is passed to scroll pane.
+     *
+     * @param event incoming mouse wheel event.
+     */
+    public void mouseWheelMoved(final MouseWheelEvent event) {
+        if (event.isControlDown()) {
+            if (this.view instanceof GUIBoard) {
+                ((GUIBoard) this.view).zoom(event.getWheelRotation(), event.getPoint());
+            }
+            return;
+        }
+
+        final Container parent = this.component.getParent();
+        if (parent != null) {
+            parent.dispatchEvent(SwingUtilities.convertMouseEvent(this.component, event, parent));
+        }
+    }
+
+    /**
+     * Set overview of the whole board. It is shown only when board doesn't fit into view.
+     *
+     * @param minimap overview of the whole board.
+     */
+    public void setMinimap(final GUIMinimap minimap) {
+        this.minimap = minimap;
+    }
+
     /**
      * Mouse press handler. Ignored.
      *
@@ -150,15 +253,16 @@ public class GUIController extends BaseController implements ActionListener, Mou
 
     /**
      * {@inheritDoc}
+     * It must be called on worker thread.
      */
     @Override
     public void suggest(int x, int y, Suggest suggest) throws LogicException {
         super.suggest(x, y, suggest);
 
         if (this.getLogic().isLose()) {
-            this.showMessage("You lose", "Sorry", JOptionPane.INFORMATION_MESSAGE);
+            this.showMessageLater("You lose", "Sorry", JOptionPane.INFORMATION_MESSAGE);
         } else if (this.getLogic().isWin()) {
-            this.showMessage("You win", "Congratulations", JOptionPane.INFORMATION_MESSAGE);
+            this.showMessageLater("You win", "Congratulations", JOptionPane.INFORMATION_MESSAGE);
         }
 
         this.showRemainedBombs();
@@ -168,12 +272,12 @@ public class GUIController extends BaseController implements ActionListener, Mou
      * {@inheritDoc}
      */
     @Override
-    public GUIBoard getBoard() {
-        return (GUIBoard) super.getBoard();
+    public GUIView getBoard() {
+        return this.view;
     }
 
     /**
-     * Set parameters and begin game.
+     * Set parameters and begin game. Preset boards are usually pre-generated, so they aren't deferred.
      *
      * @param width board's width.
      * @param height board's height.
@@ -183,11 +287,12 @@ public class GUIController extends BaseController implements ActionListener, Mou
         this.width = width;
         this.height = height;
         this.bombCount = bombCount;
-        this.begin();
+        this.begin(false);
     }
 
     /**
-     * Ask parameters from user and begin game.
+     * Ask parameters from user and begin game. Custom board is generated on first click,
+     * so it is shown at once whatever its size is.
      */
     private void beginCustom() {
         this.width = this.askNumber(String.format("Board's width (%d-%d): ",
@@ -202,29 +307,110 @@ public class GUIController extends BaseController implements ActionListener, Mou
                 1, this.width * this.height),
                 "Board's width",1, this.width * this.height);
 
-        this.begin();
+        this.begin(true);
     }
 
     /**
-     * Begin game with already set parameters.
+     * Begin game with already set parameters. Board is generated on worker thread,
+     * clicks on previous board which aren't processed yet are dropped.
+     *
+     * @param deferredGeneration true to generate board on first click.
      */
-    private void begin() {
-        try {
-            this.infoLabel.setText(" ");
-            this.resizeFrame();
-            this.init(this.width, this.height, this.bombCount);
-            this.showRemainedBombs();
-        } catch (GenerateException | LogicException e) {
-            this.showMessage(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    private void begin(final boolean deferredGeneration) {
+        final int width = this.width;
+        final int height = this.height;
+        final int bombCount = this.bombCount;
+
+        synchronized (this.clicks) {
+            this.clicks.clear();
         }
+        this.infoLabel.setText(" ");
+        this.worker.execute(() -> {
+            try {
+                this.setDeferredGeneration(deferredGeneration);
+                this.init(width, height, bombCount);
+                EventQueue.invokeLater(this::resizeFrame);
+                this.showRemainedBombs();
+            } catch (GenerateException | LogicException e) {
+                this.showMessageLater(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 
     /**
-     * Show remained bombs on info label.
+     * Queue user's click to worker. Worker is asked to process clicks only if queue was empty,
+     * otherwise click is processed together with already queued ones.
+     *
+     * @param click user's click.
+     */
+    private void queueClick(final Click click) {
+        synchronized (this.clicks) {
+            this.clicks.add(click);
+            if (this.clicks.size() == 1) {
+                this.worker.execute(this::processClicks);
+            }
+        }
+    }
+
+    /**
+     * Process all queued clicks on worker thread. Repeated clicks are dropped,
+     * and so are clicks made on other board than current one and clicks made after game is over.
+     */
+    private void processClicks() {
+        final List<Click> batch;
+        synchronized (this.clicks) {
+            batch = new ArrayList<>(this.clicks);
+            this.clicks.clear();
+        }
+
+        final Set<Click> processed = new HashSet<>();
+        for (final Click click : batch) {
+            if (this.getLogic().isLose() || this.getLogic().isWin()) {
+                break;
+            }
+
+            if (click.model == this.getModel() && processed.add(click)) {
+                try {
+                    this.suggest(click.x, click.y, click.suggest);
+                } catch (LogicException e) {
+                    this.showMessageLater(e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pass collected board changes to board. Called on event dispatch thread.
+     */
+    private void flushChanges() {
+        final ChangeSet changes;
+        synchronized (this.changesLock) {
+            changes = this.pendingChanges;
+            this.pendingChanges = null;
+        }
+        if (changes != null) {
+            this.view.cellsChanged(changes);
+        }
+    }
+
+    /**
+     * Show remained bombs on info label. Count is taken on calling thread and shown on event dispatch thread.
      */
     private void showRemainedBombs() {
-        this.infoLabel.setText(String.format("Bombs remained: %d",
-                this.getLogic().getBombCount() - this.getLogic().getSuggestedBombCount()));
+        final String text = String.format("Bombs remained: %d",
+                this.getLogic().getBombCount() - this.getLogic().getSuggestedBombCount());
+        EventQueue.invokeLater(() -> this.infoLabel.setText(text));
+    }
+
+    /**
+     * Show message box on event dispatch thread.
+     *
+     * @param message message.
+     * @param title title.
+     * @param type message's type.
+     */
+    private void showMessageLater(final String message, final String title, final int type) {
+        EventQueue.invokeLater(() -> this.showMessage(message, title, type));
     }
 
     /**
@@ -239,12 +425,18 @@ public class GUIController extends BaseController implements ActionListener, Mou
     }
 
     /**
-     * Resize main frame to reflect board size.
+     * Resize main frame to reflect board size. Boards bigger than maximum view size are scrolled
+     * and shown with minimap.
      */
     private void resizeFrame() {
-
-        this.getBoard().setPreferredSize(new Dimension(GUIParams.CELL_SIZE * this.width + 2,
-                GUIParams.CELL_SIZE * this.height + 2));
+        this.component.invalidate();
+        if (this.minimap != null) {
+            final Dimension size = this.component.getPreferredSize();
+            this.minimap.setVisible(size.width > GUIParams.MAX_VIEW_WIDTH || size.height > GUIParams.MAX_VIEW_HEIGHT);
+        }
+        if (this.component instanceof JComponent) {
+            ((JComponent) this.component).scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        }
         this.frame.setResizable(true);
         this.frame.pack();
         this.frame.setResizable(false);
@@ -275,4 +467,69 @@ public class GUIController extends BaseController implements ActionListener, Mou
             }
         }
     }
+
+    /**
+     * User's click on cell.
+     */
+    private static final class Click {
+
+        /**
+         * Board model click was made on.
+         */
+        private final BoardModel model;
+
+        /**
+         * Cell's 'x' coordinate.
+         */
+        private final int x;
+
+        /**
+         * Cell's 'y' coordinate.
+         */
+        private final int y;
+
+        /**
+         * User's suggest.
+         */
+        private final Suggest suggest;
+
+        /**
+         * Constructs <code>Click</code> object.
+         *
+         * @param model board model click was made on.
+         * @param x cell's 'x' coordinate.
+         * @param y cell's 'y' coordinate.
+         * @param suggest user's suggest.
+         */
+        Click(final BoardModel model, final int x, final int y, final Suggest suggest) {
+            this.model = model;
+            this.x = x;
+            this.y = y;
+            this.suggest = suggest;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Click)) {
+                return false;
+            }
+            final Click click = (Click) other;
+            return this.model == click.model && this.x == click.x && this.y == click.y &&
+                    this.suggest == click.suggest;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return (this.x * 31 + this.y) * 31 + this.suggest.hashCode();
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package ru.lightstar.sapper.gui;
+
+import ru.lightstar.sapper.BoardModel;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * Overview of the whole board with frame of its visible area. It is drawn from board's summary,
+ * so it costs one image blit whatever board's size is. Clicking or dragging on it scrolls the board.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class GUIMinimap extends JComponent implements PropertyChangeListener, ChangeListener {
+
+    /**
+     * Game board component.
+     */
+    private final GUIBoard board;
+
+    /**
+     * Viewport showing game board.
+     */
+    private final JViewport viewport;
+
+    /**
+     * Color of visible area's frame.
+     */
+    private final Color viewColor;
+
+    /**
+     * Constructs <code>GUIMinimap</code> object.
+     *
+     * @param board game board component.
+     * @param viewport viewport showing game board.
+     */
+    public GUIMinimap(final GUIBoard board, final JViewport viewport) {
+        super();
+
+        this.board = board;
+        this.viewport = viewport;
+        this.viewColor = Color.decode(GUIParams.MINIMAP_VIEW_COLOR);
+        this.setPreferredSize(new Dimension(GUIParams.MINIMAP_SIZE, GUIParams.MINIMAP_SIZE));
+
+        board.addPropertyChangeListener(GUIBoard.SUMMARY_PROPERTY, this);
+        viewport.addChangeListener(this);
+
+        final MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(final MouseEvent event) {
+                GUIMinimap.this.scrollTo(event.getPoint());
+            }
+
+            @Override
+            public void mouseDragged(final MouseEvent event) {
+                GUIMinimap.this.scrollTo(event.getPoint());
+            }
+        };
+        this.addMouseListener(mouseAdapter);
+        this.addMouseMotionListener(mouseAdapter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void paintComponent(final Graphics graphics) {
+        super.paintComponent(graphics);
+
+        final BoardModel model = this.board.getModel();
+        if (model == null || !this.isVisible()) {
+            return;
+        }
+
+        final double cellSize = this.getCellSize(model);
+        graphics.drawImage(this.board.getSummary().getImage(), 0, 0,
+                (int) Math.ceil(model.getWidth() * cellSize), (int) Math.ceil(model.getHeight() * cellSize), null);
+
+        final Rectangle view = this.viewport.getViewRect();
+        final double ratio = cellSize / this.board.getZoom();
+        graphics.setColor(this.viewColor);
+        graphics.drawRect((int) (view.x * ratio), (int) (view.y * ratio),
+                Math.max(1, (int) (view.width * ratio) - 1), Math.max(1, (int) (view.height * ratio) - 1));
+    }
+
+    /**
+     * Repaint minimap when board's summary is changed.
+     *
+     * @param event incoming property change event.
+     */
+    @Override
+    public void propertyChange(final PropertyChangeEvent event) {
+        this.repaint();
+    }
+
+    /**
+     * Repaint minimap when board is scrolled or zoomed.
+     *
+     * @param event incoming change event.
+     */
+    @Override
+    public void stateChanged(final ChangeEvent event) {
+        this.repaint();
+    }
+
+    /**
+     * Get cell's size on minimap, so the whole board fits into it.
+     *
+     * @param model board model.
+     * @return cell's size in pixels.
+     */
+    private double getCellSize(final BoardModel model) {
+        return Math.min((double) this.getWidth() / model.getWidth(), (double) this.getHeight() / model.getHeight());
+    }
+
+    /**
+     * Scroll board so given point of minimap is in the center of visible area.
+     *
+     * @param point point of minimap.
+     */
+    private void scrollTo(final Point point) {
+        final BoardModel model = this.board.getModel();
+        if (model == null) {
+            return;
+        }
+
+        final double ratio = this.board.getZoom() / this.getCellSize(model);
+        final Dimension extent = this.viewport.getExtentSize();
+        final Dimension size = this.board.getSize();
+        final int x = (int) (point.x * ratio) - extent.width / 2;
+        final int y = (int) (point.y * ratio) - extent.height / 2;
+        this.viewport.setViewPosition(new Point(Math.max(0, Math.min(x, size.width - extent.width)),
+                Math.max(0, Math.min(y, size.height - extent.height))));
+    }
+}
@@ -61,7 +61,7 @@ public class GUIParams {
     /**
      * Maximum board's width for custom game.
      */
-    public static final int MAX_BOARD_WIDTH = 30;
+    public static final int MAX_BOARD_WIDTH = 5000;
 
     /**
      * Minimum board's height for custom game.
@@ -71,13 +71,73 @@ public class GUIParams {
     /**
      * Maximum board's height for custom game.
      */
-    public static final int MAX_BOARD_HEIGHT = 20;
+    public static final int MAX_BOARD_HEIGHT = 5000;
+
+    /**
+     * Maximum width of visible part of board. Bigger boards are scrolled.
+     */
+    public static final int MAX_VIEW_WIDTH = 1500;
+
+    /**
+     * Maximum height of visible part of board. Bigger boards are scrolled.
+     */
+    public static final int MAX_VIEW_HEIGHT = 1000;
 
     /**
      * Cell graphics size.
      */
     public static final int CELL_SIZE = 50;
 
+    /**
+     * Size of rendered board tile in pixels.
+     */
+    public static final int TILE_SIZE = 400;
+
+    /**
+     * Maximum count of rendered board tiles kept in memory.
+     */
+    public static final int TILE_CACHE_SIZE = 64;
+
+    /**
+     * Zoom factor of one mouse wheel step.
+     */
+    public static final double ZOOM_STEP = 1.25;
+
+    /**
+     * Minimum cell size in pixels at which cell's glyph is drawn. Smaller cells are drawn as plain squares.
+     */
+    public static final int MIN_GLYPH_CELL_SIZE = 12;
+
+    /**
+     * Minimum cell size in pixels at which cells are drawn one by one. Smaller cells are drawn from board summary.
+     */
+    public static final int MIN_CELL_SIZE = 1;
+
+    /**
+     * Maximum size of board summary's side in pixels.
+     */
+    public static final int SUMMARY_SIZE = 1024;
+
+    /**
+     * Size of minimap's side in pixels.
+     */
+    public static final int MINIMAP_SIZE = 200;
+
+    /**
+     * Color of visible area's frame on minimap.
+     */
+    public static final String MINIMAP_VIEW_COLOR = "0xff0000";
+
+    /**
+     * Frames per second drawn by board with active rendering.
+     */
+    public static final int FRAME_RATE = 60;
+
+    /**
+     * Count of buffers used by board with active rendering.
+     */
+    public static final int BUFFER_COUNT = 2;
+
     /**
      * Color of cell grid.
      */
@@ -108,6 +168,11 @@ public class GUIParams {
      */
     public static final int CELL_HIDDEN_STROKE = 2;
 
+    /**
+     * Color of small hidden cell drawn as plain square.
+     */
+    public static final String CELL_HIDDEN_FILL_COLOR = "0x9e9e9e";
+
     /**
      * Padding of 'hidden' symbol displayed on cell.
      */
@@ -2,7 +2,7 @@ package ru.lightstar.sapper.gui;
 
 import ru.lightstar.sapper.BaseLogic;
 import ru.lightstar.sapper.BoardGenerator;
-import ru.lightstar.sapper.Logic;
+import ru.lightstar.sapper.PooledBoardGenerator;
 
 import javax.swing.*;
 import java.awt.*;
@@ -15,6 +15,11 @@ import java.awt.*;
  */
 public class GUIRunner {
 
+    /**
+     * Count of ready boards kept for every preset.
+     */
+    private static final int BOARD_POOL_SIZE = 2;
+
     /**
      * Main frame.
      */
@@ -36,10 +41,20 @@ public class GUIRunner {
      * @param generatorClass board generator's interface implementation. It must have default constructor.
      */
     public void run(final Class<? extends BoardGenerator> generatorClass) {
+        this.run(generatorClass, false);
+    }
+
+    /**
+     * Run this runner.
+     *
+     * @param generatorClass board generator's interface implementation. It must have default constructor.
+     * @param activeRendering true to draw board with its own render thread instead of Swing repaints.
+     */
+    public void run(final Class<? extends BoardGenerator> generatorClass, final boolean activeRendering) {
         EventQueue.invokeLater(() -> {
             this.initFrame();
             this.initInfoPanel();
-            this.initController(generatorClass);
+            this.initController(generatorClass, activeRendering);
             this.initControlPanel();
             this.controller.run();
             this.showFrame();
@@ -58,23 +73,46 @@ public class GUIRunner {
     }
 
     /**
-     * Create and initialize game controller.
+     * Create and initialize game controller. Board with active rendering is scaled to fit
+     * into view, so it has neither scroll pane nor minimap.
      *
      * @param generatorClass board generator's interface implementation. It must have default constructor.
+     * @param activeRendering true to draw board with its own render thread instead of Swing repaints.
      */
-    private void initController(final Class<? extends BoardGenerator> generatorClass) {
-        final BoardGenerator generator;
+    private void initController(final Class<? extends BoardGenerator> generatorClass,
+                                final boolean activeRendering) {
+        final PooledBoardGenerator generator;
         try {
-            generator = generatorClass.newInstance();
+            generator = new PooledBoardGenerator(generatorClass.getDeclaredConstructor().newInstance(),
+                    generatorClass.getDeclaredConstructor().newInstance(), BOARD_POOL_SIZE);
         } catch (ReflectiveOperationException e) {
             throw new IllegalArgumentException("Wrong board generator class. It must have default constructor.");
         }
 
+        generator.addPreset(GUIParams.EASY_BOARD_WIDTH, GUIParams.EASY_BOARD_HEIGHT, GUIParams.EASY_BOARD_BOMBS);
+        generator.addPreset(GUIParams.MEDIUM_BOARD_WIDTH, GUIParams.MEDIUM_BOARD_HEIGHT, GUIParams.MEDIUM_BOARD_BOMBS);
+        generator.addPreset(GUIParams.HARD_BOARD_WIDTH, GUIParams.HARD_BOARD_HEIGHT, GUIParams.HARD_BOARD_BOMBS);
+
+        final BaseLogic logic = new BaseLogic();
+        logic.setSnapshotPublished(true);
+        if (activeRendering) {
+            final GUICanvasBoard board = new GUICanvasBoard();
+            board.setLogic(logic);
+            this.controller = new GUIController(logic, board, generator, this.frame, this.infoLabel);
+            this.frame.add(board, BorderLayout.CENTER);
+            return;
+        }
+
         final GUIBoard board = new GUIBoard();
-        final Logic logic = new BaseLogic();
+        board.setLogic(logic);
         this.controller = new GUIController(logic, board, generator, this.frame, this.infoLabel);
 
-        this.frame.add(board, BorderLayout.CENTER);
+        final JScrollPane scrollPane = new JScrollPane(board);
+        final GUIMinimap minimap = new GUIMinimap(board, scrollPane.getViewport());
+        this.controller.setMinimap(minimap);
+
+        this.frame.add(scrollPane, BorderLayout.CENTER);
+        this.frame.add(minimap, BorderLayout.LINE_END);
     }
 
     /**
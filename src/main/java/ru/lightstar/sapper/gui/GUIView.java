@@ -0,0 +1,32 @@
+package ru.lightstar.sapper.gui;
+
+import ru.lightstar.sapper.Board;
+import ru.lightstar.sapper.BoardModel;
+import ru.lightstar.sapper.LogicListener;
+
+import java.awt.Point;
+
+/**
+ * Game board shown in GUI. It gets changed cells from game logic and maps mouse points to cells.
+ * All its methods are called on event dispatch thread.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public interface GUIView extends Board, LogicListener {
+
+    /**
+     * Get cell under given point of board.
+     *
+     * @param point point of board in pixels.
+     * @return cell's coordinates, or null if there is no cell under point.
+     */
+    Point getCell(Point point);
+
+    /**
+     * Get board model shown by view.
+     *
+     * @return board model, or null if it isn't set.
+     */
+    BoardModel getModel();
+}
@@ -13,10 +13,10 @@ public class Main {
     /**
      * Entry point for GUI runner.
      *
-     * @param args not used.
+     * @param args command line arguments. Board is drawn with active rendering if first argument is 'active'.
      */
     public static void main(final String[] args) {
         final GUIRunner runner = new GUIRunner();
-        runner.run(RandomBoardGenerator.class);
+        runner.run(RandomBoardGenerator.class, args.length > 0 && "active".equals(args[0]));
     }
 }
@@ -0,0 +1,145 @@
+package ru.lightstar.sapper.gui;
+
+import java.awt.Image;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of rendered board tiles with bounded count of tiles.
+ * When it is full, least recently used tile is evicted, so tiles scrolled off screen go first.
+ * This class is not thread-safe.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class TileCache {
+
+    /**
+     * Tiles' images, from least to most recently used.
+     */
+    private final LinkedHashMap<Long, Image> tiles;
+
+    /**
+     * Maximum count of tiles.
+     */
+    private final int capacity;
+
+    /**
+     * Count of tiles found in cache.
+     */
+    private long hitCount;
+
+    /**
+     * Count of tiles not found in cache.
+     */
+    private long missCount;
+
+    /**
+     * Constructs <code>TileCache</code> object.
+     *
+     * @param capacity maximum count of tiles.
+     */
+    public TileCache(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero");
+        }
+
+        this.capacity = capacity;
+        this.tiles = new LinkedHashMap<Long, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, Image> eldest) {
+                if (this.size() > TileCache.this.capacity) {
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get key of tile.
+     *
+     * @param tileX tile's 'x' coordinate in tiles.
+     * @param tileY tile's 'y' coordinate in tiles.
+     * @return tile's key.
+     */
+    public static long key(final int tileX, final int tileY) {
+        return ((long) tileY << 32) | (tileX & 0xffffffffL);
+    }
+
+    /**
+     * Get tile's image.
+     *
+     * @param key tile's key.
+     * @return tile's image, or null if it isn't in cache.
+     */
+    public Image get(final long key) {
+        final Image tile = this.tiles.get(key);
+        if (tile != null) {
+            this.hitCount++;
+        } else {
+            this.missCount++;
+        }
+        return tile;
+    }
+
+    /**
+     * Put tile's image into cache, evicting least recently used tile if cache is full.
+     *
+     * @param key tile's key.
+     * @param tile tile's image.
+     */
+    public void put(final long key, final Image tile) {
+        this.tiles.put(key, tile);
+    }
+
+    /**
+     * Remove tile from cache, so it is rendered again when needed.
+     *
+     * @param key tile's key.
+     */
+    public void invalidate(final long key) {
+        final Image tile = this.tiles.remove(key);
+        if (tile != null) {
+            tile.flush();
+        }
+    }
+
+    /**
+     * Remove all tiles from cache.
+     */
+    public void clear() {
+        for (final Image tile : this.tiles.values()) {
+            tile.flush();
+        }
+        this.tiles.clear();
+    }
+
+    /**
+     * Get count of tiles in cache.
+     *
+     * @return count of tiles.
+     */
+    public int getSize() {
+        return this.tiles.size();
+    }
+
+    /**
+     * Get count of tiles found in cache.
+     *
+     * @return hit count.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Get count of tiles not found in cache.
+     *
+     * @return miss count.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+}
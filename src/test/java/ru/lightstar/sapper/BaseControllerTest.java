@@ -0,0 +1,212 @@
+package ru.lightstar.sapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * <code>BaseController</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BaseControllerTest {
+
+    /**
+     * Game board remembering last set model.
+     */
+    private TestBoard board;
+
+    /**
+     * Controller under test.
+     */
+    private BaseController controller;
+
+    /**
+     * Create controller in deferred generation mode.
+     */
+    @Before
+    public void createController() {
+        this.board = new TestBoard();
+        this.controller = new BaseController(new BaseLogic(), this.board, new RandomBoardGenerator());
+        this.controller.setDeferredGeneration(true);
+    }
+
+    /**
+     * Test that in deferred mode init shows closed board without generating it.
+     */
+    @Test
+    public void whenInitDeferredThenHiddenBoard() throws GenerateException, LogicException {
+        this.controller.init(1000, 1000, 1000);
+
+        assertThat(this.board.model, instanceOf(HiddenBoardModel.class));
+        assertThat(((HiddenBoardModel) this.board.model).isGenerated(), is(false));
+        assertThat(this.board.model.getWidth(), is(1000));
+        assertThat(this.controller.getLogic().getBombCount(), is(1000L));
+    }
+
+    /**
+     * Test that controller keeps model of current board, so input aimed at previous board can be told apart.
+     */
+    @Test
+    public void whenInitAgainThenModelReplaced() throws GenerateException, LogicException {
+        this.controller.init(10, 10, 10);
+        final BoardModel first = this.controller.getModel();
+        this.controller.init(10, 10, 10);
+
+        assertThat(this.controller.getModel() == this.board.model, is(true));
+        assertThat(this.controller.getModel() == first, is(false));
+    }
+
+    /**
+     * Test that in deferred mode first suggest generates board and never loses.
+     */
+    @Test
+    public void whenFirstSuggestDeferredThenBoardGeneratedAndCellSafe() throws GenerateException, LogicException {
+        for (int i = 0; i < 50; i++) {
+            this.controller.init(5, 5, 16);
+            this.controller.suggest(2, 2, Suggest.EMPTY);
+
+            assertThat(((HiddenBoardModel) this.board.model).isGenerated(), is(true));
+            assertThat(this.board.model.getBombCount(), is(16L));
+            assertThat(this.board.model.countBombs(0, 0, 5, 5), is(16));
+            assertThat(this.board.model.getNearestBombCount(2, 2), is(0));
+            assertThat(this.controller.getLogic().isLose(), is(false));
+        }
+    }
+
+    /**
+     * Test that bomb suggest doesn't generate board, and it is replayed when board is generated on first opened cell.
+     */
+    @Test
+    public void whenBombSuggestBeforeGenerationThenItIsReplayed() throws GenerateException, LogicException {
+        for (int i = 0; i < 50; i++) {
+            this.controller.init(5, 5, 16);
+            this.controller.suggest(4, 4, Suggest.BOMB);
+            this.controller.suggest(0, 4, Suggest.BOMB);
+
+            assertThat(((HiddenBoardModel) this.board.model).isGenerated(), is(false));
+            assertThat(this.controller.getLogic().getSuggestedBombCount(), is(2L));
+
+            this.controller.suggest(2, 2, Suggest.EMPTY);
+
+            assertThat(((HiddenBoardModel) this.board.model).isGenerated(), is(true));
+            assertThat(this.board.model.getNearestBombCount(2, 2), is(0));
+            assertThat(this.board.model.getSuggest(4, 4), is(Suggest.BOMB));
+            assertThat(this.board.model.getSuggest(0, 4), is(Suggest.BOMB));
+            assertThat(this.controller.getLogic().getSuggestedBombCount(), is(2L));
+            assertThat(this.controller.getLogic().isLose(), is(false));
+        }
+    }
+
+    /**
+     * Test that deferred board is won after bombs suggested before generation and all other cells are opened.
+     */
+    @Test
+    public void whenDeferredBoardPlayedThroughThenWin() throws GenerateException, LogicException {
+        for (int i = 0; i < 50; i++) {
+            this.controller.init(5, 5, 3);
+            final HiddenBoardModel model = (HiddenBoardModel) this.board.model;
+            for (int x = 0; x < 5; x++) {
+                this.controller.suggest(x, 0, Suggest.BOMB);
+            }
+            this.controller.suggest(2, 4, Suggest.EMPTY);
+
+            for (int y = 0; y < 5 && !this.controller.getLogic().isWin(); y++) {
+                for (int x = 0; x < 5 && !this.controller.getLogic().isWin(); x++) {
+                    if (model.getBomb(x, y) != Bomb.NONE && model.getSuggest(x, y) != Suggest.BOMB) {
+                        this.controller.suggest(x, y, Suggest.BOMB);
+                    } else if (model.getBomb(x, y) == Bomb.NONE && model.getSuggest(x, y) != Suggest.EMPTY) {
+                        this.controller.suggest(x, y, Suggest.EMPTY);
+                    }
+                }
+            }
+
+            assertThat(this.controller.getLogic().isWin(), is(true));
+            assertThat(this.controller.getLogic().isLose(), is(false));
+        }
+    }
+
+    /**
+     * Test that invalid parameters of deferred board are rejected on init.
+     */
+    @Test(expected = GenerateException.class)
+    public void whenInitDeferredWithTooManyBombsThenException() throws GenerateException, LogicException {
+        this.controller.init(5, 5, 26);
+    }
+
+    /**
+     * Test that out of bounds first suggest doesn't generate board.
+     */
+    @Test
+    public void whenFirstSuggestOutOfBoundsThenException() throws GenerateException, LogicException {
+        this.controller.init(5, 5, 5);
+        try {
+            this.controller.suggest(5, 0, Suggest.EMPTY);
+            fail();
+        } catch (LogicException e) {
+            assertThat(e.getMessage(), is("Provided 'x' parameter is out of bounds"));
+        }
+
+        assertThat(((HiddenBoardModel) this.board.model).isGenerated(), is(false));
+    }
+
+    /**
+     * Test that without deferred mode board is generated on init.
+     */
+    @Test
+    public void whenInitNotDeferredThenBoardGenerated() throws GenerateException, LogicException {
+        this.controller.setDeferredGeneration(false);
+        this.controller.init(5, 5, 5);
+
+        assertThat(this.board.model, not(instanceOf(HiddenBoardModel.class)));
+        assertThat(this.board.model.getBombCount(), is(5L));
+    }
+
+    /**
+     * Game board which only remembers set model.
+     */
+    private static class TestBoard implements Board {
+
+        /**
+         * Last set board model.
+         */
+        private BoardModel model;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void setBoard(final BoardModel model) {
+            this.model = model;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void drawBoard() {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void drawLose() {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void drawWin() {
+        }
+    }
+}
@@ -3,6 +3,11 @@ package ru.lightstar.sapper;
 import org.junit.Test;
 import ru.lightstar.sapper.exception.LogicException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
@@ -35,8 +40,8 @@ public class BaseLogicTest {
 
         assertThat(this.logic.getHeight(), is(6));
         assertThat(this.logic.getWidth(), is(2));
-        assertThat(this.logic.getBombCount(), is(4));
-        assertThat(this.logic.getSuggestedBombCount(), is(0));
+        assertThat(this.logic.getBombCount(), is(4L));
+        assertThat(this.logic.getSuggestedBombCount(), is(0L));
         assertThat(this.logic.isLose(), is(false));
         assertThat(this.logic.isWin(), is(false));
     }
@@ -71,6 +76,22 @@ public class BaseLogicTest {
         });
     }
 
+    /**
+     * Test that counts of board with more cells and bombs than int holds don't overflow.
+     */
+    @Test
+    public void whenHugeBoardThenCountsDoNotOverflow() throws LogicException {
+        final ChunkedBoardModel model = new ChunkedBoardModel(Integer.MAX_VALUE, Integer.MAX_VALUE, 0.5, 1L);
+        this.logic.setBoard(model);
+
+        this.logic.suggest(1000000000, 1000000000, Suggest.BOMB);
+
+        assertThat(this.logic.getBombCount(), is(model.getBombCount()));
+        assertThat(this.logic.getBombCount() > Integer.MAX_VALUE, is(true));
+        assertThat(this.logic.getSuggestedBombCount(), is(1L));
+        assertThat(this.logic.isWin(), is(false));
+    }
+
     /**
      * Test correctness of suggesting bomb.
      */
@@ -79,7 +100,7 @@ public class BaseLogicTest {
         this.initTestLogic();
         this.logic.suggest(0, 0, Suggest.BOMB);
 
-        assertThat(this.logic.getSuggestedBombCount(), is(1));
+        assertThat(this.logic.getSuggestedBombCount(), is(1L));
         assertThat(this.logic.isLose(), is(false));
         assertThat(this.logic.isWin(), is(false));
     }
@@ -92,7 +113,7 @@ public class BaseLogicTest {
         this.initTestLogic();
         this.logic.suggest(0, 1, Suggest.EMPTY);
 
-        assertThat(this.logic.getSuggestedBombCount(), is(0));
+        assertThat(this.logic.getSuggestedBombCount(), is(0L));
         assertThat(this.logic.isLose(), is(false));
         assertThat(this.logic.isWin(), is(false));
     }
@@ -156,6 +177,52 @@ public class BaseLogicTest {
         assertThat(this.logic.isLose(), is(false));
     }
 
+    /**
+     * Test auto-opening of big empty region in one suggest.
+     */
+    @Test
+    public void whenSuggestEmptyOnBigRegionThenAllOpenedAndWin() throws LogicException {
+        final int size = 1000;
+        final Cell[][] cells = new Cell[size][];
+        for (int y = 0; y < size; y++) {
+            cells[y] = new Cell[size];
+            for (int x = 0; x < size; x++) {
+                cells[y][x] = new BaseCell(Bomb.NONE, x <= 1 && y <= 1 ? 1 : 0);
+            }
+        }
+        cells[0][0] = new BaseCell(Bomb.BOMB, 0);
+        this.logic.setBoard(cells);
+
+        this.logic.suggest(size - 1, size - 1, Suggest.EMPTY);
+
+        assertThat(this.logic.isWin(), is(true));
+        assertThat(this.logic.isLose(), is(false));
+        assertThat(cells[0][1].getSuggest(), is(Suggest.EMPTY));
+        assertThat(cells[0][0].getSuggest(), is(Suggest.NONE));
+    }
+
+    /**
+     * Test winning game on packed board.
+     */
+    @Test
+    public void whenSuggestAllOnPackedBoardThenWin() throws LogicException {
+        final PackedBoardModel packedCells = new PackedBoardModel(3, 1);
+        packedCells.setCell(0, 0, Bomb.BOMB, 0);
+        packedCells.setCell(1, 0, Bomb.NONE, 1);
+        this.logic.setBoard(packedCells);
+
+        assertThat(this.logic.getBombCount(), is(1L));
+
+        this.logic.suggest(0, 0, Suggest.BOMB);
+        assertThat(this.logic.getSuggestedBombCount(), is(1L));
+
+        this.logic.suggest(2, 0, Suggest.EMPTY);
+
+        assertThat(packedCells.getSuggest(1, 0), is(Suggest.EMPTY));
+        assertThat(this.logic.isWin(), is(true));
+        assertThat(this.logic.isLose(), is(false));
+    }
+
     /**
      * Test exception thrown when suggest after game over.
      */
@@ -178,6 +245,145 @@ public class BaseLogicTest {
         this.logic.suggest(3, 1, Suggest.EMPTY);
     }
 
+    /**
+     * Test that <code>trySuggest</code> returns status instead of throwing exceptions.
+     */
+    @Test
+    public void whenTrySuggestThenStatusReturned() throws LogicException {
+        this.initTestLogic();
+
+        assertThat(this.logic.trySuggest(2, 0, Suggest.EMPTY), is(SuggestResult.X_OUT_OF_BOUNDS));
+        assertThat(this.logic.trySuggest(0, -1, Suggest.EMPTY), is(SuggestResult.Y_OUT_OF_BOUNDS));
+        assertThat(this.logic.trySuggest(0, 1, Suggest.EMPTY), is(SuggestResult.OK));
+        assertThat(this.logic.trySuggest(0, 1, Suggest.BOMB), is(SuggestResult.ALREADY_OPENED));
+        assertThat(this.logic.trySuggest(0, 0, Suggest.EMPTY), is(SuggestResult.OK));
+        assertThat(this.logic.isLose(), is(true));
+        assertThat(this.logic.trySuggest(1, 0, Suggest.BOMB), is(SuggestResult.GAME_OVER));
+    }
+
+    /**
+     * Test that <code>suggest</code> throws exception with status message.
+     */
+    @Test
+    public void whenSuggestOpenedCellThenExceptionWithMessage() throws LogicException {
+        this.initTestLogic();
+        this.logic.suggest(0, 1, Suggest.EMPTY);
+
+        try {
+            this.logic.suggest(0, 1, Suggest.EMPTY);
+            fail();
+        } catch (LogicException e) {
+            assertThat(e.getMessage(), is("Cell already opened"));
+        }
+    }
+
+    /**
+     * Test that listener gets cells changed by suggest and status transition.
+     */
+    @Test
+    public void whenSuggestThenListenerGetsChanges() throws LogicException {
+        this.initTestLogic();
+        final List<String> events = new ArrayList<>();
+        this.logic.addListener(changes -> {
+            final StringBuilder event = new StringBuilder();
+            for (int number = 0; number < changes.getSize(); number++) {
+                event.append(changes.getX(number)).append(changes.getY(number)).append(' ');
+            }
+            events.add(event.append(changes.getOldStatus()).append('-').append(changes.getNewStatus()).toString());
+        });
+
+        this.logic.suggest(0, 5, Suggest.EMPTY);
+        this.logic.trySuggest(5, 5, Suggest.EMPTY);
+        this.logic.suggest(0, 0, Suggest.EMPTY);
+
+        assertThat(events.size(), is(2));
+        assertThat(events.get(0), is("05 04 14 15 PLAYING-PLAYING"));
+        assertThat(events.get(1), is("00 PLAYING-LOSE"));
+    }
+
+    /**
+     * Test that removed listener isn't notified.
+     */
+    @Test
+    public void whenListenerRemovedThenNotNotified() throws LogicException {
+        this.initTestLogic();
+        final List<ChangeSet> events = new ArrayList<>();
+        final LogicListener listener = events::add;
+        this.logic.addListener(listener);
+        this.logic.suggest(1, 0, Suggest.BOMB);
+        this.logic.removeListener(listener);
+        this.logic.suggest(0, 0, Suggest.BOMB);
+
+        assertThat(events.size(), is(1));
+    }
+
+    /**
+     * Test that published snapshot follows suggests while previous snapshot stays unchanged.
+     */
+    @Test
+    public void whenSnapshotPublishedThenItFollowsSuggests() throws LogicException {
+        assertThat(this.logic.getSnapshot() == null, is(true));
+        this.logic.setSnapshotPublished(true);
+        this.initTestLogic();
+        final BoardSnapshot first = this.logic.getSnapshot();
+
+        this.logic.suggest(0, 0, Suggest.BOMB);
+        this.logic.suggest(0, 5, Suggest.EMPTY);
+        final BoardSnapshot last = this.logic.getSnapshot();
+
+        assertThat(first.getSuggest(0, 0), is(Suggest.NONE));
+        assertThat(first.getSuggestedBombCount(), is(0L));
+        assertThat(last.getSuggest(0, 0), is(Suggest.BOMB));
+        assertThat(last.getSuggest(1, 4), is(Suggest.EMPTY));
+        assertThat(last.getSuggestedBombCount(), is(1L));
+        assertThat(last.getBombCount(), is(4L));
+        assertThat(last.getStatus(), is(GameStatus.PLAYING));
+        assertThat(last.getVersion(), is(first.getVersion() + 2));
+    }
+
+    /**
+     * Test that snapshots read on another thread while game is played have counters matching their cells.
+     */
+    @Test
+    public void whenSnapshotsReadConcurrentlyThenTheyAreConsistent() throws Exception {
+        final BoardModel model = new RandomBoardGenerator().generate(300, 200, 3000, 15L);
+        this.logic.setSnapshotPublished(true);
+        this.logic.setBoard(model);
+
+        final AtomicBoolean isPlaying = new AtomicBoolean(true);
+        final AtomicReference<String> error = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            long version = -1;
+            while (isPlaying.get()) {
+                final BoardSnapshot snapshot = this.logic.getSnapshot();
+                if (snapshot.getVersion() < version) {
+                    error.set("Version decreased");
+                }
+                if (snapshot.countSuggests(0, 0, 300, 200, Suggest.BOMB) != snapshot.getSuggestedBombCount()) {
+                    error.set("Counter doesn't match cells");
+                }
+                version = snapshot.getVersion();
+            }
+        });
+        reader.start();
+
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 300; x++) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
+                    this.logic.suggest(x, y, Suggest.BOMB);
+                } else if (model.getSuggest(x, y) == Suggest.NONE) {
+                    this.logic.suggest(x, y, Suggest.EMPTY);
+                }
+            }
+        }
+        isPlaying.set(false);
+        reader.join();
+
+        assertThat(error.get() == null, is(true));
+        assertThat(this.logic.getSnapshot().getStatus(), is(GameStatus.WIN));
+        assertThat(this.logic.getSnapshot().getSuggestedBombCount(), is(3000L));
+    }
+
     /**
      * Initialize test board used in several tests.
      */
@@ -0,0 +1,208 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>BoardSnapshot</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BoardSnapshotTest {
+
+    /**
+     * Create test board spanning several snapshot pages.
+     *
+     * @return test board.
+     */
+    private PackedBoardModel createModel() {
+        final PackedBoardModel model = new PackedBoardModel(100, 90);
+        model.setCell(0, 0, Bomb.BOMB, 0);
+        model.setCell(1, 0, Bomb.NONE, 1);
+        model.setCell(99, 89, Bomb.NONE, 8);
+        model.setSuggest(0, 0, Suggest.BOMB);
+        model.setSuggest(99, 89, Suggest.EMPTY);
+        return model;
+    }
+
+    /**
+     * Test that taken snapshot has the same suggests and given counters, but bombs only of opened cells.
+     */
+    @Test
+    public void whenTakenThenSuggestsAndCountersCopied() {
+        final PackedBoardModel model = this.createModel();
+        final BoardSnapshot snapshot = BoardSnapshot.take(model, 5L, GameStatus.PLAYING, 1, 1);
+
+        for (int y = 0; y < model.getHeight(); y++) {
+            for (int x = 0; x < model.getWidth(); x++) {
+                assertThat(snapshot.getSuggest(x, y), is(model.getSuggest(x, y)));
+            }
+        }
+        assertThat(snapshot.getBomb(0, 0), is(Bomb.NONE));
+        assertThat(snapshot.getNearestBombCount(1, 0), is(0));
+        assertThat(snapshot.getNearestBombCount(99, 89), is(8));
+        assertThat(snapshot.getWidth(), is(100));
+        assertThat(snapshot.getHeight(), is(90));
+        assertThat(snapshot.getVersion(), is(5L));
+        assertThat(snapshot.getStatus(), is(GameStatus.PLAYING));
+        assertThat(snapshot.getBombCount(), is(1L));
+        assertThat(snapshot.getSuggestedBombCount(), is(1L));
+        assertThat(snapshot.isTakenFrom(model), is(true));
+    }
+
+    /**
+     * Test that snapshot of finished game has the same cells as board.
+     */
+    @Test
+    public void whenGameOverThenAllCellsSameAsBoard() {
+        final PackedBoardModel model = this.createModel();
+        final BoardSnapshot snapshot = BoardSnapshot.take(model, 0L, GameStatus.LOSE, 1, 1);
+
+        for (int y = 0; y < model.getHeight(); y++) {
+            for (int x = 0; x < model.getWidth(); x++) {
+                assertThat(snapshot.getBomb(x, y), is(model.getBomb(x, y)));
+                assertThat(snapshot.getNearestBombCount(x, y), is(model.getNearestBombCount(x, y)));
+                assertThat(snapshot.getSuggest(x, y), is(model.getSuggest(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that snapshot of new board doesn't read its cells, and cells opened later are read from board.
+     */
+    @Test
+    public void whenHiddenThenBoardNotRead() {
+        final PackedBoardModel opened = this.createModel();
+        final BoardModel model = new AbstractBoardModel() {
+            private boolean isReadable;
+
+            @Override
+            public int getWidth() {
+                return 100;
+            }
+
+            @Override
+            public int getHeight() {
+                return 90;
+            }
+
+            @Override
+            public Bomb getBomb(final int x, final int y) {
+                return this.read(opened.getBomb(x, y));
+            }
+
+            @Override
+            public int getNearestBombCount(final int x, final int y) {
+                return this.read(opened.getNearestBombCount(x, y));
+            }
+
+            @Override
+            public Suggest getSuggest(final int x, final int y) {
+                this.isReadable = x == 99 && y == 89;
+                return this.read(opened.getSuggest(x, y));
+            }
+
+            @Override
+            public void setSuggest(final int x, final int y, final Suggest suggest) {
+            }
+
+            @Override
+            public long getBombCount() {
+                return 1L;
+            }
+
+            private <T> T read(final T value) {
+                if (!this.isReadable) {
+                    throw new IllegalStateException("Cell is read");
+                }
+                return value;
+            }
+        };
+
+        final BoardSnapshot snapshot = BoardSnapshot.hidden(model, 0L, GameStatus.PLAYING, 1, 0);
+        final ChangeSet changes = new ChangeSet();
+        changes.reset(model.getWidth(), GameStatus.PLAYING);
+        changes.add(99, 89);
+        final BoardSnapshot next = snapshot.update(changes, 0);
+
+        assertThat(snapshot.getSuggest(99, 89), is(Suggest.NONE));
+        assertThat(snapshot.getSuggest(0, 0), is(Suggest.NONE));
+        assertThat(next.getSuggest(99, 89), is(Suggest.EMPTY));
+        assertThat(next.getNearestBombCount(99, 89), is(8));
+        assertThat(next.getSuggest(0, 0), is(Suggest.NONE));
+    }
+
+    /**
+     * Test that updated snapshot has changes applied while old snapshot stays unchanged.
+     */
+    @Test
+    public void whenUpdatedThenOldSnapshotUnchanged() {
+        final PackedBoardModel model = this.createModel();
+        final BoardSnapshot snapshot = BoardSnapshot.take(model, 0L, GameStatus.PLAYING, 1, 1);
+
+        final ChangeSet changes = new ChangeSet();
+        changes.reset(model.getWidth(), GameStatus.PLAYING);
+        model.setSuggest(0, 0, Suggest.EMPTY);
+        changes.add(0, 0);
+        model.setSuggest(50, 60, Suggest.BOMB);
+        changes.add(50, 60);
+        changes.setNewStatus(GameStatus.LOSE);
+        final BoardSnapshot next = snapshot.update(changes, 1);
+
+        assertThat(snapshot.getSuggest(0, 0), is(Suggest.BOMB));
+        assertThat(snapshot.getSuggest(50, 60), is(Suggest.NONE));
+        assertThat(snapshot.getStatus(), is(GameStatus.PLAYING));
+        assertThat(next.getSuggest(0, 0), is(Suggest.EMPTY));
+        assertThat(next.getBomb(0, 0), is(Bomb.BOMB));
+        assertThat(next.getSuggest(50, 60), is(Suggest.BOMB));
+        assertThat(next.getSuggest(99, 89), is(Suggest.EMPTY));
+        assertThat(next.getNearestBombCount(99, 89), is(8));
+        assertThat(next.getStatus(), is(GameStatus.LOSE));
+        assertThat(next.getVersion(), is(1L));
+    }
+
+    /**
+     * Test that snapshot of huge board is updated in far apart pages without going over all its pages.
+     */
+    @Test
+    public void whenHugeBoardUpdatedThenChangesInFarPagesApplied() {
+        final int max = Integer.MAX_VALUE;
+        final SparseBoardModel model = new SparseBoardModel(max, max, new long[]{1L});
+        final BoardSnapshot snapshot = BoardSnapshot.hidden(model, 0L, GameStatus.PLAYING, 1L, 0L);
+
+        final ChangeSet changes = new ChangeSet();
+        changes.reset(max, GameStatus.PLAYING);
+        model.setSuggest(1, 0, Suggest.BOMB);
+        changes.add(1, 0);
+        model.setSuggest(max - 1, max - 1, Suggest.EMPTY);
+        changes.add(max - 1, max - 1);
+        final BoardSnapshot next = snapshot.update(changes, 1L);
+
+        changes.reset(max, GameStatus.PLAYING);
+        model.setSuggest(max - 2, max - 1, Suggest.BOMB);
+        changes.add(max - 2, max - 1);
+        final BoardSnapshot last = next.update(changes, 2L);
+
+        assertThat(snapshot.getSuggest(1, 0), is(Suggest.NONE));
+        assertThat(snapshot.getSuggest(max - 1, max - 1), is(Suggest.NONE));
+        assertThat(next.getSuggest(1, 0), is(Suggest.BOMB));
+        assertThat(next.getSuggest(max - 1, max - 1), is(Suggest.EMPTY));
+        assertThat(next.getSuggest(max - 2, max - 1), is(Suggest.NONE));
+        assertThat(next.getSuggest(max / 2, max / 2), is(Suggest.NONE));
+        assertThat(last.getSuggest(1, 0), is(Suggest.BOMB));
+        assertThat(last.getSuggest(max - 1, max - 1), is(Suggest.EMPTY));
+        assertThat(last.getSuggest(max - 2, max - 1), is(Suggest.BOMB));
+        assertThat(last.getSuggestedBombCount(), is(2L));
+    }
+
+    /**
+     * Test exception thrown when snapshot is changed.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void whenSetSuggestThenException() {
+        BoardSnapshot.take(this.createModel(), 0L, GameStatus.PLAYING, 1, 1).setSuggest(0, 0, Suggest.EMPTY);
+    }
+}
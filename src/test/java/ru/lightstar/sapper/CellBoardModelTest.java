@@ -0,0 +1,75 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>CellBoardModel</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class CellBoardModelTest {
+
+    /**
+     * Board cells used in tests.
+     */
+    private final Cell[][] cells;
+
+    /**
+     * <code>CellBoardModel</code> object used in tests.
+     */
+    private final CellBoardModel model;
+
+    /**
+     * Constructs <code>CellBoardModelTest</code> object.
+     */
+    public CellBoardModelTest() {
+        this.cells = new Cell[][]{
+                {new BaseCell(Bomb.BOMB, 0), new BaseCell(Bomb.NONE, 1), new BaseCell(Bomb.NONE, 0)},
+                {new BaseCell(Bomb.NONE, 1), new BaseCell(Bomb.NONE, 1), new BaseCell(Bomb.NONE, 0)}
+        };
+        this.model = new CellBoardModel(this.cells);
+    }
+
+    /**
+     * Test correctness of board dimensions.
+     */
+    @Test
+    public void whenGetDimensionsThenResult() {
+        assertThat(this.model.getWidth(), is(3));
+        assertThat(this.model.getHeight(), is(2));
+    }
+
+    /**
+     * Test that cell accessors reflect wrapped cells.
+     */
+    @Test
+    public void whenGetCellThenResultFromWrappedCell() {
+        assertThat(this.model.getBomb(0, 0), is(Bomb.BOMB));
+        assertThat(this.model.getNearestBombCount(1, 0), is(1));
+        assertThat(this.model.getSuggest(2, 1), is(Suggest.NONE));
+    }
+
+    /**
+     * Test that suggest is set on wrapped cell.
+     */
+    @Test
+    public void whenSetSuggestThenItSetsOnWrappedCell() {
+        this.model.setSuggest(2, 1, Suggest.BOMB);
+
+        assertThat(this.cells[1][2].getSuggest(), is(Suggest.BOMB));
+        assertThat(this.model.countSuggests(0, 0, 3, 2, Suggest.BOMB), is(1));
+    }
+
+    /**
+     * Test correctness of bulk and region queries.
+     */
+    @Test
+    public void whenCountBombsThenResult() {
+        assertThat(this.model.getBombCount(), is(1L));
+        assertThat(this.model.countBombs(1, 0, 2, 2), is(0));
+    }
+}
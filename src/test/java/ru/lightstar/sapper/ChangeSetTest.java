@@ -0,0 +1,86 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ChangeSet</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChangeSetTest {
+
+    /**
+     * Test that added cells are kept with their bounding rectangle.
+     */
+    @Test
+    public void whenAddCellsThenBoundsKept() {
+        final ChangeSet changes = new ChangeSet();
+        changes.reset(100, GameStatus.PLAYING);
+        for (int number = 0; number < 40; number++) {
+            changes.add(10 + number, 20 + number / 2);
+        }
+
+        assertThat(changes.getSize(), is(40));
+        assertThat(changes.getX(39), is(49));
+        assertThat(changes.getY(39), is(39));
+        assertThat(changes.getIndex(0), is(2010L));
+        assertThat(changes.getMinX(), is(10));
+        assertThat(changes.getMaxX(), is(49));
+        assertThat(changes.getMinY(), is(20));
+        assertThat(changes.getMaxY(), is(39));
+    }
+
+    /**
+     * Test that merged change set keeps first old status and last new status.
+     */
+    @Test
+    public void whenAddAllThenChangesMerged() {
+        final ChangeSet first = new ChangeSet();
+        first.reset(10, GameStatus.PLAYING);
+        first.add(1, 2);
+        final ChangeSet second = new ChangeSet();
+        second.reset(10, GameStatus.PLAYING);
+        second.add(5, 6);
+        second.setNewStatus(GameStatus.LOSE);
+
+        final ChangeSet merged = new ChangeSet();
+        merged.reset(10, first.getOldStatus());
+        merged.addAll(first);
+        merged.addAll(second);
+
+        assertThat(merged.getSize(), is(2));
+        assertThat(merged.getX(1), is(5));
+        assertThat(merged.getY(1), is(6));
+        assertThat(merged.getOldStatus(), is(GameStatus.PLAYING));
+        assertThat(merged.getNewStatus(), is(GameStatus.LOSE));
+        assertThat(merged.isStatusChanged(), is(true));
+    }
+
+    /**
+     * Test that array grown by huge change set is shrunk on reset, and small one is kept.
+     */
+    @Test
+    public void whenResetAfterHugeChangeSetThenArrayShrunk() {
+        final ChangeSet changes = new ChangeSet();
+        changes.reset(1000, GameStatus.PLAYING);
+        for (int number = 0; number < 100; number++) {
+            changes.add(number, 0);
+        }
+        final int capacity = changes.getCapacity();
+        changes.reset(1000, GameStatus.PLAYING);
+
+        assertThat(changes.getCapacity(), is(capacity));
+
+        for (int number = 0; number < 200000; number++) {
+            changes.add(number % 1000, number / 1000);
+        }
+        changes.reset(1000, GameStatus.PLAYING);
+
+        assertThat(changes.getCapacity() <= capacity, is(true));
+        assertThat(changes.isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,146 @@
+package ru.lightstar.sapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.lightstar.sapper.exception.LogicException;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ChunkCache</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChunkCacheTest {
+
+    /**
+     * Folder for spill files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Spill file.
+     */
+    private File spillFile;
+
+    /**
+     * Create spill file's name.
+     */
+    @Before
+    public void createSpillFile() {
+        this.spillFile = new File(this.folder.getRoot(), "chunks.spill");
+    }
+
+    /**
+     * Create chunk with one bomb and given suggest.
+     *
+     * @param suggest suggest of top left cell.
+     * @return chunk.
+     */
+    private PackedBoardModel createChunk(final Suggest suggest) {
+        final PackedBoardModel chunk = new PackedBoardModel(4, 3);
+        chunk.placeBomb(1, 1);
+        chunk.setSuggest(0, 0, suggest);
+        return chunk;
+    }
+
+    /**
+     * Test that counters reflect hits and misses.
+     */
+    @Test
+    public void whenGetThenHitsAndMissesCounted() {
+        final ChunkCache cache = new ChunkCache();
+
+        assertThat(cache.get(1L), nullValue());
+        cache.put(1L, this.createChunk(Suggest.NONE));
+        cache.put(2L, this.createChunk(Suggest.NONE));
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(2L));
+        assertThat(cache.getEvictionCount(), is(0L));
+    }
+
+    /**
+     * Test that unchanged chunk is dropped on eviction.
+     */
+    @Test
+    public void whenEvictUnchangedThenDropped() throws IOException {
+        final ChunkCache cache = new ChunkCache(1, 4, this.spillFile);
+        cache.put(1L, this.createChunk(Suggest.NONE));
+        cache.put(2L, this.createChunk(Suggest.NONE));
+
+        assertThat(cache.getEvictionCount(), is(1L));
+        assertThat(cache.getSpilledCount(), is(0));
+        assertThat(cache.get(1L), nullValue());
+        cache.close();
+    }
+
+    /**
+     * Test that changed chunk is spilled on eviction and read back when touched.
+     */
+    @Test
+    public void whenEvictChangedThenSpilledAndReadBack() throws IOException {
+        final ChunkCache cache = new ChunkCache(1, 4, this.spillFile);
+        cache.put(1L, this.createChunk(Suggest.BOMB));
+        cache.markChanged(1L);
+        cache.put(2L, this.createChunk(Suggest.NONE));
+
+        final PackedBoardModel chunk = cache.get(1L);
+
+        assertThat(cache.getSpilledCount(), is(1));
+        assertThat(chunk.getWidth(), is(4));
+        assertThat(chunk.getHeight(), is(3));
+        assertThat(chunk.getSuggest(0, 0), is(Suggest.BOMB));
+        assertThat(chunk.getBomb(1, 1), is(Bomb.BOMB));
+        assertThat(chunk.getNearestBombCount(0, 0), is(1));
+        assertThat(cache.getResidentCount(), is(1));
+        assertThat(cache.getEvictionCount(), is(2L));
+
+        cache.close();
+        assertThat(this.spillFile.exists(), is(false));
+    }
+
+    /**
+     * Test that game on chunked board with tiny cache gives the same result as on in-memory board.
+     */
+    @Test
+    public void whenPlayWithTinyCacheThenSameAsInMemory() throws LogicException, IOException {
+        final ChunkCache cache = new ChunkCache(2, 5, this.spillFile);
+        final ChunkedBoardModel model = new ChunkedBoardModel(40, 30, 0.05, 7L, 5, cache);
+        final ChunkedBoardModel memoryModel = new ChunkedBoardModel(40, 30, 0.05, 7L, 5);
+        final BaseLogic logic = new BaseLogic();
+        logic.setBoard(model);
+        final BaseLogic memoryLogic = new BaseLogic();
+        memoryLogic.setBoard(memoryModel);
+
+        for (int y = 0; y < 30; y += 3) {
+            for (int x = 0; x < 40; x += 3) {
+                if (model.getBomb(x, y) == Bomb.NONE && model.getSuggest(x, y) != Suggest.EMPTY) {
+                    logic.suggest(x, y, Suggest.EMPTY);
+                    memoryLogic.suggest(x, y, Suggest.EMPTY);
+                }
+            }
+        }
+
+        for (int y = 0; y < 30; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertThat(model.getSuggest(x, y), is(memoryModel.getSuggest(x, y)));
+            }
+        }
+        assertThat(logic.isWin(), is(memoryLogic.isWin()));
+        assertThat(cache.getResidentCount(), is(2));
+        assertThat(cache.getSpilledCount() > 0, is(true));
+        cache.close();
+    }
+}
@@ -0,0 +1,142 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ChunkedBoardModel</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ChunkedBoardModelTest {
+
+    /**
+     * Copy bombs of board into packed board.
+     *
+     * @param model source board.
+     * @return packed copy of bombs.
+     */
+    private PackedBoardModel copyBombs(final BoardModel model) {
+        final PackedBoardModel copy = new PackedBoardModel(model.getWidth(), model.getHeight());
+        for (int y = 0; y < model.getHeight(); y++) {
+            for (int x = 0; x < model.getWidth(); x++) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
+                    copy.placeBomb(x, y);
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Test that total bomb count is known in advance and matches generated chunks.
+     */
+    @Test
+    public void whenGetBombCountThenMatchesChunks() {
+        final ChunkedBoardModel model = new ChunkedBoardModel(23, 17, 0.15, 1L, 5);
+
+        final long bombCount = model.getBombCount();
+
+        assertThat(model.getChunkCount(), is(0));
+        assertThat((long) model.countBombs(0, 0, 23, 17), is(bombCount));
+    }
+
+    /**
+     * Test that nearest bombs counts are correct across chunk borders.
+     */
+    @Test
+    public void whenGetNearestBombCountThenCorrectAcrossChunks() {
+        final ChunkedBoardModel model = new ChunkedBoardModel(23, 17, 0.25, 2L, 5);
+        final PackedBoardModel copy = this.copyBombs(model);
+
+        for (int y = 0; y < 17; y++) {
+            for (int x = 0; x < 23; x++) {
+                assertThat(model.getNearestBombCount(x, y), is(copy.getNearestBombCount(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that chunks don't depend on order they are touched in.
+     */
+    @Test
+    public void whenTouchChunksInDifferentOrderThenSameBoard() {
+        final ChunkedBoardModel model = new ChunkedBoardModel(40, 40, 0.2, 3L, 8);
+        final ChunkedBoardModel otherModel = new ChunkedBoardModel(40, 40, 0.2, 3L, 8);
+
+        for (int y = 39; y >= 0; y--) {
+            for (int x = 39; x >= 0; x--) {
+                otherModel.getBomb(x, y);
+            }
+        }
+
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                assertThat(model.getBomb(x, y), is(otherModel.getBomb(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that huge board generates only touched chunks.
+     */
+    @Test
+    public void whenTouchCellOfHugeBoardThenOnlyNearestChunksGenerated() {
+        final ChunkedBoardModel model = new ChunkedBoardModel(Integer.MAX_VALUE, Integer.MAX_VALUE, 0.15, 4L);
+
+        model.setSuggest(1000000000, 1000000000, Suggest.BOMB);
+
+        assertThat(model.getSuggest(1000000000, 1000000000), is(Suggest.BOMB));
+        assertThat(model.getChunkCount(), is(1));
+        assertThat(model.getBombCount(), is(691302542197391359L));
+        assertThat(model.isGenerated(1000000001, 1000000001), is(true));
+        assertThat(model.isGenerated(0, 0), is(false));
+        assertThat(model.getChunkCount(), is(1));
+    }
+
+    /**
+     * Test that generator keeps requested bomb count on board divided into equal chunks.
+     */
+    @Test
+    public void whenGenerateThenRequestedBombCount() throws GenerateException {
+        final BoardModel model = new ChunkedBoardGenerator(10).generate(100, 50, 1000, 6L);
+
+        assertThat(model.getBombCount(), is(1000L));
+        assertThat(model.countBombs(0, 0, 100, 50), is(1000));
+    }
+
+    /**
+     * Test that empty region is opened across chunk borders the same way as on in-memory board.
+     */
+    @Test
+    public void whenSuggestEmptyThenRegionOpenedAcrossChunks() throws LogicException {
+        final ChunkedBoardModel model = new ChunkedBoardModel(60, 50, 0.02, 5L, 7);
+        final PackedBoardModel copy = this.copyBombs(model);
+        int startX = 0;
+        int startY = 0;
+        while (model.getBomb(startX, startY) != Bomb.NONE || model.getNearestBombCount(startX, startY) != 0) {
+            startX = (startX + 1) % 60;
+            startY = startX == 0 ? startY + 1 : startY;
+        }
+
+        final BaseLogic logic = new BaseLogic();
+        logic.setBoard(model);
+        logic.suggest(startX, startY, Suggest.EMPTY);
+        final BaseLogic copyLogic = new BaseLogic();
+        copyLogic.setBoard(copy);
+        copyLogic.suggest(startX, startY, Suggest.EMPTY);
+
+        assertThat(model.countSuggests(0, 0, 60, 50, Suggest.EMPTY) > 1, is(true));
+        for (int y = 0; y < 50; y++) {
+            for (int x = 0; x < 60; x++) {
+                assertThat(model.getSuggest(x, y), is(copy.getSuggest(x, y)));
+            }
+        }
+        assertThat(logic.isWin(), is(copyLogic.isWin()));
+    }
+}
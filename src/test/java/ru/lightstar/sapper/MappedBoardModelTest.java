@@ -0,0 +1,173 @@
+package ru.lightstar.sapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>MappedBoardModel</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class MappedBoardModelTest {
+
+    /**
+     * Folder for board files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Board file.
+     */
+    private File file;
+
+    /**
+     * Create board file's name.
+     */
+    @Before
+    public void createFile() {
+        this.file = new File(this.folder.getRoot(), "board.map");
+    }
+
+    /**
+     * Test that bombs and counts are correct across segment borders.
+     */
+    @Test
+    public void whenPlaceBombsThenCountsCorrectAcrossSegments() throws IOException {
+        final MappedBoardModel model = MappedBoardModel.create(this.file, 7, 5, 10);
+        final PackedBoardModel packed = new PackedBoardModel(7, 5);
+        for (int y = 0; y < 5; y++) {
+            for (int x = (y * 3) % 2; x < 7; x += 3) {
+                model.placeBomb(x, y);
+                packed.placeBomb(x, y);
+            }
+        }
+
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 7; x++) {
+                assertThat(model.getBomb(x, y), is(packed.getBomb(x, y)));
+                assertThat(model.getNearestBombCount(x, y), is(packed.getNearestBombCount(x, y)));
+            }
+        }
+        assertThat(model.getBombCount(), is(packed.getBombCount()));
+        model.close();
+    }
+
+    /**
+     * Test that saved game is reopened with the same state and can be played on to win.
+     */
+    @Test
+    public void whenReopenThenSameStateAndGameGoesOn() throws IOException, GenerateException, LogicException {
+        final MappedBoardModel model = (MappedBoardModel) new MappedBoardGenerator(this.file).generate(30, 20, 50);
+        final BaseLogic logic = new BaseLogic();
+        logic.setBoard(model);
+        int opened = 0;
+        for (int y = 0; y < 20 && opened < 5; y++) {
+            for (int x = 0; x < 30 && opened < 5; x++) {
+                if (model.getBomb(x, y) == Bomb.NONE && model.getSuggest(x, y) == Suggest.NONE) {
+                    logic.suggest(x, y, Suggest.EMPTY);
+                    opened++;
+                }
+            }
+        }
+        for (int y = 19; y >= 0 && logic.getSuggestedBombCount() == 0; y--) {
+            for (int x = 29; x >= 0 && logic.getSuggestedBombCount() == 0; x--) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
+                    logic.suggest(x, y, Suggest.BOMB);
+                }
+            }
+        }
+        final PackedBoardModel copy = new PackedBoardModel(30, 20);
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 30; x++) {
+                copy.setCell(x, y, model.getBomb(x, y), model.getNearestBombCount(x, y));
+                copy.setSuggest(x, y, model.getSuggest(x, y));
+            }
+        }
+        model.close();
+
+        final MappedBoardModel reopened = MappedBoardModel.open(this.file, 64);
+
+        assertThat(reopened.getWidth(), is(30));
+        assertThat(reopened.getHeight(), is(20));
+        assertThat(reopened.getBombCount(), is(50L));
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 30; x++) {
+                assertThat(reopened.getBomb(x, y), is(copy.getBomb(x, y)));
+                assertThat(reopened.getNearestBombCount(x, y), is(copy.getNearestBombCount(x, y)));
+                assertThat(reopened.getSuggest(x, y), is(copy.getSuggest(x, y)));
+            }
+        }
+
+        final BaseLogic reopenedLogic = new BaseLogic();
+        reopenedLogic.setSnapshotPublished(true);
+        reopenedLogic.setBoard(reopened);
+
+        assertThat(reopenedLogic.getSuggestedBombCount(), is(1L));
+        assertThat(reopenedLogic.getSnapshot().getSuggestedBombCount(), is(1L));
+        assertThat(reopenedLogic.getSnapshot().countSuggests(0, 0, 30, 20, Suggest.EMPTY),
+                is(copy.countSuggests(0, 0, 30, 20, Suggest.EMPTY)));
+
+        for (int y = 0; y < 20 && !reopenedLogic.isWin(); y++) {
+            for (int x = 0; x < 30 && !reopenedLogic.isWin(); x++) {
+                if (reopened.getBomb(x, y) != Bomb.NONE) {
+                    if (reopened.getSuggest(x, y) != Suggest.BOMB) {
+                        reopenedLogic.suggest(x, y, Suggest.BOMB);
+                    }
+                } else if (reopened.getSuggest(x, y) != Suggest.EMPTY) {
+                    reopenedLogic.suggest(x, y, Suggest.EMPTY);
+                }
+            }
+        }
+
+        assertThat(reopenedLogic.isWin(), is(true));
+        assertThat(reopenedLogic.isLose(), is(false));
+        reopened.close();
+    }
+
+    /**
+     * Test that the same seed gives the same board as file.
+     */
+    @Test
+    public void whenGenerateWithSameSeedThenSameBoard() throws IOException, GenerateException {
+        final MappedBoardGenerator generator = new MappedBoardGenerator(this.file);
+        final MappedBoardModel model = (MappedBoardModel) generator.generate(20, 10, 40, 99L);
+        final PackedBoardModel copy = new PackedBoardModel(20, 10);
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                copy.setCell(x, y, model.getBomb(x, y), model.getNearestBombCount(x, y));
+            }
+        }
+        model.close();
+
+        final MappedBoardModel otherModel = (MappedBoardModel) generator.generate(20, 10, 40, 99L);
+
+        assertThat(generator.getLastSeed(), is(new BoardSeed(20, 10, 40, 99L)));
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 20; x++) {
+                assertThat(otherModel.getBomb(x, y), is(copy.getBomb(x, y)));
+            }
+        }
+        otherModel.close();
+    }
+
+    /**
+     * Test exception thrown on attempt to open file which isn't board file.
+     */
+    @Test(expected = IOException.class)
+    public void whenOpenWrongFileThenException() throws IOException {
+        this.folder.newFile("wrong.map");
+        MappedBoardModel.open(new File(this.folder.getRoot(), "wrong.map"));
+    }
+}
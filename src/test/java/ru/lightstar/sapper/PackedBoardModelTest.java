@@ -0,0 +1,121 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>PackedBoardModel</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class PackedBoardModelTest {
+
+    /**
+     * <code>PackedBoardModel</code> object used in tests.
+     */
+    private final PackedBoardModel packedCells;
+
+    /**
+     * Constructs <code>PackedBoardModelTest</code> object.
+     */
+    public PackedBoardModelTest() {
+        this.packedCells = new PackedBoardModel(3, 2);
+        this.packedCells.setCell(0, 0, Bomb.BOMB, 0);
+        this.packedCells.setCell(1, 0, Bomb.NONE, 8);
+        this.packedCells.setCell(2, 1, Bomb.BOMB, 3);
+    }
+
+    /**
+     * Test correctness of board dimensions.
+     */
+    @Test
+    public void whenGetDimensionsThenResult() {
+        assertThat(this.packedCells.getWidth(), is(3));
+        assertThat(this.packedCells.getHeight(), is(2));
+    }
+
+    /**
+     * Test correctness of <code>getBomb</code> method.
+     */
+    @Test
+    public void whenGetBombThenResult() {
+        assertThat(this.packedCells.getBomb(0, 0), is(Bomb.BOMB));
+        assertThat(this.packedCells.getBomb(1, 0), is(Bomb.NONE));
+        assertThat(this.packedCells.getBomb(2, 1), is(Bomb.BOMB));
+        assertThat(this.packedCells.getBomb(0, 1), is(Bomb.NONE));
+    }
+
+    /**
+     * Test correctness of <code>getNearestBombCount</code> method.
+     */
+    @Test
+    public void whenGetNearestBombCountThenResult() {
+        assertThat(this.packedCells.getNearestBombCount(1, 0), is(8));
+        assertThat(this.packedCells.getNearestBombCount(2, 1), is(3));
+        assertThat(this.packedCells.getNearestBombCount(0, 1), is(0));
+    }
+
+    /**
+     * Test correctness of <code>setSuggest</code> method.
+     */
+    @Test
+    public void whenSetSuggestThenItSetsAndCellIsKept() {
+        assertThat(this.packedCells.getSuggest(2, 1), is(Suggest.NONE));
+
+        this.packedCells.setSuggest(2, 1, Suggest.EMPTY);
+        assertThat(this.packedCells.getSuggest(2, 1), is(Suggest.EMPTY));
+        this.packedCells.setSuggest(2, 1, Suggest.BOMB);
+        assertThat(this.packedCells.getSuggest(2, 1), is(Suggest.BOMB));
+
+        assertThat(this.packedCells.getBomb(2, 1), is(Bomb.BOMB));
+        assertThat(this.packedCells.getNearestBombCount(2, 1), is(3));
+        assertThat(this.packedCells.getSuggest(1, 1), is(Suggest.NONE));
+    }
+
+    /**
+     * Test correctness of bulk and region queries.
+     */
+    @Test
+    public void whenCountInRegionThenResult() {
+        this.packedCells.setSuggest(1, 0, Suggest.EMPTY);
+        this.packedCells.setSuggest(2, 0, Suggest.EMPTY);
+
+        assertThat(this.packedCells.getBombCount(), is(2L));
+        assertThat(this.packedCells.countBombs(1, 0, 2, 2), is(1));
+        assertThat(this.packedCells.countBombs(0, 1, 2, 1), is(0));
+        assertThat(this.packedCells.countSuggests(0, 0, 3, 2, Suggest.EMPTY), is(2));
+        assertThat(this.packedCells.countSuggests(2, 0, 1, 2, Suggest.NONE), is(1));
+    }
+
+    /**
+     * Test that placing bomb increments nearest bombs counts around it.
+     */
+    @Test
+    public void whenPlaceBombThenNearestCountsIncremented() {
+        final PackedBoardModel model = new PackedBoardModel(3, 3);
+        model.placeBomb(0, 0);
+        model.placeBomb(1, 1);
+
+        assertThat(model.getBomb(0, 0), is(Bomb.BOMB));
+        assertThat(model.getBomb(1, 1), is(Bomb.BOMB));
+        assertThat(model.isBomb(4), is(true));
+        assertThat(model.isBomb(1), is(false));
+        assertThat(model.getNearestBombCount(1, 0), is(2));
+        assertThat(model.getNearestBombCount(0, 0), is(1));
+        assertThat(model.getNearestBombCount(1, 1), is(1));
+        assertThat(model.getNearestBombCount(2, 2), is(1));
+        assertThat(model.getNearestBombCount(2, 0), is(1));
+        assertThat(model.getSuggest(1, 0), is(Suggest.NONE));
+    }
+
+    /**
+     * Test exception thrown for zero dimensions.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void whenZeroDimensionsThenException() {
+        new PackedBoardModel(0, 2);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ParallelBoardGenerator</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ParallelBoardGeneratorTest {
+
+    /**
+     * Test board generation with correct params.
+     */
+    @Test
+    public void whenGenerateThenExactBombCount() throws GenerateException {
+        final BoardModel model = new ParallelBoardGenerator(7).generate(40, 30, 300);
+
+        assertThat(model.getWidth(), is(40));
+        assertThat(model.getHeight(), is(30));
+        assertThat(model.getBombCount(), is(300L));
+    }
+
+    /**
+     * Test that nearest bombs counts are correct across band borders.
+     */
+    @Test
+    public void whenGenerateThenNearestBombCountsAreCorrect() throws GenerateException {
+        final BoardModel model = new ParallelBoardGenerator(9).generate(25, 20, 120);
+
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 25; x++) {
+                int count = 0;
+                for (int nearestY = Math.max(y - 1, 0); nearestY <= Math.min(y + 1, 19); nearestY++) {
+                    for (int nearestX = Math.max(x - 1, 0); nearestX <= Math.min(x + 1, 24); nearestX++) {
+                        if ((nearestX != x || nearestY != y) && model.getBomb(nearestX, nearestY) != Bomb.NONE) {
+                            count++;
+                        }
+                    }
+                }
+                assertThat(model.getNearestBombCount(x, y), is(count));
+            }
+        }
+    }
+
+    /**
+     * Test that every cell gets bomb with equal probability though board is split into bands.
+     */
+    @Test
+    public void whenGenerateManyTimesThenBombsAreUniform() throws GenerateException {
+        final ParallelBoardGenerator generator = new ParallelBoardGenerator(1);
+        final int[] bombCounts = new int[4];
+        final int attempts = 40000;
+
+        for (int i = 0; i < attempts; i++) {
+            final BoardModel model = generator.generate(1, 4, 1);
+            for (int y = 0; y < 4; y++) {
+                if (model.getBomb(0, y) != Bomb.NONE) {
+                    bombCounts[y]++;
+                }
+            }
+        }
+
+        for (final int bombCount : bombCounts) {
+            assertThat(Math.abs(bombCount - attempts / 4) < attempts / 40, is(true));
+        }
+    }
+
+    /**
+     * Test that boards generated with the same seed are equal.
+     */
+    @Test
+    public void whenGenerateWithSameSeedThenSameBoard() throws GenerateException {
+        final BoardModel model = new ParallelBoardGenerator(3).generate(20, 20, 80, 42L);
+        final BoardModel otherModel = new ParallelBoardGenerator(3).generate(20, 20, 80, 42L);
+
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                assertThat(otherModel.getBomb(x, y), is(model.getBomb(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test generation of large dense board.
+     */
+    @Test
+    public void whenGenerateLargeBoardThenExactBombCount() throws GenerateException {
+        final BoardModel model = new ParallelBoardGenerator().generate(2000, 1500, 600000);
+        assertThat(model.getBombCount(), is(600000L));
+    }
+
+    /**
+     * Test exception thrown on attempt to generate board with too many bombs.
+     */
+    @Test(expected = GenerateException.class)
+    public void whenTooManyBombsThenException() throws GenerateException {
+        new ParallelBoardGenerator().generate(4, 2, 10);
+    }
+}
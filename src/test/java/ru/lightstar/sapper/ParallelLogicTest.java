@@ -0,0 +1,159 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ParallelLogic</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ParallelLogicTest {
+
+    /**
+     * Copy board's bombs and suggests into new packed board without zero regions.
+     *
+     * @param model source board.
+     * @return copy of board.
+     */
+    private PackedBoardModel copy(final BoardModel model) {
+        final PackedBoardModel copy = new PackedBoardModel(model.getWidth(), model.getHeight());
+        for (int y = 0; y < model.getHeight(); y++) {
+            for (int x = 0; x < model.getWidth(); x++) {
+                copy.setCell(x, y, model.getBomb(x, y), model.getNearestBombCount(x, y));
+                copy.setSuggest(x, y, model.getSuggest(x, y));
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Play the same moves with parallel and sequential logic and check that results are the same.
+     *
+     * @param model board for parallel logic.
+     * @param sequentialModel the same board for sequential logic.
+     * @throws LogicException thrown on wrong move.
+     */
+    private void checkSameAsSequential(final BoardModel model, final BoardModel sequentialModel)
+            throws LogicException {
+        final ParallelLogic logic = new ParallelLogic(new ForkJoinPool(4), 16);
+        logic.setBoard(model);
+        final BaseLogic sequentialLogic = new BaseLogic();
+        sequentialLogic.setBoard(sequentialModel);
+
+        for (int y = 0; y < model.getHeight(); y += 7) {
+            for (int x = 0; x < model.getWidth(); x += 5) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
+                    logic.suggest(x, y, Suggest.BOMB);
+                    sequentialLogic.suggest(x, y, Suggest.BOMB);
+                } else if (model.getSuggest(x, y) == Suggest.NONE && !logic.isWin()) {
+                    logic.suggest(x, y, (x + y) % 3 == 0 ? Suggest.BOMB : Suggest.EMPTY);
+                    sequentialLogic.suggest(x, y, (x + y) % 3 == 0 ? Suggest.BOMB : Suggest.EMPTY);
+                }
+            }
+        }
+
+        for (int y = 0; y < model.getHeight(); y++) {
+            for (int x = 0; x < model.getWidth(); x++) {
+                assertThat(model.getSuggest(x, y), is(sequentialModel.getSuggest(x, y)));
+            }
+        }
+        assertThat(logic.getSuggestedBombCount(), is(sequentialLogic.getSuggestedBombCount()));
+        assertThat(logic.correctSuggestCount, is(sequentialLogic.correctSuggestCount));
+        assertThat(logic.isWin(), is(sequentialLogic.isWin()));
+    }
+
+    /**
+     * Test that parallel frontier walk opens the same cells and counts the same as sequential one.
+     */
+    @Test
+    public void whenSuggestWithFloodFillThenSameAsSequential() throws GenerateException, LogicException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        generator.setZeroRegionsLabelled(false);
+        final BoardModel model = generator.generate(300, 200, 300, 11L);
+
+        this.checkSameAsSequential(model, this.copy(model));
+    }
+
+    /**
+     * Test that flood fill claiming cells in many pages, so claim table grows, gives the same result as sequential one.
+     */
+    @Test
+    public void whenFloodFillSpansManyPagesThenSameAsSequential() throws GenerateException, LogicException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        generator.setZeroRegionsLabelled(false);
+        final BoardModel model = generator.generate(1000, 400, 400, 15L);
+
+        this.checkSameAsSequential(model, this.copy(model));
+    }
+
+    /**
+     * Test that parallel opening of precomputed regions opens the same cells and counts the same as flood fill.
+     */
+    @Test
+    public void whenSuggestWithZeroRegionsThenSameAsSequential() throws GenerateException, LogicException {
+        final BoardModel model = new RandomBoardGenerator().generate(300, 200, 300, 12L);
+
+        this.checkSameAsSequential(model, this.copy(model));
+    }
+
+    /**
+     * Test that listener gets the same changed cells from parallel logic as from sequential one.
+     */
+    @Test
+    public void whenSuggestWithListenerThenSameChangesAsSequential() throws GenerateException, LogicException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        generator.setZeroRegionsLabelled(false);
+        final BoardModel model = generator.generate(300, 200, 100, 14L);
+        final BoardModel sequentialModel = this.copy(model);
+
+        final ParallelLogic logic = new ParallelLogic(new ForkJoinPool(4), 16);
+        logic.setBoard(model);
+        final Set<Long> changed = new HashSet<>();
+        logic.addListener(changes -> {
+            for (int number = 0; number < changes.getSize(); number++) {
+                changed.add(changes.getIndex(number));
+            }
+        });
+        final BaseLogic sequentialLogic = new BaseLogic();
+        sequentialLogic.setBoard(sequentialModel);
+        final Set<Long> sequentialChanged = new HashSet<>();
+        sequentialLogic.addListener(changes -> {
+            for (int number = 0; number < changes.getSize(); number++) {
+                sequentialChanged.add(changes.getIndex(number));
+            }
+        });
+
+        for (int y = 0; y < 200; y++) {
+            for (int x = 0; x < 300; x++) {
+                if (model.getBomb(x, y) == Bomb.NONE && model.getNearestBombCount(x, y) == 0 &&
+                        model.getSuggest(x, y) == Suggest.NONE && !logic.isWin()) {
+                    logic.suggest(x, y, Suggest.EMPTY);
+                    sequentialLogic.suggest(x, y, Suggest.EMPTY);
+                }
+            }
+        }
+
+        assertThat(changed.size() > 1000, is(true));
+        assertThat(changed, is(sequentialChanged));
+    }
+
+    /**
+     * Test that board not allowing concurrent suggests is processed sequentially with the same result.
+     */
+    @Test
+    public void whenBoardNotConcurrentThenSameAsSequential() throws LogicException {
+        final ChunkedBoardModel model = new ChunkedBoardModel(120, 80, 0.01, 13L, 16);
+
+        this.checkSameAsSequential(model, this.copy(model));
+    }
+}
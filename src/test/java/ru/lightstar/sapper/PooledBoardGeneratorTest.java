@@ -0,0 +1,212 @@
+package ru.lightstar.sapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>PooledBoardGenerator</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class PooledBoardGeneratorTest {
+
+    /**
+     * Executor of generator under test.
+     */
+    private DirectExecutor executor;
+
+    /**
+     * Generator under test.
+     */
+    private PooledBoardGenerator generator;
+
+    /**
+     * Create generator with one preset. Its pools are filled right in calling thread.
+     */
+    @Before
+    public void createGenerator() {
+        this.executor = new DirectExecutor();
+        this.generator = new PooledBoardGenerator(new RandomBoardGenerator(), new RandomBoardGenerator(), 3,
+                this.executor);
+        this.generator.addPreset(9, 9, 10);
+    }
+
+    /**
+     * Stop generator's background thread.
+     */
+    @After
+    public void shutdownGenerator() {
+        this.generator.shutdown();
+    }
+
+    /**
+     * Test that pool of preset is filled by executor.
+     */
+    @Test
+    public void whenAddPresetThenPoolFilled() {
+        assertThat(this.generator.getReadyCount(9, 9, 10), is(3));
+    }
+
+    /**
+     * Test that boards from pool have requested parameters and pool is refilled.
+     */
+    @Test
+    public void whenGeneratePresetThenBoardFromPool() throws GenerateException {
+        for (int i = 0; i < 10; i++) {
+            final BoardModel model = this.generator.generate(9, 9, 10);
+            assertThat(model.getWidth(), is(9));
+            assertThat(model.getHeight(), is(9));
+            assertThat(model.getBombCount(), is(10L));
+        }
+
+        assertThat(this.generator.getReadyCount(9, 9, 10), is(3));
+    }
+
+    /**
+     * Test that pool rejected by executor isn't stuck and is filled when executor accepts tasks again.
+     */
+    @Test
+    public void whenFillRejectedThenPoolFilledLater() throws GenerateException {
+        this.executor.isRejecting = true;
+        this.generator.addPreset(2, 2, 1);
+        assertThat(this.generator.getReadyCount(2, 2, 1), is(0));
+
+        this.executor.isRejecting = false;
+        this.generator.generate(2, 2, 1);
+        assertThat(this.generator.getReadyCount(2, 2, 1), is(3));
+    }
+
+    /**
+     * Test that boards are still generated after generator is shut down.
+     */
+    @Test
+    public void whenShutdownThenBoardsGenerated() throws GenerateException {
+        this.generator.shutdown();
+        for (int i = 0; i < 5; i++) {
+            assertThat(this.generator.generate(9, 9, 10).getBombCount(), is(10L));
+        }
+    }
+
+    /**
+     * Test that pool is refilled when its only board is taken right when fill task finds pool full.
+     * Background thread is used here, and lost refill makes test hang until timeout.
+     */
+    @Test(timeout = 60000)
+    public void whenDrainedWhileFillFinishingThenPoolRefilled() throws GenerateException {
+        final PooledBoardGenerator generator =
+                new PooledBoardGenerator(new RandomBoardGenerator(), new RandomBoardGenerator(), 1);
+        try {
+            generator.addPreset(2, 2, 1);
+            for (int round = 0; round < 500; round++) {
+                while (generator.getReadyCount(2, 2, 1) == 0) {
+                    Thread.yield();
+                }
+                generator.generate(2, 2, 1);
+            }
+        } finally {
+            generator.shutdown();
+        }
+    }
+
+    /**
+     * Test that board without preset is generated directly.
+     */
+    @Test
+    public void whenGenerateNotPresetThenBoardGenerated() throws GenerateException {
+        final BoardModel model = this.generator.generate(5, 4, 3);
+
+        assertThat(model.getWidth(), is(5));
+        assertThat(model.getHeight(), is(4));
+        assertThat(model.getBombCount(), is(3L));
+        assertThat(this.generator.getReadyCount(5, 4, 3), is(0));
+    }
+
+    /**
+     * Test that invalid preset gives exception on generation.
+     */
+    @Test(expected = GenerateException.class)
+    public void whenGenerateInvalidPresetThenException() throws GenerateException {
+        this.generator.addPreset(3, 3, 10);
+        this.generator.generate(3, 3, 10);
+    }
+
+    /**
+     * Executor running tasks right in calling thread, so pools are filled deterministically.
+     */
+    private static class DirectExecutor extends AbstractExecutorService {
+
+        /**
+         * Flag to reject tasks as if executor was shut down.
+         */
+        private boolean isRejecting;
+
+        /**
+         * Flag of shut down executor.
+         */
+        private boolean isShutdown;
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void execute(final Runnable command) {
+            if (this.isRejecting || this.isShutdown) {
+                throw new RejectedExecutionException("Executor doesn't accept tasks");
+            }
+            command.run();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void shutdown() {
+            this.isShutdown = true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public List<Runnable> shutdownNow() {
+            this.isShutdown = true;
+            return new ArrayList<>();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isShutdown() {
+            return this.isShutdown;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isTerminated() {
+            return this.isShutdown;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean awaitTermination(final long timeout, final TimeUnit unit) {
+            return true;
+        }
+    }
+}
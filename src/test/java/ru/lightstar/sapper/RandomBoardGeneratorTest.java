@@ -14,26 +14,175 @@ import static org.junit.Assert.assertThat;
  */
 public class RandomBoardGeneratorTest {
 
+    /**
+     * Bombs of 4x4 board with 3 bombs generated from seed 12345, row by row.
+     */
+    private static final String KNOWN_BOARD = "......*......**.";
+
     /**
      * Test board generation with correct params.
      */
     @Test
     public void whenGenerateThenResult() throws GenerateException {
         final RandomBoardGenerator generator = new RandomBoardGenerator();
-        final Cell[][] cells = generator.generate(4, 2, 3);
+        final BoardModel model = generator.generate(4, 2, 3);
 
         int bombCount = 0;
-        assertThat(cells.length, is(2));
+        assertThat(model.getHeight(), is(2));
+        assertThat(model.getWidth(), is(4));
         for (int y = 0; y < 2; y++) {
-            assertThat(cells[y].length, is(4));
             for (int x = 0; x < 4; x++) {
-                if (cells[y][x].getBomb() != Bomb.NONE) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
                     bombCount++;
                 }
             }
         }
 
         assertThat(bombCount, is(3));
+        assertThat(model.getBombCount(), is(3L));
+    }
+
+    /**
+     * Test that nearest bombs counts match generated bombs.
+     */
+    @Test
+    public void whenGenerateThenNearestBombCountsAreCorrect() throws GenerateException {
+        final BoardModel model = new RandomBoardGenerator().generate(30, 20, 150);
+
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 30; x++) {
+                int count = 0;
+                for (int nearestY = Math.max(y - 1, 0); nearestY <= Math.min(y + 1, 19); nearestY++) {
+                    for (int nearestX = Math.max(x - 1, 0); nearestX <= Math.min(x + 1, 29); nearestX++) {
+                        if ((nearestX != x || nearestY != y) && model.getBomb(nearestX, nearestY) != Bomb.NONE) {
+                            count++;
+                        }
+                    }
+                }
+                assertThat(model.getNearestBombCount(x, y), is(count));
+            }
+        }
+    }
+
+    /**
+     * Test that every cell gets bomb with equal probability.
+     */
+    @Test
+    public void whenGenerateManyTimesThenBombsAreUniform() throws GenerateException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        final int[] bombCounts = new int[4];
+        final int attempts = 40000;
+
+        for (int i = 0; i < attempts; i++) {
+            final BoardModel model = generator.generate(4, 1, 2);
+            for (int x = 0; x < 4; x++) {
+                if (model.getBomb(x, 0) != Bomb.NONE) {
+                    bombCounts[x]++;
+                }
+            }
+        }
+
+        for (final int bombCount : bombCounts) {
+            assertThat(Math.abs(bombCount - attempts / 2) < attempts / 40, is(true));
+        }
+    }
+
+    /**
+     * Test that board can be fully filled with bombs.
+     */
+    @Test
+    public void whenGenerateFullBoardThenAllCellsHaveBombs() throws GenerateException {
+        final BoardModel model = new RandomBoardGenerator().generate(3, 3, 9);
+        assertThat(model.getBombCount(), is(9L));
+    }
+
+    /**
+     * Test that board is rebuilt from its seed.
+     */
+    @Test
+    public void whenGenerateFromLastSeedThenSameBoard() throws GenerateException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        final BoardModel model = generator.generate(16, 16, 40);
+        final BoardSeed seed = BoardSeed.parse(generator.getLastSeed().toString());
+        final BoardModel otherModel = seed.generate(new RandomBoardGenerator());
+
+        assertThat(seed, is(generator.getLastSeed()));
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                assertThat(otherModel.getBomb(x, y), is(model.getBomb(x, y)));
+                assertThat(otherModel.getNearestBombCount(x, y), is(model.getNearestBombCount(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that board generated with safe cell is rebuilt from its seed with the same safe cell.
+     */
+    @Test
+    public void whenGenerateWithSafeCellFromLastSeedThenSameBoard() throws GenerateException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        final BoardModel model = generator.generate(16, 16, 40, 3, 4);
+        final BoardSeed seed = BoardSeed.parse(generator.getLastSeed().toString());
+        final BoardModel otherModel = seed.generate(new RandomBoardGenerator());
+
+        assertThat(seed, is(generator.getLastSeed()));
+        assertThat(seed.getSafeX(), is(3));
+        assertThat(seed.getSafeY(), is(4));
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                assertThat(otherModel.getBomb(x, y), is(model.getBomb(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that seeded board doesn't depend on JVM: bombs are always in the same places for known seed.
+     */
+    @Test
+    public void whenGenerateWithKnownSeedThenKnownBoard() throws GenerateException {
+        final BoardModel model = new RandomBoardGenerator().generate(4, 4, 3, 12345L);
+        final StringBuilder bombs = new StringBuilder();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 4; x++) {
+                bombs.append(model.getBomb(x, y) != Bomb.NONE ? '*' : '.');
+            }
+        }
+
+        assertThat(bombs.toString(), is(KNOWN_BOARD));
+    }
+
+    /**
+     * Test that safe cell and its nearest cells never get bombs, while bomb count is exact.
+     */
+    @Test
+    public void whenGenerateWithSafeCellThenNoBombsNearIt() throws GenerateException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        for (int i = 0; i < 100; i++) {
+            final BoardModel model = generator.generate(10, 10, 91, 4, 0);
+            assertThat(model.getBombCount(), is(91L));
+            assertThat(model.countBombs(3, 0, 3, 2), is(0));
+            assertThat(model.getNearestBombCount(4, 0), is(0));
+        }
+    }
+
+    /**
+     * Test that only safe cell itself is kept free when there are too many bombs for its nearest cells.
+     */
+    @Test
+    public void whenGenerateWithSafeCellAndManyBombsThenOnlyCellIsSafe() throws GenerateException {
+        final BoardModel model = new RandomBoardGenerator().generate(3, 3, 8, 1, 1);
+
+        assertThat(model.getBombCount(), is(8L));
+        assertThat(model.getBomb(1, 1), is(Bomb.NONE));
+        assertThat(model.getNearestBombCount(1, 1), is(8));
+    }
+
+    /**
+     * Test exception thrown on attempt to generate board with safe cell out of bounds.
+     */
+    @Test(expected = GenerateException.class)
+    public void whenSafeCellOutOfBoundsThenException() throws GenerateException {
+        new RandomBoardGenerator().generate(4, 2, 1, 4, 0);
     }
 
     /**
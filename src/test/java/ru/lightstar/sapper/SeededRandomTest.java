@@ -0,0 +1,62 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>SeededRandom</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SeededRandomTest {
+
+    /**
+     * Test that values for known seed are the same as in SplitMix64 reference implementation.
+     */
+    @Test
+    public void whenNextLongThenReferenceValues() {
+        final SeededRandom random = new SeededRandom(0L);
+
+        assertThat(random.nextLong(), is(0xe220a8397b1dcdafL));
+        assertThat(random.nextLong(), is(0x6e789e6aa1b965f4L));
+        assertThat(random.nextLong(), is(0x06c45d188009454fL));
+    }
+
+    /**
+     * Test that bounded values are in bounds.
+     */
+    @Test
+    public void whenNextIntWithBoundThenInBounds() {
+        final SeededRandom random = new SeededRandom(1L);
+        for (int i = 0; i < 1000; i++) {
+            final int value = random.nextInt(7);
+            assertThat(value >= 0 && value < 7, is(true));
+        }
+    }
+
+    /**
+     * Test that doubles are in [0, 1) interval.
+     */
+    @Test
+    public void whenNextDoubleThenInUnitInterval() {
+        final SeededRandom random = new SeededRandom(2L);
+        for (int i = 0; i < 1000; i++) {
+            final double value = random.nextDouble();
+            assertThat(value >= 0 && value < 1, is(true));
+        }
+    }
+
+    /**
+     * Test that split generators are reproducible.
+     */
+    @Test
+    public void whenSplitThenReproducible() {
+        final SeededRandom split = new SeededRandom(3L).split();
+        final SeededRandom otherSplit = new SeededRandom(3L).split();
+
+        assertThat(split.nextLong(), is(otherSplit.nextLong()));
+    }
+}
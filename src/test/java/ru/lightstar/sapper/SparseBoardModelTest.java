@@ -0,0 +1,131 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>SparseBoardModel</code> and <code>SparseBoardGenerator</code> classes tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class SparseBoardModelTest {
+
+    /**
+     * Test that bombs and nearest bombs counts are the same as on packed board.
+     */
+    @Test
+    public void whenGenerateThenSameAsPackedBoard() throws GenerateException {
+        final BoardModel model = new SparseBoardGenerator().generate(17, 11, 60, 8L);
+        final PackedBoardModel packed = new PackedBoardModel(17, 11);
+        for (int y = 0; y < 11; y++) {
+            for (int x = 0; x < 17; x++) {
+                if (model.getBomb(x, y) != Bomb.NONE) {
+                    packed.placeBomb(x, y);
+                }
+            }
+        }
+
+        assertThat(model.getBombCount(), is(60L));
+        assertThat(packed.getBombCount(), is(60L));
+        for (int y = 0; y < 11; y++) {
+            for (int x = 0; x < 17; x++) {
+                assertThat(model.getNearestBombCount(x, y), is(packed.getNearestBombCount(x, y)));
+            }
+        }
+        assertThat(model.countBombs(3, 2, 9, 5), is(packed.countBombs(3, 2, 9, 5)));
+    }
+
+    /**
+     * Test that the same seed gives the same board.
+     */
+    @Test
+    public void whenGenerateWithSameSeedThenSameBoard() throws GenerateException {
+        final BoardModel model = new SparseBoardGenerator().generate(20, 20, 100, 9L);
+        final BoardModel otherModel = new SparseBoardGenerator().generate(20, 20, 100, 9L);
+
+        for (int y = 0; y < 20; y++) {
+            for (int x = 0; x < 20; x++) {
+                assertThat(model.getBomb(x, y), is(otherModel.getBomb(x, y)));
+            }
+        }
+    }
+
+    /**
+     * Test that full board can be generated.
+     */
+    @Test
+    public void whenGenerateFullBoardThenAllBombs() throws GenerateException {
+        final BoardModel model = new SparseBoardGenerator().generate(4, 3, 12);
+
+        assertThat(model.countBombs(0, 0, 4, 3), is(12));
+    }
+
+    /**
+     * Test that suggests are kept.
+     */
+    @Test
+    public void whenSetSuggestThenGetIt() {
+        final SparseBoardModel model = new SparseBoardModel(5, 5, new long[]{3L, 7L});
+
+        model.setSuggest(1, 1, Suggest.BOMB);
+        model.setSuggest(2, 2, Suggest.EMPTY);
+        model.setSuggest(2, 2, Suggest.BOMB);
+        model.setSuggest(1, 1, Suggest.NONE);
+
+        assertThat(model.getSuggest(1, 1), is(Suggest.NONE));
+        assertThat(model.getSuggest(2, 2), is(Suggest.BOMB));
+        assertThat(model.countSuggests(0, 0, 5, 5, Suggest.BOMB), is(1));
+        assertThat(model.countSuggests(0, 0, 5, 5, Suggest.EMPTY), is(0));
+    }
+
+    /**
+     * Test that page is released only when its last suggest is taken back.
+     */
+    @Test
+    public void whenLastSuggestOfPageClearedThenPageReleased() {
+        final SparseBoardModel model = new SparseBoardModel(100, 100, new long[]{3L});
+
+        model.setSuggest(1, 0, Suggest.BOMB);
+        model.setSuggest(99, 0, Suggest.BOMB);
+        model.setSuggest(1, 0, Suggest.NONE);
+
+        assertThat(model.getSuggestPageCount(), is(1));
+
+        model.setSuggest(99, 0, Suggest.NONE);
+
+        assertThat(model.getSuggestPageCount(), is(0));
+        assertThat(model.hasSuggests(), is(false));
+    }
+
+    /**
+     * Test that huge sparse board allocates memory only for touched cells.
+     */
+    @Test
+    public void whenSuggestOnHugeBoardThenOnlyTouchedPagesAllocated() throws GenerateException, LogicException {
+        final SparseBoardModel model = (SparseBoardModel) new SparseBoardGenerator().generate(
+                1000000, 1000000, 1000, 10L);
+        final BaseLogic logic = new BaseLogic();
+        logic.setBoard(model);
+
+        logic.suggest(0, 0, Suggest.BOMB);
+        logic.suggest(999999, 999999, Suggest.BOMB);
+        logic.suggest(500000, 500000, Suggest.BOMB);
+
+        assertThat(model.getSuggestPageCount(), is(3));
+        assertThat(logic.getSuggestedBombCount(), is(3L));
+        assertThat(logic.getBombCount(), is(1000L));
+    }
+
+    /**
+     * Test exception thrown on attempt to create board with unsorted bombs.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void whenUnsortedBombsThenException() {
+        new SparseBoardModel(5, 5, new long[]{7L, 3L});
+    }
+}
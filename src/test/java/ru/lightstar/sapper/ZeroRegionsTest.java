@@ -0,0 +1,103 @@
+package ru.lightstar.sapper;
+
+import org.junit.Test;
+import ru.lightstar.sapper.exception.GenerateException;
+import ru.lightstar.sapper.exception.LogicException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>ZeroRegions</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class ZeroRegionsTest {
+
+    /**
+     * Test regions of known board: column of bombs splits it into two openings.
+     */
+    @Test
+    public void whenLabelThenKnownRegions() {
+        final PackedBoardModel model = new PackedBoardModel(7, 3);
+        for (int y = 0; y < 3; y++) {
+            model.placeBomb(3, y);
+        }
+
+        final ZeroRegions regions = ZeroRegions.label(model);
+
+        assertThat(regions.getRegionCount(), is(2));
+        assertThat(regions.getRegion(0, 0), is(1));
+        assertThat(regions.getRegion(6, 2), is(2));
+        assertThat(regions.getRegion(2, 1), is(0));
+        assertThat(regions.getRegion(3, 1), is(0));
+        assertThat(regions.getOpenCount(1), is(9));
+        assertThat(regions.getOpenCount(2), is(9));
+    }
+
+    /**
+     * Test that regions connect through diagonal neighbours.
+     */
+    @Test
+    public void whenZeroCellsTouchDiagonallyThenOneRegion() {
+        final PackedBoardModel model = new PackedBoardModel(8, 8);
+        model.placeBomb(4, 0);
+        model.placeBomb(0, 4);
+
+        final ZeroRegions regions = ZeroRegions.label(model);
+
+        assertThat(regions.getRegionCount(), is(1));
+    }
+
+    /**
+     * Test that opening zero cell with precomputed regions gives the same result as flood fill.
+     */
+    @Test
+    public void whenSuggestWithRegionsThenSameAsFloodFill() throws GenerateException, LogicException {
+        final RandomBoardGenerator generator = new RandomBoardGenerator();
+        for (int seed = 0; seed < 20; seed++) {
+            final BoardModel model = generator.generate(30, 20, 60, seed);
+            final PackedBoardModel copy = new PackedBoardModel(30, 20);
+            for (int y = 0; y < 20; y++) {
+                for (int x = 0; x < 30; x++) {
+                    copy.setCell(x, y, model.getBomb(x, y), model.getNearestBombCount(x, y));
+                }
+            }
+            assertThat(model.getZeroRegions(), notNullValue());
+
+            final BaseLogic logic = new BaseLogic();
+            logic.setBoard(model);
+            final BaseLogic copyLogic = new BaseLogic();
+            copyLogic.setBoard(copy);
+            for (int y = 0; y < 20; y += 2) {
+                for (int x = 0; x < 30; x += 2) {
+                    if (model.getBomb(x, y) == Bomb.NONE && model.getSuggest(x, y) != Suggest.EMPTY &&
+                            !logic.isWin()) {
+                        logic.suggest(x, y, Suggest.EMPTY);
+                        copyLogic.suggest(x, y, Suggest.EMPTY);
+                    }
+                }
+            }
+
+            for (int y = 0; y < 20; y++) {
+                for (int x = 0; x < 30; x++) {
+                    assertThat(model.getSuggest(x, y), is(copy.getSuggest(x, y)));
+                }
+            }
+            assertThat(logic.isWin(), is(copyLogic.isWin()));
+        }
+    }
+
+    /**
+     * Test that zero regions of board bigger than labelling limit aren't labelled.
+     */
+    @Test
+    public void whenBoardTooBigThenNotLabelled() throws GenerateException {
+        final BoardModel model = new RandomBoardGenerator().generate(RandomBoardGenerator.MAX_LABELLED_CELL_COUNT + 1,
+                1, 1, 0L);
+        assertThat(model.getZeroRegions(), nullValue());
+    }
+}
@@ -2,6 +2,7 @@ package ru.lightstar.sapper.console;
 
 import org.junit.Test;
 import ru.lightstar.sapper.*;
+import ru.lightstar.sapper.exception.LogicException;
 import ru.lightstar.sapper.io.ByteArrayOutput;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -48,7 +49,7 @@ public class ConsoleBoardTest {
                 {new BaseCell(Bomb.NONE, 1), new BaseCell(Bomb.NONE, 1)},
                 {new BaseCell(Bomb.NONE, 0), new BaseCell(Bomb.NONE, 0)},
         };
-        this.board.setBoard(this.cells);
+        this.board.setBoard(new CellBoardModel(this.cells));
         this.helper = new IoTestHelper();
     }
 
@@ -130,4 +131,30 @@ public class ConsoleBoardTest {
                 ""
         })));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that board with game logic is drawn from logic's snapshot, not from cells changed behind logic's back.
+     */
+    @Test
+    public void whenDrawWithLogicThenSnapshotDrawn() throws LogicException {
+        final CellBoardModel model = new CellBoardModel(this.cells);
+        final BaseLogic logic = new BaseLogic();
+        logic.setSnapshotPublished(true);
+        logic.setBoard(model);
+        final ConsoleBoard board = new ConsoleBoard(this.output, logic);
+        board.setBoard(model);
+
+        logic.suggest(0, 1, Suggest.EMPTY);
+        this.cells[0][0].setSuggest(Suggest.BOMB);
+        board.drawBoard();
+
+        assertThat(this.output.toString(), is(this.helper.joinLines(new String[]{
+                "[X] [X] ",
+                "[3] [X] ",
+                "[X] [X] ",
+                "[X] [X] ",
+                "[X] [X] ",
+                ""
+        })));
+    }
+}
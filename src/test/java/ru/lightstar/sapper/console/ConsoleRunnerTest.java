@@ -174,19 +174,19 @@ public class ConsoleRunnerTest {
          * @param width test width.
          * @param height test height.
          * @param bombCount test bomb count.
-         * @return generated cells.
+         * @return generated board model.
          */
         @Override
-        public Cell[][] generate(final int width, final int height, final int bombCount) {
+        public BoardModel generate(final int width, final int height, final int bombCount) {
             if (width != 2 || height != 4 || bombCount != 3) {
                 throw new IllegalArgumentException("Test parameters are wrong");
             }
-            return new Cell[][]{
+            return new CellBoardModel(new Cell[][]{
                     {new BaseCell(Bomb.BOMB, 0), new BaseCell(Bomb.BOMB, 0)},
                     {new BaseCell(Bomb.NONE, 2), new BaseCell(Bomb.NONE, 2)},
                     {new BaseCell(Bomb.NONE, 1), new BaseCell(Bomb.NONE, 1)},
                     {new BaseCell(Bomb.BOMB, 0), new BaseCell(Bomb.NONE, 1)}
-            };
+            });
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package ru.lightstar.sapper.gui;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>BoardSummary</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class BoardSummaryTest {
+
+    /**
+     * Test that block size is chosen to fit maximum size and block color is average of its cells' colors.
+     */
+    @Test
+    public void whenSummaryThenBlocksAveraged() {
+        final BoardSummary summary = new BoardSummary(10, 4, 5, (x, y) -> x < 2 ? 0x0000ff : 0xff0000);
+
+        assertThat(summary.getBlockCells(), is(2));
+        assertThat(summary.getImage().getWidth(), is(5));
+        assertThat(summary.getImage().getHeight(), is(2));
+        assertThat(summary.getImage().getRGB(0, 0) & 0xffffff, is(0x0000ff));
+        assertThat(summary.getImage().getRGB(1, 1) & 0xffffff, is(0xff0000));
+    }
+
+    /**
+     * Test that only block of changed cell is recomputed.
+     */
+    @Test
+    public void whenCellUpdatedThenItsBlockRecomputed() {
+        final int[] colors = new int[16];
+        final BoardSummary summary = new BoardSummary(4, 4, 2, (x, y) -> colors[y * 4 + x]);
+
+        colors[0] = 0x400000;
+        colors[15] = 0x000040;
+        summary.updateCell(0, 1);
+
+        assertThat(summary.getImage().getRGB(0, 0) & 0xffffff, is(0x100000));
+        assertThat(summary.getImage().getRGB(1, 1) & 0xffffff, is(0));
+    }
+
+    /**
+     * Test that only sample cells of big blocks are visited.
+     */
+    @Test
+    public void whenHugeBoardThenOnlySampleCellsVisited() {
+        final long[] visited = new long[1];
+        final BoardSummary summary = new BoardSummary(Integer.MAX_VALUE, Integer.MAX_VALUE, 8, (x, y) -> {
+            visited[0]++;
+            return 0x00ff00;
+        });
+
+        assertThat(summary.getImage().getWidth(), is(8));
+        assertThat(visited[0], is(8L * 8 * BoardSummary.MAX_BLOCK_SAMPLES * BoardSummary.MAX_BLOCK_SAMPLES));
+        assertThat(summary.getImage().getRGB(7, 7) & 0xffffff, is(0x00ff00));
+    }
+}
@@ -0,0 +1,68 @@
+package ru.lightstar.sapper.gui;
+
+import org.junit.Test;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * <code>TileCache</code> class tests.
+ *
+ * @author LightStar
+ * @since 0.0.1
+ */
+public class TileCacheTest {
+
+    /**
+     * Test that least recently used tile is evicted when cache is full.
+     */
+    @Test
+    public void whenCacheIsFullThenLeastRecentlyUsedEvicted() {
+        final TileCache cache = new TileCache(2);
+        final Image first = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        final Image second = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+        final Image third = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
+
+        cache.put(TileCache.key(0, 0), first);
+        cache.put(TileCache.key(1, 0), second);
+        cache.get(TileCache.key(0, 0));
+        cache.put(TileCache.key(0, 1), third);
+
+        assertThat(cache.getSize(), is(2));
+        assertThat(cache.get(TileCache.key(0, 0)), is(sameInstance(first)));
+        assertThat(cache.get(TileCache.key(1, 0)), is(nullValue()));
+        assertThat(cache.get(TileCache.key(0, 1)), is(sameInstance(third)));
+        assertThat(cache.getHitCount(), is(3L));
+        assertThat(cache.getMissCount(), is(1L));
+    }
+
+    /**
+     * Test that invalidated tile is removed.
+     */
+    @Test
+    public void whenInvalidateThenTileRemoved() {
+        final TileCache cache = new TileCache(4);
+        cache.put(TileCache.key(2, 3), new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+        cache.put(TileCache.key(3, 2), new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB));
+
+        cache.invalidate(TileCache.key(2, 3));
+
+        assertThat(cache.get(TileCache.key(2, 3)), is(nullValue()));
+        assertThat(cache.getSize(), is(1));
+        cache.clear();
+        assertThat(cache.getSize(), is(0));
+    }
+
+    /**
+     * Test exception thrown on attempt to create cache without capacity.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void whenZeroCapacityThenException() {
+        new TileCache(0);
+    }
+}